@@ -0,0 +1,136 @@
+package com.example.drifter.drift;
+
+import com.example.drifter.output.DriftJsonWriter;
+import com.example.drifter.resource.Resource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregation of environment reports into the drift matrix and the paths that read it: drift
+ * classification against the first environment, the string-equality drift check it replaced,
+ * and the json writer.
+ * <p>
+ * Each environment reports about 95% of the resources, and about one in five resources runs a
+ * different version in some environment, so rows mix matching, drifted and missing cells.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class DriftMatrixBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int resources;
+
+    @Param({"3", "10", "50"})
+    private int environments;
+
+    private List<String> environmentNames;
+    private List<List<Resource>> reports;
+    private DriftMatrix matrix;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        String[] versions = {"1.0.0", "1.1.0", "1.2.0", "2.0.0-SNAPSHOT-abc123", "2.0.0"};
+
+        environmentNames = new ArrayList<>();
+        reports = new ArrayList<>();
+        for (int env = 0; env < environments; env++) {
+            environmentNames.add("env-" + env);
+
+            List<Resource> report = new ArrayList<>(resources);
+            for (int i = 0; i < resources; i++) {
+                if (random.nextInt(100) < 5) {
+                    continue;
+                }
+                String version = random.nextInt(5) == 0 ? versions[random.nextInt(versions.length)] : versions[0];
+                report.add(new Resource(i % 2 == 0 ? "Lambda" : "Deployment", "service-" + i, version));
+            }
+            reports.add(report);
+        }
+
+        matrix = build();
+    }
+
+    @Benchmark
+    public DriftMatrix build() {
+        DriftMatrix built = new DriftMatrix(environmentNames);
+        for (int env = 0; env < environments; env++) {
+            built.addAll(environmentNames.get(env), reports.get(env));
+            built.markReported(environmentNames.get(env));
+        }
+        return built;
+    }
+
+    @Benchmark
+    public DriftClassifier classify() {
+        DriftClassifier classifier = new DriftClassifier(matrix, environmentNames.get(0));
+        classifier.classifyAll();
+        return classifier;
+    }
+
+    /**
+     * The string-equality drift check the table used before {@link DriftClassifier}.
+     */
+    @Benchmark
+    public int detectDrift() {
+        int drifted = 0;
+        for (int row = 0; row < matrix.getRowCount(); row++) {
+            Set<String> uniqueVersions = new HashSet<>();
+            for (int column = 0; column < matrix.getEnvironmentCount(); column++) {
+                String version = matrix.getVersion(row, column);
+                uniqueVersions.add(version != null ? version : "N/A");
+            }
+            if (uniqueVersions.size() > 1) {
+                drifted++;
+            }
+        }
+        return drifted;
+    }
+
+    @Benchmark
+    public long writeNdjson() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        try (DriftJsonWriter writer = new DriftJsonWriter(out, DriftJsonWriter.Format.NDJSON)) {
+            for (int row = 0; row < matrix.getRowCount(); row++) {
+                writer.writeRow(matrix, row);
+            }
+        }
+        return out.count;
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.drifter.resource.k8s;
+
+import com.example.drifter.resource.ImageReference;
+import com.example.drifter.resource.NameMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Per-resource string work done by every finder: the exclude filter applied to each discovered
+ * name and the version parsed from each container image. Results are per name or image.
+ * <p>
+ * {@code compilePerCall} is the exclude check as it was before {@link NameMatcher}, compiling
+ * every pattern for every name; {@code nameMatcher} is the check the finders make now.
+ * Likewise {@code regexVersion} is the image version regex that {@link com.example.drifter.resource.ImageReference}
+ * replaced.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NameAndVersionBenchmark {
+    private static final int NAMES = 1000;
+    private static final Pattern IMAGE_VERSION_PATTERN = Pattern.compile(".+:(\\d+\\.\\d+\\.\\d+(-SNAPSHOT-.+)?)");
+
+    private static final String[] IMAGES = {
+            "123456789012.dkr.ecr.eu-west-1.amazonaws.com/payments/payments-api:1.42.7",
+            "registry.example.com:5000/team/orders:2.0.0-SNAPSHOT-20240101.1-a1b2c3d",
+            "ghcr.io/example/worker@sha256:4f53cda18c2baa0c0354bb5f9a3ecbe5ed12ab4d8e11ba873c2f11161202b945",
+            "nginx:latest",
+            "billing:10.3.12",
+            "docker.io/library/busybox",
+    };
+
+    /**
+     * Names and exclude patterns; only the exclude benchmark is multiplied by the pattern count.
+     */
+    @State(Scope.Benchmark)
+    public static class Names {
+        @Param({"1", "10"})
+        private int excludePatterns;
+
+        private List<String> names;
+        private List<String> patterns;
+        private NameMatcher matcher;
+
+        @Setup
+        public void setUp() {
+            names = new ArrayList<>(NAMES);
+            for (int i = 0; i < NAMES; i++) {
+                names.add((i % 3 == 0 ? "payments-" : "orders-") + "service-" + i + (i % 7 == 0 ? "-LogRetention" : ""));
+            }
+
+            List<String> candidates = List.of("^.*-LogRetention.*$", "legacy-.*", ".*-canary", "tmp-.*", ".*-test",
+                    "^sandbox-.*$", ".*-old", "migration-.*", ".*-backup-\\d+", "debug-.*");
+            patterns = candidates.subList(0, excludePatterns);
+            matcher = NameMatcher.compile(patterns);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NAMES)
+    public int compilePerCall(Names state) {
+        int excluded = 0;
+        for (String name : state.names) {
+            if (state.patterns.stream().map(Pattern::compile).anyMatch(pattern -> pattern.matcher(name).matches())) {
+                excluded++;
+            }
+        }
+        return excluded;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NAMES)
+    public int nameMatcher(Names state) {
+        int excluded = 0;
+        for (String name : state.names) {
+            if (state.matcher.matches(name)) {
+                excluded++;
+            }
+        }
+        return excluded;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(6) // IMAGES.length
+    public void extractVersionFromImage(Blackhole blackhole) {
+        for (String image : IMAGES) {
+            blackhole.consume(ImageReference.versionOf(image));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(6) // IMAGES.length
+    public void regexVersion(Blackhole blackhole) {
+        for (String image : IMAGES) {
+            Matcher matcher = IMAGE_VERSION_PATTERN.matcher(image);
+            blackhole.consume(matcher.find() ? matcher.group(1) : "N/A");
+        }
+    }
+}
@@ -1,35 +1,52 @@
 package com.example.drifter;
 
+import com.example.drifter.client.ClientRegistry;
+import com.example.drifter.concurrent.ExecutionModel;
 import com.example.drifter.config.ConfigurationReader;
 import com.example.drifter.config.DrifterConfig;
 import com.example.drifter.config.Environment;
+import com.example.drifter.config.ResourceConfig;
+import com.example.drifter.daemon.DrifterDaemon;
+import com.example.drifter.drift.DriftClassifier;
+import com.example.drifter.drift.DriftMatrix;
+import com.example.drifter.history.SnapshotStore;
+import com.example.drifter.history.VersionChange;
+import com.example.drifter.metrics.LatencyHistogram;
+import com.example.drifter.metrics.MetricsScope;
+import com.example.drifter.metrics.ScanMetrics;
+import com.example.drifter.output.DriftJsonWriter;
+import com.example.drifter.resource.FinderContext;
 import com.example.drifter.resource.Resource;
 import com.example.drifter.resource.ResourceFinder;
-import com.example.drifter.resource.k8s.DeploymentFinder;
-import com.example.drifter.resource.k8s.KubernetesClientFactory;
-import com.example.drifter.resource.lambda.LambdaFinder;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import io.kubernetes.client.openapi.ApiClient;
+import com.example.drifter.resource.ResourceFinderProvider;
 import org.apache.commons.cli.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
-import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
-import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.eks.EksClient;
-import software.amazon.awssdk.services.lambda.LambdaClient;
-import software.amazon.awssdk.services.sts.StsClient;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
 
 public class DrifterApplication {
     private static final Logger logger = LoggerFactory.getLogger(DrifterApplication.class);
 
     private static final String DEFAULT_CONFIG_PATH = "./config.json";
     private static final String DEFAULT_FORMAT = "table";
+    private static final String DEFAULT_POLL_INTERVAL_SECONDS = "60";
+    private static final String DEFAULT_EXECUTOR = "virtual";
+
+    private final ScanMetrics metrics = new ScanMetrics();
 
     public static void main(String[] args) {
         Options options = createCommandLineOptions();
@@ -52,8 +69,30 @@ public class DrifterApplication {
                 System.setProperty("logging.level.com.example.drifter", "DEBUG");
             }
 
+            ExecutionModel.Mode executionMode = ExecutionModel.Mode.valueOf(
+                    cmd.getOptionValue("executor", DEFAULT_EXECUTOR).toUpperCase());
+
             DrifterApplication app = new DrifterApplication();
-            app.run(configPath, format);
+            if (cmd.hasOption("last-match")) {
+                String[] query = cmd.getOptionValues("last-match");
+                app.lastMatch(cmd.getOptionValue("history"), query[0], query[1], query[2]);
+            } else if (cmd.hasOption("check-config")) {
+                app.checkConfig(configPath);
+            } else if (cmd.hasOption("daemon")) {
+                long interval = Long.parseLong(cmd.getOptionValue("interval", DEFAULT_POLL_INTERVAL_SECONDS));
+                app.runDaemon(configPath, Duration.ofSeconds(interval), executionMode, cmd.getOptionValue("metrics-file"),
+                        cmd.getOptionValue("reference"));
+            } else {
+                app.run(configPath, format, cmd.getOptionValue("output"), executionMode,
+                        cmd.getOptionValue("history"), cmd.hasOption("since-last"), cmd.getOptionValue("reference"));
+
+                if (cmd.hasOption("metrics")) {
+                    app.outputMetrics();
+                }
+                if (cmd.hasOption("metrics-file")) {
+                    app.metrics.writePrometheus(Paths.get(cmd.getOptionValue("metrics-file")));
+                }
+            }
 
         } catch (ParseException e) {
             logger.error("Failed to parse command line arguments: {}", e.getMessage());
@@ -78,16 +117,85 @@ public class DrifterApplication {
 
         options.addOption(Option.builder("f")
                 .longOpt("format")
-                .desc("Output format: 'table' or 'json'")
+                .desc("Output format: 'table', 'json' or 'ndjson'")
                 .hasArg()
                 .argName("FORMAT")
                 .build());
 
+        options.addOption(Option.builder("o")
+                .longOpt("output")
+                .desc("Write json or ndjson output to FILE instead of stdout")
+                .hasArg()
+                .argName("FILE")
+                .build());
+
         options.addOption(Option.builder("v")
                 .longOpt("verbose")
                 .desc("Enable verbose output")
                 .build());
 
+        options.addOption(Option.builder("d")
+                .longOpt("daemon")
+                .desc("Keep running, watch deployments and print drift changes as they happen")
+                .build());
+
+        options.addOption(Option.builder("i")
+                .longOpt("interval")
+                .desc("Daemon mode: seconds between Lambda polls, defaults to " + DEFAULT_POLL_INTERVAL_SECONDS)
+                .hasArg()
+                .argName("SECONDS")
+                .build());
+
+        options.addOption(Option.builder("e")
+                .longOpt("executor")
+                .desc("Threads for API calls: 'virtual' (Java 21+, falls back to platform) or 'platform'")
+                .hasArg()
+                .argName("MODE")
+                .build());
+
+        options.addOption(Option.builder()
+                .longOpt("history")
+                .desc("Snapshot store recording every run, defaults to ~/.cache/drifter/history.dat")
+                .hasArg()
+                .argName("FILE")
+                .build());
+
+        options.addOption(Option.builder()
+                .longOpt("since-last")
+                .desc("Print only the versions that changed since the previous run")
+                .build());
+
+        options.addOption(Option.builder()
+                .longOpt("last-match")
+                .desc("Show when two environments last ran the same version of a resource, from the snapshot store")
+                .numberOfArgs(3)
+                .argName("NAME ENV ENV")
+                .build());
+
+        options.addOption(Option.builder()
+                .longOpt("reference")
+                .desc("Environment drift is measured against, defaults to 'reference' in the config or the first environment")
+                .hasArg()
+                .argName("ENV")
+                .build());
+
+        options.addOption(Option.builder()
+                .longOpt("check-config")
+                .desc("Validate the config and exit without calling any API")
+                .build());
+
+        options.addOption(Option.builder()
+                .longOpt("metrics")
+                .desc("Print API call counts, latencies, errors and retries to stderr when the run finishes")
+                .build());
+
+        options.addOption(Option.builder()
+                .longOpt("metrics-file")
+                .desc("Write metrics in Prometheus text format to FILE; rewritten every interval in daemon mode")
+                .hasArg()
+                .argName("FILE")
+                .build());
+
         options.addOption(Option.builder("h")
                 .longOpt("help")
                 .desc("Show this help message")
@@ -96,7 +204,8 @@ public class DrifterApplication {
         return options;
     }
 
-    public void run(String configPath, String format) throws IOException, ExecutionException, InterruptedException {
+    public void run(String configPath, String format, String outputPath, ExecutionModel.Mode executionMode,
+                    String historyPath, boolean sinceLast, String reference) throws IOException, ExecutionException, InterruptedException {
         logger.info("Starting Drifter application");
 
         // Read configuration
@@ -104,175 +213,312 @@ public class DrifterApplication {
         DrifterConfig config = configReader.readFile(configPath);
 
         logger.info("Loaded configuration with {} environments", config.getEnvironments().size());
+        List<ResourceFinderProvider> providers = ResourceFinderProvider.forConfig(config);
 
-        // Collect resources from all environments
-        Map<String, List<Resource>> environmentResources = new HashMap<>();
-        List<CompletableFuture<Void>> futures = new ArrayList<>();
-
+        List<String> environmentNames = new ArrayList<>();
         for (Environment env : config.getEnvironments()) {
-            CompletableFuture<Void> future = processEnvironment(env, config, environmentResources);
-            futures.add(future);
+            environmentNames.add(env.getName());
         }
+        DriftMatrix matrix = new DriftMatrix(environmentNames);
+        DriftClassifier classifier = new DriftClassifier(matrix, referenceEnvironment(config, reference));
+
+        DriftJsonWriter.Format jsonFormat = jsonFormat(format);
+        OutputStream out = outputPath != null ? Files.newOutputStream(Paths.get(outputPath)) : System.out;
+
+        try (ClientRegistry clients = new ClientRegistry();
+             ExecutionModel execution = ExecutionModel.create(executionMode, maxConcurrency(config));
+             DriftJsonWriter writer = jsonFormat != null ? new DriftJsonWriter(out, jsonFormat) : null) {
+            // Collect resources from all environments, streaming rows out as they complete unless
+            // only the changes are wanted, which are known once every environment has reported
+            DriftJsonWriter rowWriter = sinceLast ? null : writer;
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (Environment env : config.getEnvironments()) {
+                CompletableFuture<Void> future = processEnvironment(env, config, providers, clients, execution,
+                        (resources, failed) -> onEnvironmentReported(matrix, classifier, rowWriter, env.getName(), resources, failed));
+                futures.add(future);
+            }
 
-        // Wait for all environments to complete
-        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+            // Wait for all environments to complete
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+            execution.logStats();
+
+            // The store is only opened, and locked, once the scan is done
+            Instant lastRun = null;
+            List<VersionChange> changes = null;
+            try (SnapshotStore history = openHistory(historyPath)) {
+                lastRun = history.getLastRun();
+                changes = history.record(matrix);
+                logger.info("Recorded run with {} changes since the previous one", changes.size());
+            } catch (IOException e) {
+                if (sinceLast) {
+                    throw new IOException("Cannot compare with the last run, snapshot store unavailable: " + e.getMessage(), e);
+                }
+                logger.warn("Run not recorded, snapshot store unavailable: {}", e.getMessage());
+            }
 
-        // Output results
-        if ("json".equalsIgnoreCase(format)) {
-            outputJson(environmentResources);
-        } else {
-            outputTable(config.getEnvironments(), environmentResources);
+            if (sinceLast && lastRun == null) {
+                // On the first recorded run every cell would read as changed
+                if (writer != null) {
+                    logger.warn("No previous run in the snapshot store to compare with");
+                } else {
+                    System.out.println("No previous run in the snapshot store to compare with");
+                }
+            } else if (sinceLast && writer != null) {
+                for (VersionChange change : changes) {
+                    writer.writeChange(change);
+                }
+            } else if (sinceLast) {
+                outputChanges(changes, lastRun);
+            }
+        } finally {
+            if (out != System.out) {
+                out.close();
+            }
+        }
+
+        if (jsonFormat == null && !sinceLast) {
+            classifier.classifyAll();
+            outputTable(matrix, classifier);
         }
 
         logger.info("Drifter application completed");
     }
 
-    private CompletableFuture<Void> processEnvironment(Environment env, DrifterConfig config,
-                                                      Map<String, List<Resource>> environmentResources) {
-        return CompletableFuture.runAsync(() -> {
-            logger.info("Processing environment: {}", env.getName());
+    /**
+     * Reads and validates the configuration and resolves its finders, the startup path of a scan
+     * without building any client.
+     */
+    public void checkConfig(String configPath) throws IOException {
+        DrifterConfig config = new ConfigurationReader().readFile(configPath);
+        List<String> sections = new ArrayList<>();
+        for (ResourceFinderProvider provider : ResourceFinderProvider.forConfig(config)) {
+            sections.add(provider.configKey());
+        }
+        System.out.printf("Configuration OK: %d environments, sections %s%n", config.getEnvironments().size(), sections);
+    }
 
-            try {
-                // Create AWS credentials provider for this environment
-                AwsCredentialsProvider credentialsProvider = createCredentialsProvider(env);
+    /**
+     * @return the reference environment given on the command line, else in the config, else the first one
+     */
+    private static String referenceEnvironment(DrifterConfig config, String reference) {
+        if (reference != null) {
+            return reference;
+        }
+        return config.getReference() != null ? config.getReference() : config.getEnvironments().get(0).getName();
+    }
 
-                List<CompletableFuture<List<Resource>>> resourceFutures = new ArrayList<>();
+    private static SnapshotStore openHistory(String historyPath) throws IOException {
+        return historyPath != null ? new SnapshotStore(Paths.get(historyPath), Clock.systemUTC()) : new SnapshotStore();
+    }
 
-                // Fetch Lambda functions
-                if (config.getLambdas() != null) {
-                    LambdaClient lambdaClient = LambdaClient.builder()
-                            .region(Region.of(env.getRegion()))
-                            .credentialsProvider(credentialsProvider)
-                            .build();
+    public void lastMatch(String historyPath, String name, String envName, String otherEnvName) throws IOException {
+        try (SnapshotStore history = openHistory(historyPath)) {
+            List<String> types = history.getTypes(name);
+            if (types.isEmpty()) {
+                System.out.printf("%s has not been recorded by any run%n", name);
+                return;
+            }
 
-                    LambdaFinder lambdaFinder = new LambdaFinder(lambdaClient);
-                    resourceFutures.add(lambdaFinder.findResources(config.getLambdas()));
+            for (String type : types) {
+                String version = history.getVersion(type, name, envName);
+                String otherVersion = history.getVersion(type, name, otherEnvName);
+                Instant matched = history.lastMatch(type, name, envName, otherEnvName);
+
+                if (matched == null) {
+                    System.out.printf("%s %s: %s has never matched %s%n", type, name, envName, otherEnvName);
+                } else if (matched.equals(history.getLastRun())) {
+                    System.out.printf("%s %s: %s matches %s at %s%n", type, name, envName, otherEnvName, version);
+                } else {
+                    System.out.printf("%s %s: %s last matched %s at %s (now %s vs %s)%n", type, name, envName,
+                            otherEnvName, matched, versionOrNa(version), versionOrNa(otherVersion));
                 }
+            }
+        }
+    }
 
-                // Fetch Kubernetes deployments
-                if (config.getDeployments() != null) {
-                    EksClient eksClient = EksClient.builder()
-                            .region(Region.of(env.getRegion()))
-                            .credentialsProvider(credentialsProvider)
-                            .build();
-
-                    ApiClient k8sClient = KubernetesClientFactory.createClient(eksClient, env.getClusterName(), env.getRole());
-                    DeploymentFinder deploymentFinder = new DeploymentFinder(k8sClient);
-                    resourceFutures.add(deploymentFinder.findResources(config.getDeployments()));
-                }
+    private static String versionOrNa(String version) {
+        return version != null ? version : "N/A";
+    }
 
-                // Wait for all resource types to complete
-                List<Resource> allResources = new ArrayList<>();
-                for (CompletableFuture<List<Resource>> future : resourceFutures) {
-                    allResources.addAll(future.get());
-                }
+    private static DriftJsonWriter.Format jsonFormat(String format) {
+        if ("json".equalsIgnoreCase(format)) {
+            return DriftJsonWriter.Format.JSON;
+        }
+        if ("ndjson".equalsIgnoreCase(format)) {
+            return DriftJsonWriter.Format.NDJSON;
+        }
+        return null;
+    }
 
-                synchronized (environmentResources) {
-                    environmentResources.put(env.getName(), allResources);
-                }
+    void onEnvironmentReported(DriftMatrix matrix, DriftClassifier classifier, DriftJsonWriter writer,
+                               String envName, List<Resource> resources, boolean failed) {
+        synchronized (matrix) {
+            matrix.addAll(envName, resources);
+            matrix.markReported(envName);
+            if (failed) {
+                matrix.markFailed(envName);
+            }
 
-                logger.info("Completed processing environment: {} with {} resources", env.getName(), allResources.size());
+            if (writer == null) {
+                return;
+            }
 
-            } catch (Exception e) {
-                logger.error("Failed to process environment {}: {}", env.getName(), e.getMessage(), e);
+            try {
+                for (int row : matrix.takeCompletedRows()) {
+                    classifier.classify(row);
+                    writer.writeRow(matrix, row, classifier);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write output", e);
             }
-        });
+        }
     }
 
-    private AwsCredentialsProvider createCredentialsProvider(Environment env) {
-        // For simplicity in this migration, using DefaultCredentialsProvider
-        // In production, you would implement proper role assumption
-        // using AssumeRoleCredentialsProvider with appropriate dependencies
-        if (env.getRole() != null && !env.getRole().isEmpty()) {
-            logger.info("Role specified: {} for environment: {} (using default credentials)",
-                    env.getRole(), env.getName());
-        }
+    public void runDaemon(String configPath, Duration pollInterval, ExecutionModel.Mode executionMode,
+                          String metricsFile, String reference) throws IOException, InterruptedException {
+        logger.info("Starting Drifter daemon");
+
+        ConfigurationReader configReader = new ConfigurationReader();
+        DrifterConfig config = configReader.readFile(configPath);
+        config.setReference(referenceEnvironment(config, reference));
 
-        return DefaultCredentialsProvider.create();
+        DrifterDaemon daemon = new DrifterDaemon(config, pollInterval, ExecutionModel.create(executionMode, maxConcurrency(config)), metrics,
+                metricsFile != null ? Paths.get(metricsFile) : null, System.out);
+        Runtime.getRuntime().addShutdownHook(new Thread(daemon::close, "drifter-shutdown"));
+        daemon.start();
+        daemon.awaitTermination();
     }
 
-    private void outputJson(Map<String, List<Resource>> environmentResources) throws IOException {
-        List<Map<String, Object>> output = new ArrayList<>();
-        Map<String, Set<String>> resourceVersions = new HashMap<>();
+    private static int maxConcurrency(DrifterConfig config) {
+        return config.getMaxConcurrency() != null ? config.getMaxConcurrency() : ExecutionModel.DEFAULT_MAX_CONCURRENCY;
+    }
 
-        // Organize data by resource name
-        for (Map.Entry<String, List<Resource>> entry : environmentResources.entrySet()) {
-            String envName = entry.getKey();
-            for (Resource resource : entry.getValue()) {
-                resourceVersions.computeIfAbsent(resource.getName(), k -> new HashSet<>()).add(envName);
-            }
-        }
+    /**
+     * Runs every finder in one environment and reports the combined result. A finder whose future
+     * fails marks the environment as failed, so its missing resources are not read as removals.
+     */
+    CompletableFuture<Void> processEnvironment(Environment env, DrifterConfig config, List<ResourceFinderProvider> providers,
+                                               ClientRegistry clients, ExecutionModel execution,
+                                               BiConsumer<List<Resource>, Boolean> onComplete) {
+        AtomicBoolean failed = new AtomicBoolean();
+
+        // Client setup may block, so it runs on the environment pool; the finders then run on
+        // their own executors and nothing waits on their results while holding a thread
+        return CompletableFuture.supplyAsync(() -> {
+            logger.info("Processing environment: {}", env.getName());
 
-        // Build JSON output
-        for (Map.Entry<String, List<Resource>> entry : environmentResources.entrySet()) {
-            String envName = entry.getKey();
-            for (Resource resource : entry.getValue()) {
-                Map<String, Object> resourceMap = findOrCreateResourceMap(output, resource.getName(), resource.getType());
-                Map<String, String> versions = (Map<String, String>) resourceMap.get("versions");
-                versions.put(envName, resource.getVersion());
+            List<CompletableFuture<List<Resource>>> resourceFutures = new ArrayList<>();
+
+            // Every configured finder runs on its own executor, within its budget and the global cap
+            for (ResourceFinderProvider provider : providers) {
+                ResourceConfig resourceConfig = config.getResourceConfig(provider.configKey());
+                MetricsScope scope = metrics.scope(env.getName(), provider.resourceType());
+                FinderContext context = new FinderContext(env, clients,
+                        execution.executorFor(env.getName(), provider.resourceType(), provider.concurrency(env, resourceConfig)),
+                        provider.throttler(env, clients), scope);
+                ResourceFinder finder = provider.create(context);
+                resourceFutures.add(scope.timeAsync("findResources", () -> finder.findResources(resourceConfig)));
             }
-        }
-
-        ObjectMapper objectMapper = new ObjectMapper();
-        String json = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(output);
-        System.out.println(json);
-    }
 
-    private Map<String, Object> findOrCreateResourceMap(List<Map<String, Object>> output, String name, String type) {
-        for (Map<String, Object> resourceMap : output) {
-            if (name.equals(resourceMap.get("name"))) {
-                return resourceMap;
+            return resourceFutures;
+        }, execution.environmentExecutor(config.getEnvironments().size())).thenCompose(resourceFutures -> {
+            List<CompletableFuture<List<Resource>>> guarded = new ArrayList<>();
+            for (CompletableFuture<List<Resource>> future : resourceFutures) {
+                guarded.add(future.exceptionally(e -> {
+                    failed.set(true);
+                    logger.error("Failed to fetch resources in environment {}: {}", env.getName(), e.getMessage(), e);
+                    return Collections.emptyList();
+                }));
             }
-        }
 
-        Map<String, Object> newResource = new HashMap<>();
-        newResource.put("name", name);
-        newResource.put("type", type);
-        newResource.put("versions", new HashMap<String, String>());
-        output.add(newResource);
+            // Wait for all resource types to complete
+            return CompletableFuture.allOf(guarded.toArray(new CompletableFuture[0])).thenApply(v -> {
+                List<Resource> allResources = new ArrayList<>();
+                for (CompletableFuture<List<Resource>> future : guarded) {
+                    allResources.addAll(future.join());
+                }
+                return allResources;
+            });
+        }).handle((allResources, e) -> {
+            if (e != null) {
+                failed.set(true);
+                logger.error("Failed to process environment {}: {}", env.getName(), e.getMessage(), e);
+                allResources = Collections.emptyList();
+            } else {
+                logger.info("Completed processing environment: {} with {} resources", env.getName(), allResources.size());
+            }
 
-        return newResource;
+            // A failed environment still reports, so its column reads N/A instead of blocking the output
+            onComplete.accept(allResources, failed.get());
+            return null;
+        });
     }
 
-    private void outputTable(List<Environment> environments, Map<String, List<Resource>> environmentResources) {
-        System.out.printf("%-8s%-16s%-32s", "#", "TYPE", "NAME");
-
-        for (Environment env : environments) {
-            System.out.printf("%-32s", env.getName().toUpperCase());
+    private void outputChanges(List<VersionChange> changes, Instant lastRun) {
+        if (changes.isEmpty()) {
+            System.out.printf("No changes since the last run at %s%n", lastRun);
+            return;
         }
-        System.out.println();
 
-        // Organize resources by name
-        Map<String, Map<String, Resource>> resourcesByName = new HashMap<>();
-        for (Map.Entry<String, List<Resource>> entry : environmentResources.entrySet()) {
-            String envName = entry.getKey();
-            for (Resource resource : entry.getValue()) {
-                resourcesByName.computeIfAbsent(resource.getName(), k -> new HashMap<>())
-                        .put(envName, resource);
-            }
+        System.out.printf("%-28s%-32s%-16s%-30s%-30s%n", "TYPE", "NAME", "ENV", "PREVIOUS", "CURRENT");
+        for (VersionChange change : changes) {
+            System.out.printf("%-28s%-32s%-16s%-30s%-30s%n", change.getType(), change.getName(), change.getEnvironment(),
+                    versionOrNa(change.getPreviousVersion()), versionOrNa(change.getVersion()));
         }
+    }
 
-        int counter = 1;
-        for (Map.Entry<String, Map<String, Resource>> entry : resourcesByName.entrySet()) {
-            String resourceName = entry.getKey();
-            Map<String, Resource> envVersions = entry.getValue();
+    private void outputMetrics() {
+        // Metrics go to stderr so json and ndjson output on stdout stays parseable
+        System.err.printf("%-16s%-16s%-20s%10s%10s%10s%12s%12s%12s%14s%n",
+                "ENV", "TYPE", "API", "CALLS", "ERRORS", "RETRIES", "P50 MS", "P95 MS", "MAX MS", "TOTAL MS");
+        for (ScanMetrics.ApiMetrics series : metrics.getSeries()) {
+            LatencyHistogram latency = series.getLatency();
+            System.err.printf("%-16s%-16s%-20s%10d%10d%10d%12d%12d%12d%14d%n",
+                    series.getEnvironment(), series.getResourceType(), series.getApi(),
+                    series.getCalls(), series.getErrors(), series.getRetries(),
+                    TimeUnit.NANOSECONDS.toMillis(latency.getPercentileNanos(0.5)),
+                    TimeUnit.NANOSECONDS.toMillis(latency.getPercentileNanos(0.95)),
+                    TimeUnit.NANOSECONDS.toMillis(latency.getMaxNanos()),
+                    series.getTotalMillis());
+        }
+    }
 
-            // Get the type from any environment
-            String type = envVersions.values().iterator().next().getType();
+    private void outputTable(DriftMatrix matrix, DriftClassifier classifier) {
+        System.out.printf("%-8s%-28s%-32s%-12s", "#", "TYPE", "NAME", "DRIFT");
 
-            System.out.printf("%-8d%-16s%-32s", counter++, type, resourceName);
+        for (int column = 0; column < matrix.getEnvironmentCount(); column++) {
+            String header = matrix.getEnvironment(column).toUpperCase();
+            System.out.printf("%-32s", column == classifier.getReferenceColumn() ? header + " (REF)" : header);
+        }
+        System.out.println();
 
-            // Detect drift
-            Set<String> uniqueVersions = new HashSet<>();
-            for (Environment env : environments) {
-                Resource resource = envVersions.get(env.getName());
-                String version = resource != null ? resource.getVersion() : "N/A";
-                uniqueVersions.add(version);
+        for (int row = 0; row < matrix.getRowCount(); row++) {
+            System.out.printf("%-8d%-28s%-32s%-12s", row + 1, matrix.getType(row), matrix.getName(row),
+                    classifier.getRowStatus(row).label());
 
-                String driftIndicator = uniqueVersions.size() > 1 ? "❌ " : "✅ ️";
-                System.out.printf("%s%-30s", driftIndicator, version);
+            // Each environment is marked against the reference, so the marks do not depend on column order
+            for (int column = 0; column < matrix.getEnvironmentCount(); column++) {
+                String version = versionOrNa(matrix.getVersion(row, column));
+                String driftIndicator = classifier.getStatus(row, column) == DriftClassifier.Status.IN_SYNC ? "✅ ️" : "❌ ";
+                System.out.printf("%s%-30s", driftIndicator, version + distance(classifier, row, column));
             }
             System.out.println();
         }
     }
+
+    /**
+     * @return the most significant version difference from the reference, e.g. " (-2 minor)"
+     */
+    private static String distance(DriftClassifier classifier, int row, int column) {
+        int major = classifier.getMajorDistance(row, column);
+        if (major != 0) {
+            return String.format(" (%+d major)", major);
+        }
+        int minor = classifier.getMinorDistance(row, column);
+        if (minor != 0) {
+            return String.format(" (%+d minor)", minor);
+        }
+        int patch = classifier.getPatchDistance(row, column);
+        return patch != 0 ? String.format(" (%+d patch)", patch) : "";
+    }
 }
@@ -0,0 +1,80 @@
+package com.example.drifter.client;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket whose refill rate adapts to throttling: it halves on every throttled call and
+ * creeps back up by a fixed step on every successful one, so throughput settles just below the
+ * limit the service actually enforces.
+ * <p>
+ * Permits are reserved rather than polled: {@link #reserve()} always takes a permit and returns
+ * how long the caller must wait before using it, so concurrent callers are served in order.
+ */
+public class AdaptiveRateLimiter {
+    private static final double ADDITIVE_INCREASE = 0.1;
+    private static final double MULTIPLICATIVE_DECREASE = 0.5;
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final double minRate;
+    private final double maxRate;
+    private final LongSupplier nanoClock;
+
+    private double rate;
+    private double tokens;
+    private long lastRefill;
+
+    /**
+     * @param initialRate permits per second to start with
+     * @param minRate floor the rate never drops below, however often calls are throttled
+     * @param maxRate ceiling the rate never grows beyond
+     */
+    public AdaptiveRateLimiter(double initialRate, double minRate, double maxRate) {
+        this(initialRate, minRate, maxRate, System::nanoTime);
+    }
+
+    AdaptiveRateLimiter(double initialRate, double minRate, double maxRate, LongSupplier nanoClock) {
+        if (minRate <= 0 || minRate > initialRate || initialRate > maxRate) {
+            throw new IllegalArgumentException("Rates must satisfy 0 < min <= initial <= max");
+        }
+        this.minRate = minRate;
+        this.maxRate = maxRate;
+        this.nanoClock = nanoClock;
+        this.rate = initialRate;
+        this.tokens = Math.max(1, initialRate);
+        this.lastRefill = nanoClock.getAsLong();
+    }
+
+    /**
+     * Takes one permit.
+     *
+     * @return nanoseconds to wait before the permit may be used, 0 if it is available now
+     */
+    public synchronized long reserve() {
+        refill();
+        tokens -= 1;
+        return tokens >= 0 ? 0 : (long) (-tokens / rate * NANOS_PER_SECOND);
+    }
+
+    public synchronized void onSuccess() {
+        rate = Math.min(maxRate, rate + ADDITIVE_INCREASE);
+    }
+
+    public synchronized void onThrottle() {
+        refill();
+        rate = Math.max(minRate, rate * MULTIPLICATIVE_DECREASE);
+        // Drop any burst allowance so the next calls are spaced at the reduced rate
+        tokens = Math.min(tokens, 0);
+    }
+
+    public synchronized double getRate() {
+        return rate;
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        // At most one second of burst is kept
+        double burst = Math.max(1, rate);
+        tokens = Math.min(burst, tokens + (now - lastRefill) * rate / NANOS_PER_SECOND);
+        lastRefill = now;
+    }
+}
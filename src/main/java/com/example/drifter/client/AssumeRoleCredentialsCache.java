@@ -0,0 +1,58 @@
+package com.example.drifter.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.services.sts.StsClient;
+import software.amazon.awssdk.services.sts.auth.StsAssumeRoleCredentialsProvider;
+import software.amazon.awssdk.services.sts.model.AssumeRoleRequest;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One assumed-role session per role ARN, shared by every environment that names the role.
+ * <p>
+ * Sessions are refreshed on a background thread well before they expire, so only the very first
+ * resolution of a role waits for STS.
+ */
+public class AssumeRoleCredentialsCache implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(AssumeRoleCredentialsCache.class);
+
+    static final String SESSION_NAME = "drifter";
+    static final Duration SESSION_DURATION = Duration.ofHours(1);
+    static final Duration PREFETCH_TIME = Duration.ofMinutes(10);
+    static final Duration STALE_TIME = Duration.ofMinutes(2);
+
+    private final StsClient stsClient;
+    private final Map<String, StsAssumeRoleCredentialsProvider> providers = new ConcurrentHashMap<>();
+
+    public AssumeRoleCredentialsCache(StsClient stsClient) {
+        this.stsClient = stsClient;
+    }
+
+    public AwsCredentialsProvider forRole(String roleArn) {
+        return providers.computeIfAbsent(roleArn, arn -> {
+            logger.info("Creating assumed-role session for {}", arn);
+            return StsAssumeRoleCredentialsProvider.builder()
+                    .stsClient(stsClient)
+                    .refreshRequest(AssumeRoleRequest.builder()
+                            .roleArn(arn)
+                            .roleSessionName(SESSION_NAME)
+                            .durationSeconds((int) SESSION_DURATION.getSeconds())
+                            .build())
+                    .asyncCredentialUpdateEnabled(true)
+                    .prefetchTime(PREFETCH_TIME)
+                    .staleTime(STALE_TIME)
+                    .build();
+        });
+    }
+
+    @Override
+    public void close() {
+        // Stops the background refresh threads; the STS client belongs to the caller
+        providers.values().forEach(StsAssumeRoleCredentialsProvider::close);
+        providers.clear();
+    }
+}
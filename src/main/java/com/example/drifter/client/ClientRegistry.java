@@ -0,0 +1,250 @@
+package com.example.drifter.client;
+
+import com.example.drifter.config.Environment;
+import com.example.drifter.resource.k8s.KubernetesClientFactory;
+import io.kubernetes.client.openapi.ApiClient;
+import okhttp3.OkHttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.core.retry.RetryUtils;
+import software.amazon.awssdk.core.retry.conditions.AndRetryCondition;
+import software.amazon.awssdk.core.retry.conditions.RetryCondition;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.ecs.EcsClient;
+import software.amazon.awssdk.services.eks.EksClient;
+import software.amazon.awssdk.services.lambda.LambdaClient;
+import software.amazon.awssdk.services.resourcegroupstaggingapi.ResourceGroupsTaggingApiClient;
+import software.amazon.awssdk.services.sts.StsClient;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Hands out AWS and Kubernetes clients shared across environments.
+ * <p>
+ * SDK clients are keyed by (region, role) and all clients of one region share a single pooled
+ * HTTP client, so environments in the same account and region reuse connections. Kubernetes
+ * clients are keyed by (region, role, cluster). Closing the registry releases every client and
+ * connection pool it created.
+ * <p>
+ * Throttlers are shared the same way, so every finder calling the Lambda API of one account and
+ * region, or one cluster's API server, draws from a single adaptive rate limit.
+ */
+public class ClientRegistry implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ClientRegistry.class);
+
+    private static final int MAX_CONNECTIONS_PER_REGION = 100;
+
+    private final Map<String, SdkHttpClient> httpClients = new ConcurrentHashMap<>();
+    private final Map<String, StsClient> stsClients = new ConcurrentHashMap<>();
+    private final Map<String, AssumeRoleCredentialsCache> roleSessions = new ConcurrentHashMap<>();
+    private final Map<String, AwsCredentialsProvider> credentialsProviders = new ConcurrentHashMap<>();
+    private final Map<String, LambdaClient> lambdaClients = new ConcurrentHashMap<>();
+    private final Map<String, ResourceGroupsTaggingApiClient> taggingClients = new ConcurrentHashMap<>();
+    private final Map<String, EksClient> eksClients = new ConcurrentHashMap<>();
+    private final Map<String, EcsClient> ecsClients = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<ApiClient>> kubernetesClients = new ConcurrentHashMap<>();
+    private final Map<String, Throttler> throttlers = new ConcurrentHashMap<>();
+
+    private volatile boolean closed;
+
+    public LambdaClient lambdaClient(Environment env) {
+        return getOrCreate(lambdaClients, awsKey(env), key -> LambdaClient.builder()
+                .region(Region.of(env.getRegion()))
+                .credentialsProvider(credentialsProvider(env))
+                .httpClient(httpClient(env.getRegion()))
+                .overrideConfiguration(config -> config.retryPolicy(SdkRetry.NO_THROTTLING_RETRY_POLICY))
+                .build());
+    }
+
+    /**
+     * Rate limit and throttling retries for Lambda API calls in the environment's account and region.
+     */
+    public Throttler lambdaThrottler(Environment env) {
+        return getOrCreate(throttlers, "lambda|" + awsKey(env), key -> Throttler.forLambda());
+    }
+
+    /**
+     * Rate limit and throttling retries for the API server of the environment's cluster.
+     */
+    public Throttler kubernetesThrottler(Environment env) {
+        return getOrCreate(throttlers, "k8s|" + awsKey(env) + "|" + env.getClusterName(),
+                key -> Throttler.forKubernetes());
+    }
+
+    public ResourceGroupsTaggingApiClient taggingClient(Environment env) {
+        return getOrCreate(taggingClients, awsKey(env), key -> ResourceGroupsTaggingApiClient.builder()
+                .region(Region.of(env.getRegion()))
+                .credentialsProvider(credentialsProvider(env))
+                .httpClient(httpClient(env.getRegion()))
+                .build());
+    }
+
+    public EksClient eksClient(Environment env) {
+        return getOrCreate(eksClients, awsKey(env), key -> EksClient.builder()
+                .region(Region.of(env.getRegion()))
+                .credentialsProvider(credentialsProvider(env))
+                .httpClient(httpClient(env.getRegion()))
+                .build());
+    }
+
+    public EcsClient ecsClient(Environment env) {
+        return getOrCreate(ecsClients, awsKey(env), key -> EcsClient.builder()
+                .region(Region.of(env.getRegion()))
+                .credentialsProvider(credentialsProvider(env))
+                .httpClient(httpClient(env.getRegion()))
+                .overrideConfiguration(config -> config.retryPolicy(SdkRetry.NO_THROTTLING_RETRY_POLICY))
+                .build());
+    }
+
+    /**
+     * Rate limit and throttling retries for ECS API calls in the environment's account and region.
+     */
+    public Throttler ecsThrottler(Environment env) {
+        return getOrCreate(throttlers, "ecs|" + awsKey(env), key -> Throttler.forEcs());
+    }
+
+    public ApiClient kubernetesClient(Environment env) {
+        return kubernetesClient(awsKey(env) + "|" + env.getClusterName(), () ->
+                KubernetesClientFactory.createClient(eksClient(env), env.getClusterName(), env.getRole(),
+                        credentialsProvider(env), Region.of(env.getRegion())));
+    }
+
+    /**
+     * Client for long-lived watches on the environment's cluster, which must not time out reads.
+     */
+    public ApiClient kubernetesWatchClient(Environment env) {
+        return kubernetesClient("watch|" + awsKey(env) + "|" + env.getClusterName(), () ->
+                KubernetesClientFactory.createWatchClient(eksClient(env), env.getClusterName(), env.getRole(),
+                        credentialsProvider(env), Region.of(env.getRegion())));
+    }
+
+    /**
+     * Creating a Kubernetes client calls DescribeCluster, so the map only memoizes a future and
+     * the first caller creates the client outside it; other callers of the same key wait for that
+     * future, and callers of other keys are not held up. A failed creation is forgotten, so the
+     * next call retries it.
+     */
+    ApiClient kubernetesClient(String key, Supplier<ApiClient> factory) {
+        CompletableFuture<ApiClient> created = new CompletableFuture<>();
+        CompletableFuture<ApiClient> client = getOrCreate(kubernetesClients, key, k -> created);
+        if (client == created) {
+            try {
+                created.complete(factory.get());
+            } catch (RuntimeException e) {
+                kubernetesClients.remove(key, created);
+                created.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return client.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * Credentials for the environment's role, or the default chain when no role is configured.
+     */
+    public AwsCredentialsProvider credentialsProvider(Environment env) {
+        if (env.getRole() == null || env.getRole().isEmpty()) {
+            return defaultCredentialsProvider();
+        }
+        return roleSessions().forRole(env.getRole());
+    }
+
+    private AwsCredentialsProvider defaultCredentialsProvider() {
+        return getOrCreate(credentialsProviders, "default", key -> DefaultCredentialsProvider.builder().build());
+    }
+
+    private AssumeRoleCredentialsCache roleSessions() {
+        return getOrCreate(roleSessions, "sts", key -> new AssumeRoleCredentialsCache(
+                getOrCreate(stsClients, key, k -> StsClient.builder()
+                        .region(Region.AWS_GLOBAL)
+                        .credentialsProvider(defaultCredentialsProvider())
+                        .httpClient(httpClient(Region.AWS_GLOBAL.id()))
+                        .build())));
+    }
+
+    private SdkHttpClient httpClient(String region) {
+        return getOrCreate(httpClients, region, key -> ApacheHttpClient.builder()
+                .maxConnections(MAX_CONNECTIONS_PER_REGION)
+                .build());
+    }
+
+    private <T> T getOrCreate(Map<String, T> clients, String key, Function<String, T> factory) {
+        if (closed) {
+            throw new IllegalStateException("Client registry is already closed");
+        }
+        return clients.computeIfAbsent(key, factory);
+    }
+
+    private static String awsKey(Environment env) {
+        return env.getRegion() + "|" + (env.getRole() != null ? env.getRole() : "");
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        // Service clients first, then the HTTP clients they borrow
+        closeAll(lambdaClients);
+        closeAll(taggingClients);
+        closeAll(eksClients);
+        closeAll(ecsClients);
+        closeAll(roleSessions);
+        closeAll(stsClients);
+        closeAll(credentialsProviders);
+        closeAll(httpClients);
+
+        for (CompletableFuture<ApiClient> client : kubernetesClients.values()) {
+            if (!client.isDone() || client.isCompletedExceptionally()) {
+                continue;
+            }
+            OkHttpClient httpClient = client.join().getHttpClient();
+            httpClient.dispatcher().executorService().shutdown();
+            httpClient.connectionPool().evictAll();
+        }
+        kubernetesClients.clear();
+        throttlers.clear();
+
+        logger.debug("Closed client registry");
+    }
+
+    private void closeAll(Map<String, ?> clients) {
+        for (Object client : clients.values()) {
+            if (client instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    logger.warn("Failed to close client {}: {}", client.getClass().getSimpleName(), e.getMessage());
+                }
+            }
+        }
+        clients.clear();
+    }
+
+    /**
+     * Built when the first SDK client is, since resolving the retry mode reads the AWS profile files.
+     */
+    private static class SdkRetry {
+        // Throttling is retried by Throttler against the shared limiter; the SDK only retries other transient errors
+        static final RetryPolicy NO_THROTTLING_RETRY_POLICY = RetryPolicy.builder()
+                .retryCondition(AndRetryCondition.create(RetryCondition.defaultRetryCondition(),
+                        context -> !RetryUtils.isThrottlingException(context.exception())))
+                .build();
+    }
+}
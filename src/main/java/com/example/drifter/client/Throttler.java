@@ -0,0 +1,181 @@
+package com.example.drifter.client;
+
+import io.kubernetes.client.openapi.ApiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Runs API calls through a shared {@link AdaptiveRateLimiter} and retries throttled ones with
+ * exponential backoff and decorrelated jitter, so a throttled lookup is delayed rather than lost.
+ * Errors that are not throttling are rethrown immediately.
+ * <p>
+ * One instance is meant to be shared by every caller of the same API quota, for example all
+ * finders targeting one account and region; see {@link ClientRegistry}.
+ */
+public class Throttler {
+    private static final Logger logger = LoggerFactory.getLogger(Throttler.class);
+
+    public static final int DEFAULT_MAX_ATTEMPTS = 8;
+    public static final long DEFAULT_BASE_DELAY_MILLIS = 100;
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 20_000;
+
+    private static final double LAMBDA_INITIAL_RATE = 10;
+    private static final double LAMBDA_MIN_RATE = 1;
+    private static final double LAMBDA_MAX_RATE = 50;
+    private static final double ECS_INITIAL_RATE = 10;
+    private static final double ECS_MIN_RATE = 1;
+    private static final double ECS_MAX_RATE = 40;
+    private static final double KUBERNETES_INITIAL_RATE = 20;
+    private static final double KUBERNETES_MIN_RATE = 2;
+    private static final double KUBERNETES_MAX_RATE = 100;
+
+    public static final Predicate<Throwable> AWS_THROTTLING =
+            e -> e instanceof AwsServiceException && ((AwsServiceException) e).isThrottlingException();
+
+    public static final Predicate<Throwable> KUBERNETES_THROTTLING =
+            e -> e instanceof ApiException && ((ApiException) e).getCode() == 429;
+
+    @FunctionalInterface
+    public interface Call<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    @FunctionalInterface
+    interface Sleeper {
+        void sleep(long nanos) throws InterruptedException;
+    }
+
+    private final AdaptiveRateLimiter limiter;
+    private final Predicate<Throwable> isThrottling;
+    private final int maxAttempts;
+    private final long baseDelayNanos;
+    private final long maxDelayNanos;
+    private final Random random;
+    private final Sleeper sleeper;
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong throttles = new AtomicLong();
+
+    public Throttler(AdaptiveRateLimiter limiter, Predicate<Throwable> isThrottling) {
+        this(limiter, isThrottling, DEFAULT_MAX_ATTEMPTS, TimeUnit.MILLISECONDS.toNanos(DEFAULT_BASE_DELAY_MILLIS),
+                TimeUnit.MILLISECONDS.toNanos(DEFAULT_MAX_DELAY_MILLIS), new Random(), TimeUnit.NANOSECONDS::sleep);
+    }
+
+    /**
+     * A throttler sized for the Lambda control plane API of one account and region.
+     */
+    public static Throttler forLambda() {
+        return new Throttler(new AdaptiveRateLimiter(LAMBDA_INITIAL_RATE, LAMBDA_MIN_RATE, LAMBDA_MAX_RATE),
+                AWS_THROTTLING);
+    }
+
+    /**
+     * A throttler sized for the ECS control plane API of one account and region.
+     */
+    public static Throttler forEcs() {
+        return new Throttler(new AdaptiveRateLimiter(ECS_INITIAL_RATE, ECS_MIN_RATE, ECS_MAX_RATE), AWS_THROTTLING);
+    }
+
+    /**
+     * A throttler sized for one Kubernetes API server.
+     */
+    public static Throttler forKubernetes() {
+        return new Throttler(new AdaptiveRateLimiter(KUBERNETES_INITIAL_RATE, KUBERNETES_MIN_RATE, KUBERNETES_MAX_RATE),
+                KUBERNETES_THROTTLING);
+    }
+
+    Throttler(AdaptiveRateLimiter limiter, Predicate<Throwable> isThrottling, int maxAttempts,
+              long baseDelayNanos, long maxDelayNanos, Random random, Sleeper sleeper) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        this.limiter = limiter;
+        this.isThrottling = isThrottling;
+        this.maxAttempts = maxAttempts;
+        this.baseDelayNanos = baseDelayNanos;
+        this.maxDelayNanos = maxDelayNanos;
+        this.random = random;
+        this.sleeper = sleeper;
+    }
+
+    /**
+     * Waits for a permit and runs the call, retrying while it is throttled.
+     *
+     * @throws E the call's own exception, or the last throttling error once attempts run out
+     * @throws CancellationException if the thread is interrupted while waiting
+     */
+    public <T, E extends Exception> T call(Call<T, E> call) throws E {
+        return call(call, () -> {});
+    }
+
+    /**
+     * Like {@link #call(Call)}, notifying {@code onRetry} before each retry of a throttled attempt.
+     */
+    public <T, E extends Exception> T call(Call<T, E> call, Runnable onRetry) throws E {
+        long delay = baseDelayNanos;
+        for (int attempt = 1; ; attempt++) {
+            pause(limiter.reserve());
+            calls.incrementAndGet();
+            try {
+                T result = call.call();
+                limiter.onSuccess();
+                return result;
+            } catch (Exception e) {
+                if (!isThrottling.test(e)) {
+                    throw e;
+                }
+
+                throttles.incrementAndGet();
+                limiter.onThrottle();
+                if (attempt >= maxAttempts) {
+                    logger.warn("Still throttled after {} attempts, giving up", attempt);
+                    throw e;
+                }
+
+                // Decorrelated jitter: each delay is drawn between the base and three times the previous one
+                delay = Math.min(maxDelayNanos, baseDelayNanos + (long) (random.nextDouble() * (delay * 3 - baseDelayNanos)));
+                logger.debug("Throttled on attempt {}, retrying in {} ms at {} calls/s", attempt,
+                        TimeUnit.NANOSECONDS.toMillis(delay), String.format("%.1f", limiter.getRate()));
+                onRetry.run();
+                pause(delay);
+            }
+        }
+    }
+
+    private void pause(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            sleeper.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting to call the API");
+        }
+    }
+
+    public AdaptiveRateLimiter getLimiter() {
+        return limiter;
+    }
+
+    /**
+     * @return attempts made, including retries
+     */
+    public long getCalls() {
+        return calls.get();
+    }
+
+    /**
+     * @return attempts rejected by throttling
+     */
+    public long getThrottles() {
+        return throttles.get();
+    }
+}
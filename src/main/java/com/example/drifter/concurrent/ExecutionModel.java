@@ -0,0 +1,187 @@
+package com.example.drifter.concurrent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Owns the threads that blocking SDK and Kubernetes calls run on, so none of them touch the
+ * common ForkJoinPool.
+ * <p>
+ * Every (environment, resource type) pair gets its own executor capped at the environment's
+ * concurrency. In {@link Mode#VIRTUAL} each task gets a virtual thread and the cap is a
+ * semaphore; in {@link Mode#PLATFORM} the cap is the size of a dedicated thread pool.
+ * <p>
+ * On top of those per-finder budgets, one semaphore caps the lookups running at once across
+ * every environment and resource type, so adding finders does not multiply the load a scan puts
+ * on shared networks and credentials.
+ */
+public class ExecutionModel implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionModel.class);
+
+    public static final int DEFAULT_MAX_CONCURRENCY = 64;
+
+    private static final long IDLE_THREAD_TIMEOUT_SECONDS = 30;
+
+    public enum Mode {
+        VIRTUAL,
+        PLATFORM
+    }
+
+    private final Mode mode;
+    private final int maxConcurrency;
+    private final Semaphore globalPermits;
+    private final Map<String, InstrumentedExecutor> executors = new ConcurrentHashMap<>();
+    private final List<ExecutorService> services = new ArrayList<>();
+
+    private ExecutionModel(Mode mode, int maxConcurrency) {
+        this.mode = mode;
+        this.maxConcurrency = maxConcurrency;
+        this.globalPermits = new Semaphore(maxConcurrency);
+    }
+
+    /**
+     * Uses virtual threads when requested and the runtime supports them (Java 21+), otherwise
+     * bounded platform pools.
+     */
+    public static ExecutionModel create(Mode requested) {
+        return create(requested, DEFAULT_MAX_CONCURRENCY);
+    }
+
+    /**
+     * @param maxConcurrency lookups allowed to run at once across all resource executors
+     */
+    public static ExecutionModel create(Mode requested, int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Max concurrency must be at least 1, got " + maxConcurrency);
+        }
+        if (requested == Mode.VIRTUAL && !isVirtualThreadSupported()) {
+            logger.info("Virtual threads are not available on Java {}, using platform thread pools",
+                    Runtime.version().feature());
+            return new ExecutionModel(Mode.PLATFORM, maxConcurrency);
+        }
+        return new ExecutionModel(requested, maxConcurrency);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Executor for orchestrating environments: client setup and fan-out, no long blocking waits.
+     */
+    public InstrumentedExecutor environmentExecutor(int environments) {
+        return executor("environments", Math.max(1, environments), null);
+    }
+
+    /**
+     * Executor for the calls of one resource type in one environment, capped at {@code concurrency}
+     * and sharing the global cap with every other such executor.
+     *
+     * @throws IllegalArgumentException if the executor already exists with a different concurrency
+     */
+    public InstrumentedExecutor executorFor(String environment, String resourceType, int concurrency) {
+        return executor(environment + "/" + resourceType, concurrency, globalPermits);
+    }
+
+    private InstrumentedExecutor executor(String name, int threads, Semaphore shared) {
+        InstrumentedExecutor executor = executors.computeIfAbsent(name, key -> {
+            if (mode == Mode.VIRTUAL) {
+                ExecutorService service = newVirtualThreadExecutor();
+                register(service);
+                return new InstrumentedExecutor(key, service, threads, true, shared);
+            }
+            ThreadPoolExecutor pool = newPlatformPool(key, threads);
+            register(pool);
+            return new InstrumentedExecutor(key, pool, threads, false, shared);
+        });
+        // A pool is sized once, so a caller asking for another size would silently get the first one
+        if (executor.getThreads() != threads) {
+            throw new IllegalArgumentException("Executor " + name + " already runs " + executor.getThreads()
+                    + " threads, cannot reuse it with " + threads);
+        }
+        return executor;
+    }
+
+    private synchronized void register(ExecutorService service) {
+        services.add(service);
+    }
+
+    public List<InstrumentedExecutor> getExecutors() {
+        return new ArrayList<>(executors.values());
+    }
+
+    /**
+     * Logs the queue depth, peak in-flight tasks and task latency of every executor, by name.
+     */
+    public void logStats() {
+        List<InstrumentedExecutor> sorted = getExecutors();
+        sorted.sort(Comparator.comparing(InstrumentedExecutor::getName));
+        for (InstrumentedExecutor executor : sorted) {
+            logger.info("Executor {}", executor);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        for (ExecutorService service : services) {
+            service.shutdownNow();
+        }
+        services.clear();
+        executors.clear();
+    }
+
+    /**
+     * Fixed-size pool of daemon threads that exit when idle, so an unclosed pool does not leak.
+     */
+    public static ThreadPoolExecutor newPlatformPool(String name, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count for " + name + " must be at least 1, got " + threads);
+        }
+
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads,
+                IDLE_THREAD_TIMEOUT_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "drifter-" + name + "-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    public static boolean isVirtualThreadSupported() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        // Looked up reflectively so the build keeps targeting Java 17
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads are not available", e);
+        }
+    }
+}
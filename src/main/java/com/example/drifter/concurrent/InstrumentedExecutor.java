@@ -0,0 +1,125 @@
+package com.example.drifter.concurrent;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executor wrapper that tracks queue depth, active tasks and task timings, and optionally caps
+ * how many tasks run at once (needed when the delegate starts a thread per task). A semaphore
+ * shared between executors additionally caps the tasks running across all of them.
+ */
+public class InstrumentedExecutor implements Executor {
+    private final String name;
+    private final Executor delegate;
+    private final int threads;
+    private final Semaphore permits;
+    private final Semaphore shared;
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger peakQueued = new AtomicInteger();
+    private final AtomicInteger peakActive = new AtomicInteger();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * @param threads maximum number of tasks running at once
+     * @param gate whether to enforce {@code threads} here rather than relying on the delegate
+     * @param shared permits every task also holds while running, or null
+     */
+    InstrumentedExecutor(String name, Executor delegate, int threads, boolean gate, Semaphore shared) {
+        this.name = name;
+        this.delegate = delegate;
+        this.threads = threads;
+        this.permits = gate ? new Semaphore(threads) : null;
+        this.shared = shared;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        submitted.incrementAndGet();
+        peakQueued.accumulateAndGet(queued.incrementAndGet(), Math::max);
+
+        delegate.execute(() -> {
+            // Always local before shared, so a task holding a shared permit never waits on a local one
+            if (permits != null) {
+                permits.acquireUninterruptibly();
+            }
+            if (shared != null) {
+                shared.acquireUninterruptibly();
+            }
+            queued.decrementAndGet();
+            peakActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+
+            long start = System.nanoTime();
+            try {
+                task.run();
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                totalNanos.addAndGet(elapsed);
+                maxNanos.accumulateAndGet(elapsed, Math::max);
+                active.decrementAndGet();
+                completed.incrementAndGet();
+                if (shared != null) {
+                    shared.release();
+                }
+                if (permits != null) {
+                    permits.release();
+                }
+            }
+        });
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public long getSubmittedTasks() {
+        return submitted.get();
+    }
+
+    public long getCompletedTasks() {
+        return completed.get();
+    }
+
+    public int getQueueDepth() {
+        return queued.get();
+    }
+
+    public int getPeakQueueDepth() {
+        return peakQueued.get();
+    }
+
+    public int getActiveTasks() {
+        return active.get();
+    }
+
+    public int getPeakActiveTasks() {
+        return peakActive.get();
+    }
+
+    public long getAverageTaskMillis() {
+        long count = completed.get();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalNanos.get() / count);
+    }
+
+    public long getMaxTaskMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxNanos.get());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d threads, %d tasks, peak %d active, peak queue %d, avg %d ms, max %d ms",
+                name, threads, completed.get(), peakActive.get(), peakQueued.get(),
+                getAverageTaskMillis(), getMaxTaskMillis());
+    }
+}
@@ -1,26 +1,41 @@
 package com.example.drifter.config;
 
+import com.example.drifter.resource.NameMatcher;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.PatternSyntaxException;
 
+/**
+ * Reads and validates the configuration file. Only the mapper for the file's format is created,
+ * and the file is bound straight from a stream.
+ */
 public class ConfigurationReader {
     private static final Logger logger = LoggerFactory.getLogger(ConfigurationReader.class);
 
-    private final ObjectMapper jsonMapper;
-    private final ObjectMapper yamlMapper;
+    // Sections whose finders talk to the environment's EKS cluster
+    private static final List<String> KUBERNETES_SECTIONS = List.of("deployments", "statefulSets", "daemonSets", "cronJobs");
 
-    public ConfigurationReader() {
-        this.jsonMapper = new ObjectMapper();
-        this.yamlMapper = new ObjectMapper(new YAMLFactory());
-    }
+    private ObjectMapper jsonMapper;
+    private ObjectMapper yamlMapper;
+
+    public ConfigurationReader() {}
 
+    /**
+     * @throws IOException if the file is missing, cannot be parsed or fails {@link #validate(DrifterConfig)}
+     */
     public DrifterConfig readFile(String configPath) throws IOException {
         Path path = Paths.get(configPath);
 
@@ -28,17 +43,112 @@ public class ConfigurationReader {
             throw new IOException("Configuration file not found: " + configPath);
         }
 
-        String content = Files.readString(path);
-        String extension = getFileExtension(configPath);
-
-        ObjectMapper mapper = getMapperForExtension(extension);
+        ObjectMapper mapper = getMapperForExtension(getFileExtension(configPath));
 
-        try {
-            return mapper.readValue(content, DrifterConfig.class);
+        DrifterConfig config;
+        try (InputStream in = Files.newInputStream(path)) {
+            config = mapper.readValue(in, DrifterConfig.class);
         } catch (IOException e) {
             logger.error("Failed to parse configuration file: {}", configPath, e);
             throw new IOException("Failed to parse configuration file: " + e.getMessage(), e);
         }
+
+        List<String> problems = validate(config);
+        if (!problems.isEmpty()) {
+            throw new IOException("Invalid configuration file " + configPath + ": " + String.join("; ", problems));
+        }
+        return config;
+    }
+
+    /**
+     * Checks what would otherwise only fail once clients are built or lookups run: every
+     * environment needs a unique name and a region, and a cluster name when Kubernetes resources
+     * are configured, the reference must be one of them, and every include and exclude pattern
+     * must compile as the finders compile it.
+     *
+     * @return one message per problem, empty if the configuration is valid
+     */
+    static List<String> validate(DrifterConfig config) {
+        List<String> problems = new ArrayList<>();
+
+        List<String> kubernetesSections = new ArrayList<>();
+        for (String section : KUBERNETES_SECTIONS) {
+            if (config.getResourceConfig(section) != null) {
+                kubernetesSections.add(section);
+            }
+        }
+
+        if (config.getEnvironments() == null || config.getEnvironments().isEmpty()) {
+            problems.add("no environments configured under 'envs'");
+        } else {
+            Set<String> names = new HashSet<>();
+            for (int i = 0; i < config.getEnvironments().size(); i++) {
+                Environment env = config.getEnvironments().get(i);
+                String name = env.getName();
+                if (name == null || name.isEmpty()) {
+                    problems.add("environment " + (i + 1) + " has no name");
+                    continue;
+                }
+                if (!names.add(name)) {
+                    problems.add("duplicate environment name '" + name + "'");
+                }
+                if (env.getRegion() == null || env.getRegion().isEmpty()) {
+                    problems.add("environment '" + name + "' has no region");
+                }
+                if (!kubernetesSections.isEmpty() && (env.getClusterName() == null || env.getClusterName().isEmpty())) {
+                    problems.add("environment '" + name + "' has no clusterName, needed by " + String.join(", ", kubernetesSections));
+                }
+                if (env.getConcurrency() != null && env.getConcurrency() < 1) {
+                    problems.add("environment '" + name + "' has concurrency " + env.getConcurrency() + ", must be at least 1");
+                }
+            }
+
+            if (config.getReference() != null && !names.contains(config.getReference())) {
+                problems.add("reference environment '" + config.getReference() + "' is not one of " + names);
+            }
+        }
+
+        if (config.getMaxConcurrency() != null && config.getMaxConcurrency() < 1) {
+            problems.add("maxConcurrency is " + config.getMaxConcurrency() + ", must be at least 1");
+        }
+
+        for (Map.Entry<String, ResourceConfig> section : config.getResourceConfigs().entrySet()) {
+            ResourceConfig resourceConfig = section.getValue();
+            checkPatterns(section.getKey() + ".include", resourceConfig.getInclude(), problems);
+            checkPatterns(section.getKey() + ".exclude", resourceConfig.getExclude(), problems);
+            if (resourceConfig.getConcurrency() != null && resourceConfig.getConcurrency() < 1) {
+                problems.add(section.getKey() + ".concurrency is " + resourceConfig.getConcurrency() + ", must be at least 1");
+            }
+        }
+
+        return problems;
+    }
+
+    /**
+     * Compiles the patterns with the {@link NameMatcher} the finders use, one at a time so every
+     * invalid one is reported, then together as the finders combine them.
+     */
+    private static void checkPatterns(String field, List<String> patterns, List<String> problems) {
+        if (patterns == null) {
+            return;
+        }
+        boolean valid = true;
+        for (String pattern : patterns) {
+            try {
+                NameMatcher.compile(List.of(pattern));
+            } catch (IllegalArgumentException e) {
+                valid = false;
+                String description = e.getCause() instanceof PatternSyntaxException syntax ? syntax.getDescription() : e.getMessage();
+                problems.add("invalid pattern '" + pattern + "' in " + field + ": " + description);
+            }
+        }
+        if (valid) {
+            try {
+                NameMatcher.compile(patterns);
+            } catch (IllegalArgumentException e) {
+                problems.add("patterns in " + field + " cannot be combined: " + e.getMessage());
+            }
+        }
     }
 
     private String getFileExtension(String filePath) {
@@ -51,12 +161,36 @@ public class ConfigurationReader {
 
     private ObjectMapper getMapperForExtension(String extension) {
         return switch (extension) {
-            case "yaml", "yml" -> yamlMapper;
-            case "json" -> jsonMapper;
+            case "yaml", "yml" -> yamlMapper();
+            case "json" -> jsonMapper();
             default -> {
                 logger.warn("Unknown file extension '{}', defaulting to JSON parser", extension);
-                yield jsonMapper;
+                yield jsonMapper();
             }
         };
     }
+
+    private ObjectMapper jsonMapper() {
+        if (jsonMapper == null) {
+            jsonMapper = new ObjectMapper();
+        }
+        return jsonMapper;
+    }
+
+    private ObjectMapper yamlMapper() {
+        if (yamlMapper == null) {
+            yamlMapper = Yaml.newMapper();
+        }
+        return yamlMapper;
+    }
+
+    /**
+     * Keeps the YAML parser classes out of JSON-only runs: they are loaded when this class is
+     * first used, not when the reader is.
+     */
+    private static class Yaml {
+        static ObjectMapper newMapper() {
+            return new ObjectMapper(new YAMLFactory());
+        }
+    }
 }
@@ -1,17 +1,25 @@
 package com.example.drifter.config;
 
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class DrifterConfig {
     @JsonProperty("envs")
     private List<Environment> environments;
 
-    @JsonProperty("lambdas")
-    private ResourceConfig lambdas;
+    @JsonProperty("reference")
+    private String reference;
 
-    @JsonProperty("deployments")
-    private ResourceConfig deployments;
+    @JsonProperty("maxConcurrency")
+    private Integer maxConcurrency;
+
+    // Every other top-level section configures the finder registered under its key, e.g. lambdas
+    private final Map<String, ResourceConfig> resources = new LinkedHashMap<>();
 
     public DrifterConfig() {}
 
@@ -24,18 +32,65 @@ public class DrifterConfig {
     }
 
     public ResourceConfig getLambdas() {
-        return lambdas;
+        return getResourceConfig("lambdas");
     }
 
     public void setLambdas(ResourceConfig lambdas) {
-        this.lambdas = lambdas;
+        setResourceConfig("lambdas", lambdas);
     }
 
     public ResourceConfig getDeployments() {
-        return deployments;
+        return getResourceConfig("deployments");
     }
 
     public void setDeployments(ResourceConfig deployments) {
-        this.deployments = deployments;
+        setResourceConfig("deployments", deployments);
+    }
+
+    /**
+     * @return the section configuring the finder with the given key, or null if there is none
+     */
+    public ResourceConfig getResourceConfig(String key) {
+        return resources.get(key);
+    }
+
+    @JsonAnySetter
+    public void setResourceConfig(String key, ResourceConfig config) {
+        if (config != null) {
+            resources.put(key, config);
+        } else {
+            resources.remove(key);
+        }
+    }
+
+    /**
+     * @return every resource section in the order of the configuration file, keyed by section name
+     */
+    @JsonIgnore
+    public Map<String, ResourceConfig> getResourceConfigs() {
+        return Collections.unmodifiableMap(resources);
+    }
+
+    /**
+     * Maximum lookups running at once across all finders and environments; null means
+     * {@link com.example.drifter.concurrent.ExecutionModel#DEFAULT_MAX_CONCURRENCY}.
+     */
+    public Integer getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public void setMaxConcurrency(Integer maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * The environment drift is measured against, e.g. prod; null means the first environment.
+     */
+    public String getReference() {
+        return reference;
+    }
+
+    public void setReference(String reference) {
+        this.reference = reference;
     }
 }
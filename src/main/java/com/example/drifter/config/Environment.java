@@ -15,6 +15,9 @@ public class Environment {
     @JsonProperty("clusterName")
     private String clusterName;
 
+    @JsonProperty("concurrency")
+    private Integer concurrency;
+
     public Environment() {}
 
     public Environment(String name, String region, String role, String clusterName) {
@@ -55,4 +58,12 @@ public class Environment {
     public void setClusterName(String clusterName) {
         this.clusterName = clusterName;
     }
+
+    public Integer getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(Integer concurrency) {
+        this.concurrency = concurrency;
+    }
 }
@@ -8,6 +8,18 @@ public class ResourceConfig {
     @JsonProperty("namespace")
     private String namespace;
 
+    @JsonProperty("namespaces")
+    private List<String> namespaces;
+
+    @JsonProperty("namespaceSelector")
+    private Map<String, List<String>> namespaceSelector;
+
+    @JsonProperty("allNamespaces")
+    private Boolean allNamespaces;
+
+    @JsonProperty("clusters")
+    private List<String> clusters;
+
     @JsonProperty("tags")
     private Map<String, List<String>> tags;
 
@@ -17,6 +29,12 @@ public class ResourceConfig {
     @JsonProperty("include")
     private List<String> include;
 
+    @JsonProperty("listThreshold")
+    private Integer listThreshold;
+
+    @JsonProperty("concurrency")
+    private Integer concurrency;
+
     public ResourceConfig() {}
 
     public String getNamespace() {
@@ -27,6 +45,33 @@ public class ResourceConfig {
         this.namespace = namespace;
     }
 
+    public List<String> getNamespaces() {
+        return namespaces;
+    }
+
+    public void setNamespaces(List<String> namespaces) {
+        this.namespaces = namespaces;
+    }
+
+    /**
+     * Namespace labels, in the same form as {@link #getTags()}; every matching namespace is scanned.
+     */
+    public Map<String, List<String>> getNamespaceSelector() {
+        return namespaceSelector;
+    }
+
+    public void setNamespaceSelector(Map<String, List<String>> namespaceSelector) {
+        this.namespaceSelector = namespaceSelector;
+    }
+
+    public Boolean getAllNamespaces() {
+        return allNamespaces;
+    }
+
+    public void setAllNamespaces(Boolean allNamespaces) {
+        this.allNamespaces = allNamespaces;
+    }
+
     public Map<String, List<String>> getTags() {
         return tags;
     }
@@ -50,4 +95,35 @@ public class ResourceConfig {
     public void setInclude(List<String> include) {
         this.include = include;
     }
+
+    public Integer getListThreshold() {
+        return listThreshold;
+    }
+
+    public void setListThreshold(Integer listThreshold) {
+        this.listThreshold = listThreshold;
+    }
+
+    /**
+     * ECS clusters to scan, by name or ARN.
+     */
+    public List<String> getClusters() {
+        return clusters;
+    }
+
+    public void setClusters(List<String> clusters) {
+        this.clusters = clusters;
+    }
+
+    /**
+     * Maximum lookups of this section running at once per environment; overrides the
+     * environment's {@code concurrency} and the finder's own default.
+     */
+    public Integer getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(Integer concurrency) {
+        this.concurrency = concurrency;
+    }
 }
@@ -0,0 +1,128 @@
+package com.example.drifter.daemon;
+
+import com.example.drifter.drift.DriftClassifier;
+import com.example.drifter.resource.Resource;
+import com.example.drifter.resource.ResourceChangeListener;
+
+import java.io.PrintStream;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory version table across environments. Each change recomputes drift for the one
+ * resource it touched, against the reference environment, and prints that resource's row.
+ */
+public class DriftMonitor {
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    private final List<String> environments;
+    private final String reference;
+    private final PrintStream out;
+    private final Map<String, Map<String, String>> versionsByResource = new HashMap<>();
+    private final Map<String, Set<String>> polledResources = new HashMap<>();
+
+    public DriftMonitor(List<String> environments, PrintStream out) {
+        this(environments, environments.get(0), out);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the reference is not one of the environments
+     */
+    public DriftMonitor(List<String> environments, String reference, PrintStream out) {
+        if (!environments.contains(reference)) {
+            throw new IllegalArgumentException("Unknown reference environment: " + reference);
+        }
+        this.environments = environments;
+        this.reference = reference;
+        this.out = out;
+    }
+
+    public ResourceChangeListener listenerFor(String environment) {
+        return (type, name, version) -> update(environment, type, name, version);
+    }
+
+    /**
+     * Applies a full poll result for one resource type, treating anything not returned as removed.
+     * Containers of the polled resources are tracked as their own rows, as the deployment watch does.
+     */
+    public synchronized void replace(String environment, String type, List<Resource> resources) {
+        Set<String> current = new HashSet<>();
+        for (Resource resource : resources) {
+            current.add(type + "|" + resource.getName());
+            update(environment, type, resource.getName(), resource.getVersion());
+            for (int i = 0; i < resource.getContainerCount(); i++) {
+                current.add(resource.getContainerType(i) + "|" + resource.getContainerResourceName(i));
+                update(environment, resource.getContainerType(i), resource.getContainerResourceName(i),
+                        resource.getContainerVersion(i));
+            }
+        }
+
+        Set<String> previous = polledResources.put(environment + "|" + type, current);
+        if (previous != null) {
+            for (String key : previous) {
+                if (!current.contains(key)) {
+                    int separator = key.indexOf('|');
+                    update(environment, key.substring(0, separator), key.substring(separator + 1), null);
+                }
+            }
+        }
+    }
+
+    public synchronized void update(String environment, String type, String name, String version) {
+        String key = type + "|" + name;
+        Map<String, String> versions = versionsByResource.get(key);
+        if (versions == null) {
+            if (version == null) {
+                return;
+            }
+            versions = new HashMap<>();
+            versionsByResource.put(key, versions);
+        }
+
+        String previous = version != null ? versions.put(environment, version) : versions.remove(environment);
+        if (version == null ? previous == null : version.equals(previous)) {
+            return;
+        }
+
+        if (versions.isEmpty()) {
+            versionsByResource.remove(key);
+        }
+        print(type, name, versions);
+    }
+
+    public synchronized boolean isDrifted(String type, String name) {
+        Map<String, String> versions = versionsByResource.get(type + "|" + name);
+        return versions != null && classify(versions) != DriftClassifier.Status.IN_SYNC;
+    }
+
+    /**
+     * @return in sync if every environment runs the reference version, ahead or behind if every
+     * drifted environment is, otherwise diverged
+     */
+    private DriftClassifier.Status classify(Map<String, String> versions) {
+        String referenceVersion = versions.getOrDefault(reference, "N/A");
+        DriftClassifier.Status status = DriftClassifier.Status.IN_SYNC;
+        for (String environment : environments) {
+            status = DriftClassifier.combine(status,
+                    DriftClassifier.compare(versions.getOrDefault(environment, "N/A"), referenceVersion));
+        }
+        return status;
+    }
+
+    private void print(String type, String name, Map<String, String> versions) {
+        DriftClassifier.Status status = classify(versions);
+        StringBuilder line = new StringBuilder();
+        line.append(LocalTime.now().format(TIME_FORMAT)).append(' ')
+                .append(status == DriftClassifier.Status.IN_SYNC ? "✅ " : "❌ ")
+                .append(String.format("%-10s%-28s%-32s", status.label(), type, name));
+        for (String environment : environments) {
+            line.append(String.format("%-32s", environment + "=" + versions.getOrDefault(environment, "N/A")));
+        }
+        out.println(line.toString().stripTrailing());
+    }
+}
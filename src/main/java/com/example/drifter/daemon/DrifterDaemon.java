@@ -0,0 +1,169 @@
+package com.example.drifter.daemon;
+
+import com.example.drifter.client.ClientRegistry;
+import com.example.drifter.concurrent.ExecutionModel;
+import com.example.drifter.config.DrifterConfig;
+import com.example.drifter.config.Environment;
+import com.example.drifter.config.ResourceConfig;
+import com.example.drifter.metrics.MetricsScope;
+import com.example.drifter.metrics.ScanMetrics;
+import com.example.drifter.resource.FinderContext;
+import com.example.drifter.resource.ResourceFinder;
+import com.example.drifter.resource.ResourceFinderProvider;
+import com.example.drifter.resource.k8s.DeploymentFinder;
+import com.example.drifter.resource.k8s.DeploymentWatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Long-running mode: one deployment watch per cluster and namespace feeds a {@link DriftMonitor},
+ * while every other configured finder, such as Lambda functions which have no watch API, is
+ * re-polled on a fixed interval.
+ */
+public class DrifterDaemon implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(DrifterDaemon.class);
+
+    private final DrifterConfig config;
+    private final Duration pollInterval;
+    private final DriftMonitor monitor;
+    private final ExecutionModel execution;
+    private final ScanMetrics metrics;
+    private final Path metricsFile;
+    private final ClientRegistry clients;
+    private final List<DeploymentWatch> watches = new ArrayList<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "drifter-poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private final List<ResourceFinderProvider> polledProviders = new ArrayList<>();
+
+    /**
+     * @param metricsFile Prometheus text file rewritten every poll interval, whether or not any
+     *                    finder is polled, or null
+     */
+    public DrifterDaemon(DrifterConfig config, Duration pollInterval, ExecutionModel execution, ScanMetrics metrics,
+                         Path metricsFile, PrintStream out) {
+        this(config, pollInterval, execution, metrics, metricsFile, out, new ClientRegistry());
+    }
+
+    DrifterDaemon(DrifterConfig config, Duration pollInterval, ExecutionModel execution, ScanMetrics metrics,
+                  Path metricsFile, PrintStream out, ClientRegistry clients) {
+        this.config = config;
+        this.pollInterval = pollInterval;
+        this.execution = execution;
+        this.metrics = metrics;
+        this.metricsFile = metricsFile;
+        this.clients = clients;
+
+        List<String> environmentNames = new ArrayList<>();
+        for (Environment env : config.getEnvironments()) {
+            environmentNames.add(env.getName());
+        }
+        this.monitor = new DriftMonitor(environmentNames,
+                config.getReference() != null ? config.getReference() : environmentNames.get(0), out);
+
+        // Deployments are watched; every other configured finder is polled
+        for (ResourceFinderProvider provider : ResourceFinderProvider.forConfig(config)) {
+            if (!provider.configKey().equals("deployments")) {
+                polledProviders.add(provider);
+            }
+        }
+    }
+
+    public void start() {
+        for (Environment env : config.getEnvironments()) {
+            if (config.getDeployments() != null) {
+                try {
+                    // The watch runs on the informer's own threads, so the finder needs no more than one
+                    DeploymentFinder deploymentFinder = new DeploymentFinder(clients.kubernetesWatchClient(env),
+                            execution.executorFor(env.getName(), "Deployment", 1), clients.kubernetesThrottler(env),
+                            metrics.scope(env.getName(), "Deployment"));
+                    watches.add(deploymentFinder.watch(config.getDeployments(), monitor.listenerFor(env.getName())));
+                } catch (Exception e) {
+                    logger.error("Failed to watch deployments in environment {}: {}", env.getName(), e.getMessage(), e);
+                }
+            }
+        }
+
+        if (!polledProviders.isEmpty()) {
+            scheduler.scheduleWithFixedDelay(this::poll, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        // A daemon that only watches deployments never polls, but its metrics still move
+        if (metricsFile != null) {
+            scheduler.scheduleWithFixedDelay(this::writeMetrics, pollInterval.toMillis(), pollInterval.toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+
+        logger.info("Drifter daemon started for {} environments", config.getEnvironments().size());
+    }
+
+    private void poll() {
+        for (Environment env : config.getEnvironments()) {
+            for (ResourceFinderProvider provider : polledProviders) {
+                if (!poll(env, provider)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void writeMetrics() {
+        try {
+            metrics.writePrometheus(metricsFile);
+        } catch (IOException e) {
+            logger.warn("Failed to write metrics to {}: {}", metricsFile, e.getMessage());
+        }
+    }
+
+    /**
+     * @return false if interrupted
+     */
+    private boolean poll(Environment env, ResourceFinderProvider provider) {
+        String type = provider.resourceType();
+        try {
+            ResourceConfig resourceConfig = config.getResourceConfig(provider.configKey());
+            MetricsScope scope = metrics.scope(env.getName(), type);
+            ResourceFinder finder = provider.create(new FinderContext(env, clients,
+                    execution.executorFor(env.getName(), type, provider.concurrency(env, resourceConfig)),
+                    provider.throttler(env, clients), scope));
+            monitor.replace(env.getName(), type,
+                    scope.timeAsync("findResources", () -> finder.findResources(resourceConfig)).get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            logger.error("Failed to poll {} resources in environment {}: {}", type, env.getName(), e.getMessage(), e);
+        }
+        return true;
+    }
+
+    public void awaitTermination() throws InterruptedException {
+        stopped.await();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        for (DeploymentWatch watch : watches) {
+            watch.close();
+        }
+        execution.logStats();
+        execution.close();
+        clients.close();
+        stopped.countDown();
+        logger.info("Drifter daemon stopped");
+    }
+}
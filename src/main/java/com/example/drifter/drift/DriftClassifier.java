@@ -0,0 +1,298 @@
+package com.example.drifter.drift;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Classifies the versions of a {@link DriftMatrix} against a reference environment, by semantic
+ * version precedence rather than string equality.
+ * <p>
+ * Each distinct version string is parsed once into a {@code long} key that orders like the
+ * version: major, minor and patch in 20 bits each, then one bit that is set for releases so a
+ * release sorts above its pre-releases. Cells are classified by comparing keys held in primitive
+ * arrays; only two pre-releases of the same version fall back to comparing their strings.
+ */
+public class DriftClassifier {
+
+    public enum Status {
+        /** Same version as the reference environment, or absent from both. */
+        IN_SYNC,
+        /** A newer version than the reference environment. */
+        AHEAD,
+        /** An older version than the reference environment. */
+        BEHIND,
+        /** Not comparable with the reference: missing on one side, not a semantic version, or a row mixing ahead and behind. */
+        DIVERGED;
+
+        public String label() {
+            return name().toLowerCase().replace('_', '-');
+        }
+    }
+
+    static final long ABSENT = -2;
+    static final long NOT_SEMANTIC = -1;
+
+    private static final Status[] STATUSES = Status.values();
+    private static final int COMPONENT_BITS = 20;
+    private static final long COMPONENT_MASK = (1L << COMPONENT_BITS) - 1;
+    private static final int PATCH_SHIFT = 1;
+    private static final int MINOR_SHIFT = PATCH_SHIFT + COMPONENT_BITS;
+    private static final int MAJOR_SHIFT = MINOR_SHIFT + COMPONENT_BITS;
+
+    private final DriftMatrix matrix;
+    private final int reference;
+    private final int environments;
+    private final Map<String, Long> keysByVersion = new HashMap<>();
+    private long[] keys = new long[0];
+    private byte[] statuses = new byte[0];
+    private byte[] rowStatuses = new byte[0];
+
+    /**
+     * @param referenceEnvironment the environment every other one is compared with
+     * @throws IllegalArgumentException if the matrix has no such environment
+     */
+    public DriftClassifier(DriftMatrix matrix, String referenceEnvironment) {
+        int column = matrix.getEnvironments().indexOf(referenceEnvironment);
+        if (column < 0) {
+            throw new IllegalArgumentException("Unknown reference environment: " + referenceEnvironment);
+        }
+        this.matrix = matrix;
+        this.reference = column;
+        this.environments = matrix.getEnvironmentCount();
+    }
+
+    public int getReferenceColumn() {
+        return reference;
+    }
+
+    /**
+     * Classifies every row of the matrix.
+     */
+    public void classifyAll() {
+        for (int row = 0; row < matrix.getRowCount(); row++) {
+            classify(row);
+        }
+    }
+
+    /**
+     * Classifies one row, e.g. as soon as it is complete.
+     *
+     * @return the status of the row as a whole: in sync if every environment is, ahead or behind if
+     * every drifted environment is, otherwise diverged
+     */
+    public Status classify(int row) {
+        ensureCapacity(matrix.getRowCount());
+
+        int base = row * environments;
+        for (int column = 0; column < environments; column++) {
+            String version = matrix.getVersion(row, column);
+            keys[base + column] = version == null ? ABSENT : keysByVersion.computeIfAbsent(version, DriftClassifier::encode);
+        }
+
+        String referenceVersion = matrix.getVersion(row, reference);
+        long referenceKey = keys[base + reference];
+        Status rowStatus = Status.IN_SYNC;
+        for (int column = 0; column < environments; column++) {
+            Status status = compare(matrix.getVersion(row, column), keys[base + column], referenceVersion, referenceKey);
+            statuses[base + column] = (byte) status.ordinal();
+            rowStatus = combine(rowStatus, status);
+        }
+        rowStatuses[row] = (byte) rowStatus.ordinal();
+        return rowStatus;
+    }
+
+    private void ensureCapacity(int rows) {
+        if (rows <= rowStatuses.length) {
+            return;
+        }
+        int capacity = Math.max(rows, rowStatuses.length * 2);
+        keys = Arrays.copyOf(keys, capacity * environments);
+        statuses = Arrays.copyOf(statuses, capacity * environments);
+        rowStatuses = Arrays.copyOf(rowStatuses, capacity);
+    }
+
+    public Status getRowStatus(int row) {
+        return STATUSES[rowStatuses[row]];
+    }
+
+    public Status getStatus(int row, int column) {
+        return STATUSES[statuses[row * environments + column]];
+    }
+
+    /**
+     * @return major version of the cell minus that of the reference, or 0 unless both are semantic versions
+     */
+    public int getMajorDistance(int row, int column) {
+        return distance(row, column, MAJOR_SHIFT);
+    }
+
+    public int getMinorDistance(int row, int column) {
+        return distance(row, column, MINOR_SHIFT);
+    }
+
+    public int getPatchDistance(int row, int column) {
+        return distance(row, column, PATCH_SHIFT);
+    }
+
+    private int distance(int row, int column, int shift) {
+        long key = keys[row * environments + column];
+        long referenceKey = keys[row * environments + reference];
+        if (key < 0 || referenceKey < 0) {
+            return 0;
+        }
+        return (int) (((key >>> shift) & COMPONENT_MASK) - ((referenceKey >>> shift) & COMPONENT_MASK));
+    }
+
+    /**
+     * Folds the status of one more environment into the status of a row: environments in sync
+     * leave it unchanged, and a row with environments both ahead and behind is diverged.
+     */
+    public static Status combine(Status rowStatus, Status status) {
+        if (rowStatus == Status.IN_SYNC || rowStatus == status) {
+            return status;
+        }
+        return status == Status.IN_SYNC ? rowStatus : Status.DIVERGED;
+    }
+
+    /**
+     * Compares two versions without a matrix, for callers tracking single resources.
+     */
+    public static Status compare(String version, String referenceVersion) {
+        return compare(version, version == null ? ABSENT : encode(version),
+                referenceVersion, referenceVersion == null ? ABSENT : encode(referenceVersion));
+    }
+
+    private static Status compare(String version, long key, String referenceVersion, long referenceKey) {
+        if (key == ABSENT || referenceKey == ABSENT) {
+            return key == referenceKey ? Status.IN_SYNC : Status.DIVERGED;
+        }
+        if (version.equals(referenceVersion)) {
+            return Status.IN_SYNC;
+        }
+        if (key < 0 || referenceKey < 0) {
+            return Status.DIVERGED;
+        }
+        if (key != referenceKey) {
+            return key > referenceKey ? Status.AHEAD : Status.BEHIND;
+        }
+        if ((key & 1) != 0) {
+            // Equal releases spelled differently, e.g. v1.2.0 and 1.2.0+build.7
+            return Status.IN_SYNC;
+        }
+
+        int order = comparePreRelease(preRelease(version), preRelease(referenceVersion));
+        return order == 0 ? Status.IN_SYNC : order > 0 ? Status.AHEAD : Status.BEHIND;
+    }
+
+    /**
+     * Parses {@code [v]MAJOR.MINOR.PATCH[-pre-release][+build]} into an ordered key.
+     *
+     * @return the key, or {@link #NOT_SEMANTIC} if the version does not have that form or a
+     * component does not fit in 20 bits
+     */
+    static long encode(String version) {
+        int length = version.length();
+        int i = length > 0 && (version.charAt(0) == 'v' || version.charAt(0) == 'V') ? 1 : 0;
+
+        long key = 0;
+        for (int shift = MAJOR_SHIFT; shift >= PATCH_SHIFT; shift -= COMPONENT_BITS) {
+            if (shift != MAJOR_SHIFT) {
+                if (i >= length || version.charAt(i) != '.') {
+                    return NOT_SEMANTIC;
+                }
+                i++;
+            }
+
+            int start = i;
+            long value = 0;
+            while (i < length && isDigit(version.charAt(i)) && value <= COMPONENT_MASK) {
+                value = value * 10 + (version.charAt(i) - '0');
+                i++;
+            }
+            if (i == start || value > COMPONENT_MASK) {
+                return NOT_SEMANTIC;
+            }
+            key |= value << shift;
+        }
+
+        boolean release = true;
+        if (i < length && version.charAt(i) == '-') {
+            int start = ++i;
+            while (i < length && isIdentifierChar(version.charAt(i))) {
+                i++;
+            }
+            if (i == start) {
+                return NOT_SEMANTIC;
+            }
+            release = false;
+        }
+        if (i < length && version.charAt(i) == '+') {
+            int start = ++i;
+            while (i < length && isIdentifierChar(version.charAt(i))) {
+                i++;
+            }
+            if (i == start) {
+                return NOT_SEMANTIC;
+            }
+        }
+        if (i != length) {
+            return NOT_SEMANTIC;
+        }
+        return release ? key | 1 : key;
+    }
+
+    private static String preRelease(String version) {
+        int start = version.indexOf('-') + 1;
+        int end = version.indexOf('+', start);
+        return version.substring(start, end < 0 ? version.length() : end);
+    }
+
+    /**
+     * Semantic versioning precedence of pre-releases: dot-separated identifiers compared in turn,
+     * numeric ones numerically and below alphanumeric ones, and a shorter prefix first.
+     */
+    static int comparePreRelease(String preRelease, String other) {
+        String[] identifiers = preRelease.split("\\.");
+        String[] otherIdentifiers = other.split("\\.");
+        for (int i = 0; i < Math.min(identifiers.length, otherIdentifiers.length); i++) {
+            String identifier = identifiers[i];
+            String otherIdentifier = otherIdentifiers[i];
+            boolean numeric = isNumeric(identifier);
+            boolean otherNumeric = isNumeric(otherIdentifier);
+
+            int order;
+            if (numeric && otherNumeric) {
+                order = identifier.length() != otherIdentifier.length()
+                        ? Integer.compare(identifier.length(), otherIdentifier.length())
+                        : identifier.compareTo(otherIdentifier);
+            } else if (numeric || otherNumeric) {
+                order = numeric ? -1 : 1;
+            } else {
+                order = identifier.compareTo(otherIdentifier);
+            }
+
+            if (order != 0) {
+                return order;
+            }
+        }
+        return Integer.compare(identifiers.length, otherIdentifiers.length);
+    }
+
+    private static boolean isNumeric(String identifier) {
+        for (int i = 0; i < identifier.length(); i++) {
+            if (!isDigit(identifier.charAt(i))) {
+                return false;
+            }
+        }
+        return !identifier.isEmpty();
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isIdentifierChar(char c) {
+        return isDigit(c) || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '-' || c == '.';
+    }
+}
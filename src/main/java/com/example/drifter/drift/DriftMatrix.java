@@ -0,0 +1,180 @@
+package com.example.drifter.drift;
+
+import com.example.drifter.resource.Resource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resources by environments, with the version of each resource in each environment.
+ * <p>
+ * Rows are interned by (type, name) and columns by environment name, both in first-seen order.
+ * Versions live in one flat array indexed by {@code row * environments + column}, and identical
+ * version strings share a single instance, so building and reading the matrix is linear in the
+ * number of resources.
+ */
+public class DriftMatrix {
+    private static final int INITIAL_ROWS = 64;
+
+    private final List<String> environments;
+    private final Map<String, Integer> environmentIndex = new HashMap<>();
+    private final Map<String, Integer> rowIndex = new HashMap<>();
+    private final Map<String, String> versionPool = new HashMap<>();
+    private final List<String> types = new ArrayList<>();
+    private final List<String> names = new ArrayList<>();
+    private String[] versions;
+    private final boolean[] reported;
+    private final boolean[] failed;
+    private final BitSet taken = new BitSet();
+
+    public DriftMatrix(List<String> environments) {
+        this.environments = new ArrayList<>(environments.size());
+        for (String environment : environments) {
+            if (environmentIndex.putIfAbsent(environment, this.environments.size()) == null) {
+                this.environments.add(environment);
+            }
+        }
+        this.versions = new String[INITIAL_ROWS * Math.max(1, this.environments.size())];
+        this.reported = new boolean[this.environments.size()];
+        this.failed = new boolean[this.environments.size()];
+    }
+
+    /**
+     * Marks an environment as finished: from now on a missing cell in its column means "absent".
+     */
+    public void markReported(String environment) {
+        Integer column = environmentIndex.get(environment);
+        if (column == null) {
+            throw new IllegalArgumentException("Unknown environment: " + environment);
+        }
+        reported[column] = true;
+    }
+
+    /**
+     * Marks an environment whose lookups failed: its column may be missing resources that exist.
+     */
+    public void markFailed(String environment) {
+        Integer column = environmentIndex.get(environment);
+        if (column == null) {
+            throw new IllegalArgumentException("Unknown environment: " + environment);
+        }
+        failed[column] = true;
+    }
+
+    public boolean isFailed(int column) {
+        return failed[column];
+    }
+
+    /**
+     * A row is complete once every environment has either reported a version for it or finished.
+     */
+    public boolean isComplete(int row) {
+        int base = row * environments.size();
+        for (int column = 0; column < environments.size(); column++) {
+            if (versions[base + column] == null && !reported[column]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the complete rows not handed out by a previous call, in row order.
+     */
+    public List<Integer> takeCompletedRows() {
+        List<Integer> completed = new ArrayList<>();
+        for (int row = taken.nextClearBit(0); row < names.size(); row = taken.nextClearBit(row + 1)) {
+            if (isComplete(row)) {
+                taken.set(row);
+                completed.add(row);
+            }
+        }
+        return completed;
+    }
+
+    public void addAll(String environment, List<Resource> resources) {
+        for (Resource resource : resources) {
+            add(environment, resource);
+        }
+    }
+
+    /**
+     * Records a resource version; later reports for the same cell overwrite earlier ones. Each
+     * container of the resource gets a row of its own, named {@code <resource>/<container>} and
+     * typed by the resource's type, e.g. {@code Deployment/Container}.
+     *
+     * @return the row the resource was stored in
+     */
+    public int add(String environment, Resource resource) {
+        Integer column = environmentIndex.get(environment);
+        if (column == null) {
+            throw new IllegalArgumentException("Unknown environment: " + environment);
+        }
+
+        int row = rowFor(resource.getType(), resource.getName());
+        set(row, column, resource.getVersion());
+
+        for (int container = 0; container < resource.getContainerCount(); container++) {
+            int containerRow = rowFor(resource.getContainerType(container), resource.getContainerResourceName(container));
+            set(containerRow, column, resource.getContainerVersion(container));
+        }
+        return row;
+    }
+
+    private void set(int row, int column, String version) {
+        versions[row * environments.size() + column] = versionPool.computeIfAbsent(version != null ? version : "N/A", v -> v);
+    }
+
+    private int rowFor(String type, String name) {
+        Integer row = rowIndex.get(type + "|" + name);
+        if (row != null) {
+            return row;
+        }
+
+        int newRow = names.size();
+        rowIndex.put(type + "|" + name, newRow);
+        types.add(type);
+        names.add(name);
+
+        int required = (newRow + 1) * environments.size();
+        if (required > versions.length) {
+            versions = Arrays.copyOf(versions, Math.max(required, versions.length * 2));
+        }
+        return newRow;
+    }
+
+    public int getRowCount() {
+        return names.size();
+    }
+
+    public int getEnvironmentCount() {
+        return environments.size();
+    }
+
+    public List<String> getEnvironments() {
+        return environments;
+    }
+
+    public String getEnvironment(int column) {
+        return environments.get(column);
+    }
+
+    public String getType(int row) {
+        return types.get(row);
+    }
+
+    public String getName(int row) {
+        return names.get(row);
+    }
+
+    /**
+     * @return the version, or null if the resource was not reported in that environment
+     */
+    public String getVersion(int row, int column) {
+        return versions[row * environments.size() + column];
+    }
+}
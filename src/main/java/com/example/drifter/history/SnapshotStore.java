@@ -0,0 +1,376 @@
+package com.example.drifter.history;
+
+import com.example.drifter.drift.DriftMatrix;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Append-only, memory-mapped log of resource versions across runs.
+ * <p>
+ * The file starts with a header holding the committed length, followed by records: string
+ * definitions (ids are assigned in file order), run markers with a timestamp, and cell records
+ * of (type, name, environment, version) string ids. Each run appends only the cells that changed
+ * since the previous run, then advances the committed length, so a crash mid-write leaves the
+ * previous runs intact. On open the log is replayed into an in-memory index of each cell's
+ * version history, which answers "what changed" and "when did these match" without reading
+ * the file again.
+ */
+public class SnapshotStore implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotStore.class);
+
+    private static final int MAGIC = 0x44524654; // "DRFT"
+    private static final int FORMAT_VERSION = 1;
+    private static final int COMMITTED_LENGTH_OFFSET = 8;
+    private static final int HEADER_SIZE = 16;
+    private static final int GROWTH = 1 << 20;
+
+    private static final byte STRING_RECORD = 1;
+    private static final byte RUN_RECORD = 2;
+    private static final byte CELL_RECORD = 3;
+    private static final int ABSENT = -1;
+
+    private final Path file;
+    private final Clock clock;
+    private final FileChannel channel;
+    private final FileLock lock;
+    private MappedByteBuffer buffer;
+
+    private final List<String> strings = new ArrayList<>();
+    private final Map<String, Integer> stringIds = new HashMap<>();
+    private long[] runs = new long[16];
+    private int runCount;
+    private final Map<String, CellHistory> cells = new LinkedHashMap<>();
+
+    public SnapshotStore() throws IOException {
+        this(Paths.get(System.getProperty("user.home"), ".cache", "drifter", "history.dat"), Clock.systemUTC());
+    }
+
+    public SnapshotStore(Path file, Clock clock) throws IOException {
+        this.file = file;
+        this.clock = clock;
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            this.lock = channel.tryLock();
+            if (lock == null) {
+                throw new IOException("Snapshot store is in use by another drifter run: " + file);
+            }
+
+            if (channel.size() == 0) {
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + GROWTH);
+                buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(HEADER_SIZE);
+                buffer.force();
+            } else {
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+                replay();
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void replay() throws IOException {
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a drifter snapshot store: " + file);
+        }
+        if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Unsupported snapshot store version " + buffer.getInt(4) + ": " + file);
+        }
+
+        long committed = buffer.getLong(COMMITTED_LENGTH_OFFSET);
+        if (committed < HEADER_SIZE || committed > buffer.capacity()) {
+            throw new IOException("Corrupt snapshot store header: " + file);
+        }
+
+        buffer.position(HEADER_SIZE);
+        long run = 0;
+        while (buffer.position() < committed) {
+            byte tag = buffer.get();
+            switch (tag) {
+                case STRING_RECORD:
+                    byte[] bytes = new byte[buffer.getInt()];
+                    buffer.get(bytes);
+                    String value = new String(bytes, StandardCharsets.UTF_8);
+                    stringIds.put(value, strings.size());
+                    strings.add(value);
+                    break;
+                case RUN_RECORD:
+                    run = buffer.getLong();
+                    addRun(run);
+                    break;
+                case CELL_RECORD:
+                    int type = buffer.getInt();
+                    int name = buffer.getInt();
+                    int environment = buffer.getInt();
+                    int version = buffer.getInt();
+                    cellFor(strings.get(type), strings.get(name), strings.get(environment)).append(run, version);
+                    break;
+                default:
+                    throw new IOException("Corrupt snapshot store record at offset " + (buffer.position() - 1) + ": " + file);
+            }
+        }
+
+        // Anything past the committed length is an interrupted run and gets overwritten
+        buffer.position((int) committed);
+        logger.debug("Loaded {} runs and {} cells from {}", runCount, cells.size(), file);
+    }
+
+    /**
+     * Records the matrix as a new run and returns the cells that changed since the previous one.
+     * Environments marked as failed are skipped, so a failed lookup is not recorded as removals.
+     */
+    public synchronized List<VersionChange> record(DriftMatrix matrix) throws IOException {
+        // Run timestamps stay strictly increasing, so each run has its own slot in the cell histories
+        long run = runCount == 0 ? clock.millis() : Math.max(clock.millis(), runs[runCount - 1] + 1);
+        List<VersionChange> changes = diff(matrix);
+
+        int committedStrings = strings.size();
+        int committed = buffer.position();
+        try {
+            ensureCapacity(1 + Long.BYTES);
+            buffer.put(RUN_RECORD).putLong(run);
+
+            for (VersionChange change : changes) {
+                int type = intern(change.getType());
+                int name = intern(change.getName());
+                int environment = intern(change.getEnvironment());
+                int version = change.getVersion() != null ? intern(change.getVersion()) : ABSENT;
+
+                ensureCapacity(1 + 4 * Integer.BYTES);
+                buffer.put(CELL_RECORD).putInt(type).putInt(name).putInt(environment).putInt(version);
+            }
+
+            // Records reach the disk before the header points past them
+            buffer.force();
+            buffer.putLong(COMMITTED_LENGTH_OFFSET, buffer.position());
+            buffer.force();
+        } catch (IOException | RuntimeException e) {
+            for (String value : strings.subList(committedStrings, strings.size())) {
+                stringIds.remove(value);
+            }
+            strings.subList(committedStrings, strings.size()).clear();
+            buffer.position(committed);
+            throw e;
+        }
+
+        addRun(run);
+        for (VersionChange change : changes) {
+            int version = change.getVersion() != null ? stringIds.get(change.getVersion()) : ABSENT;
+            cellFor(change.getType(), change.getName(), change.getEnvironment()).append(run, version);
+        }
+        return changes;
+    }
+
+    private List<VersionChange> diff(DriftMatrix matrix) {
+        Set<String> rows = new HashSet<>();
+        for (int row = 0; row < matrix.getRowCount(); row++) {
+            rows.add(matrix.getType(row) + "|" + matrix.getName(row));
+        }
+
+        List<VersionChange> changes = new ArrayList<>();
+        for (int column = 0; column < matrix.getEnvironmentCount(); column++) {
+            if (matrix.isFailed(column)) {
+                continue;
+            }
+
+            String environment = matrix.getEnvironment(column);
+            for (int row = 0; row < matrix.getRowCount(); row++) {
+                String type = matrix.getType(row);
+                String name = matrix.getName(row);
+                String version = matrix.getVersion(row, column);
+                String previous = getVersion(type, name, environment);
+                if (!Objects.equals(previous, version)) {
+                    changes.add(new VersionChange(type, name, environment, previous, version));
+                }
+            }
+
+            // Resources that disappeared entirely are not rows of the new matrix
+            for (CellHistory cell : cells.values()) {
+                if (cell.environment.equals(environment) && cell.current() != ABSENT
+                        && !rows.contains(cell.type + "|" + cell.name)) {
+                    changes.add(new VersionChange(cell.type, cell.name, environment, strings.get(cell.current()), null));
+                }
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * @return the latest recorded version, or null if the resource is absent or was never seen
+     */
+    public synchronized String getVersion(String type, String name, String environment) {
+        CellHistory cell = cells.get(key(type, name, environment));
+        if (cell == null || cell.current() == ABSENT) {
+            return null;
+        }
+        return strings.get(cell.current());
+    }
+
+    /**
+     * Returns the time of the latest run in which both environments had the same version of the
+     * resource, or null if they never matched.
+     */
+    public synchronized Instant lastMatch(String type, String name, String environment, String otherEnvironment) {
+        CellHistory cell = cells.get(key(type, name, environment));
+        CellHistory other = cells.get(key(type, name, otherEnvironment));
+        if (cell == null || other == null) {
+            return null;
+        }
+
+        for (int i = runCount - 1; i >= 0; i--) {
+            int version = cell.versionAt(runs[i]);
+            if (version != ABSENT && version == other.versionAt(runs[i])) {
+                return Instant.ofEpochMilli(runs[i]);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the resource types recorded under this name, in first-seen order
+     */
+    public synchronized List<String> getTypes(String name) {
+        Set<String> types = new LinkedHashSet<>();
+        for (CellHistory cell : cells.values()) {
+            if (cell.name.equals(name)) {
+                types.add(cell.type);
+            }
+        }
+        return new ArrayList<>(types);
+    }
+
+    /**
+     * @return the time of the latest recorded run, or null if nothing was recorded yet
+     */
+    public synchronized Instant getLastRun() {
+        return runCount == 0 ? null : Instant.ofEpochMilli(runs[runCount - 1]);
+    }
+
+    public synchronized int getRunCount() {
+        return runCount;
+    }
+
+    private int intern(String value) throws IOException {
+        Integer id = stringIds.get(value);
+        if (id != null) {
+            return id;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        ensureCapacity(1 + Integer.BYTES + bytes.length);
+        buffer.put(STRING_RECORD).putInt(bytes.length).put(bytes);
+
+        stringIds.put(value, strings.size());
+        strings.add(value);
+        return strings.size() - 1;
+    }
+
+    private void ensureCapacity(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+
+        // Remapping a larger region extends the file; the old mapping is released once unreachable
+        int position = buffer.position();
+        long size = (long) buffer.capacity() + Math.max(GROWTH, bytes);
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot store is full: " + file);
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        buffer.position(position);
+    }
+
+    private void addRun(long run) {
+        if (runCount == runs.length) {
+            runs = Arrays.copyOf(runs, runs.length * 2);
+        }
+        runs[runCount++] = run;
+    }
+
+    private CellHistory cellFor(String type, String name, String environment) {
+        return cells.computeIfAbsent(key(type, name, environment), k -> new CellHistory(type, name, environment));
+    }
+
+    private static String key(String type, String name, String environment) {
+        return type + "|" + name + "|" + environment;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            buffer.force();
+            lock.release();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Version changes of one cell, as parallel arrays of run timestamps and version string ids.
+     */
+    private static class CellHistory {
+        private final String type;
+        private final String name;
+        private final String environment;
+        private long[] runs = new long[2];
+        private int[] versions = new int[2];
+        private int size;
+
+        CellHistory(String type, String name, String environment) {
+            this.type = type;
+            this.name = name;
+            this.environment = environment;
+        }
+
+        void append(long run, int version) {
+            if (size == runs.length) {
+                runs = Arrays.copyOf(runs, size * 2);
+                versions = Arrays.copyOf(versions, size * 2);
+            }
+            runs[size] = run;
+            versions[size] = version;
+            size++;
+        }
+
+        int current() {
+            return size == 0 ? ABSENT : versions[size - 1];
+        }
+
+        /**
+         * @return the version in effect at the given run, which is the last change at or before it
+         */
+        int versionAt(long run) {
+            int index = Arrays.binarySearch(runs, 0, size, run);
+            if (index < 0) {
+                index = -index - 2;
+            }
+            return index < 0 ? ABSENT : versions[index];
+        }
+    }
+}
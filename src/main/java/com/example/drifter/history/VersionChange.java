@@ -0,0 +1,46 @@
+package com.example.drifter.history;
+
+/**
+ * A cell of the drift matrix whose version differs from the previous recorded run.
+ * A null version means the resource was absent on that side.
+ */
+public class VersionChange {
+    private final String type;
+    private final String name;
+    private final String environment;
+    private final String previousVersion;
+    private final String version;
+
+    public VersionChange(String type, String name, String environment, String previousVersion, String version) {
+        this.type = type;
+        this.name = name;
+        this.environment = environment;
+        this.previousVersion = previousVersion;
+        this.version = version;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEnvironment() {
+        return environment;
+    }
+
+    public String getPreviousVersion() {
+        return previousVersion;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + name + " " + environment + ": " + previousVersion + " -> " + version;
+    }
+}
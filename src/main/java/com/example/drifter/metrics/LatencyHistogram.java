@@ -0,0 +1,85 @@
+package com.example.drifter.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with fixed buckets from 5 ms to 10 s, matching the usual
+ * Prometheus defaults. Percentiles are reported as the upper bound of the bucket they fall in;
+ * the maximum is exact.
+ */
+public class LatencyHistogram {
+    private static final long[] BOUNDS_MILLIS = {5, 10, 25, 50, 100, 250, 500, 1_000, 2_500, 5_000, 10_000};
+
+    private final AtomicLongArray counts = new AtomicLongArray(BOUNDS_MILLIS.length + 1);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public void record(long nanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        int bucket = 0;
+        while (bucket < BOUNDS_MILLIS.length && millis > BOUNDS_MILLIS[bucket]) {
+            bucket++;
+        }
+
+        counts.incrementAndGet(bucket);
+        count.increment();
+        sumNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSumNanos() {
+        return sumNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * @return upper bound in nanoseconds of the bucket holding the given quantile, the maximum
+     * for the overflow bucket, or 0 if nothing was recorded
+     */
+    public long getPercentileNanos(double quantile) {
+        long total = getCount();
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int bucket = 0; bucket < BOUNDS_MILLIS.length; bucket++) {
+            seen += counts.get(bucket);
+            if (seen >= rank) {
+                return Math.min(TimeUnit.MILLISECONDS.toNanos(BOUNDS_MILLIS[bucket]), getMaxNanos());
+            }
+        }
+        return getMaxNanos();
+    }
+
+    public static int getBucketCount() {
+        return BOUNDS_MILLIS.length;
+    }
+
+    public static long getBucketBoundMillis(int bucket) {
+        return BOUNDS_MILLIS[bucket];
+    }
+
+    /**
+     * @return observations at or below the bucket's bound, as Prometheus expects
+     */
+    public long getCumulativeCount(int bucket) {
+        long cumulative = 0;
+        for (int i = 0; i <= bucket; i++) {
+            cumulative += counts.get(i);
+        }
+        return cumulative;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.drifter.metrics;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * The view of {@link ScanMetrics} a finder records into: every call is attributed to the
+ * scope's environment and resource type and to the API name passed in.
+ */
+public class MetricsScope {
+    private static final MetricsScope DISABLED = new MetricsScope(null, null, null);
+
+    @FunctionalInterface
+    public interface Call<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    private final ScanMetrics metrics;
+    private final String environment;
+    private final String resourceType;
+
+    MetricsScope(ScanMetrics metrics, String environment, String resourceType) {
+        this.metrics = metrics;
+        this.environment = environment;
+        this.resourceType = resourceType;
+    }
+
+    /**
+     * A scope that records nothing, for finders created without metrics.
+     */
+    public static MetricsScope disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Runs the call and records its latency, and an error if it throws.
+     */
+    public <T, E extends Exception> T time(String api, Call<T, E> call) throws E {
+        if (metrics == null) {
+            return call.call();
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            T result = call.call();
+            failed = false;
+            return result;
+        } finally {
+            metrics.record(environment, resourceType, api, System.nanoTime() - start, failed);
+        }
+    }
+
+    /**
+     * Records the time from starting the operation until its future completes.
+     */
+    public <T> CompletableFuture<T> timeAsync(String api, Supplier<CompletableFuture<T>> operation) {
+        if (metrics == null) {
+            return operation.get();
+        }
+
+        long start = System.nanoTime();
+        return operation.get().whenComplete((result, e) ->
+                metrics.record(environment, resourceType, api, System.nanoTime() - start, e != null));
+    }
+
+    public void retry(String api) {
+        if (metrics != null) {
+            metrics.recordRetry(environment, resourceType, api);
+        }
+    }
+}
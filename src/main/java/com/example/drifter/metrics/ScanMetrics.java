@@ -0,0 +1,156 @@
+package com.example.drifter.metrics;
+
+import com.example.drifter.output.AtomicFiles;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency, call, error and retry counts of a scan, broken down by environment, resource type
+ * and API. Recording is lock-free; series are created on first use and kept sorted for output.
+ */
+public class ScanMetrics {
+    private static final String DURATION_METRIC = "drifter_api_call_duration_seconds";
+    private static final String ERRORS_METRIC = "drifter_api_call_errors_total";
+    private static final String RETRIES_METRIC = "drifter_api_call_retries_total";
+
+    private final Map<String, ApiMetrics> series = new ConcurrentSkipListMap<>();
+
+    public MetricsScope scope(String environment, String resourceType) {
+        return new MetricsScope(this, environment, resourceType);
+    }
+
+    void record(String environment, String resourceType, String api, long nanos, boolean failed) {
+        ApiMetrics metrics = seriesFor(environment, resourceType, api);
+        metrics.latency.record(nanos);
+        if (failed) {
+            metrics.errors.increment();
+        }
+    }
+
+    void recordRetry(String environment, String resourceType, String api) {
+        seriesFor(environment, resourceType, api).retries.increment();
+    }
+
+    private ApiMetrics seriesFor(String environment, String resourceType, String api) {
+        return series.computeIfAbsent(environment + "|" + resourceType + "|" + api,
+                key -> new ApiMetrics(environment, resourceType, api));
+    }
+
+    /**
+     * @return every series, ordered by environment, resource type and API
+     */
+    public List<ApiMetrics> getSeries() {
+        return new ArrayList<>(series.values());
+    }
+
+    /**
+     * Writes the metrics in the Prometheus text exposition format.
+     */
+    public void writePrometheus(Writer writer) throws IOException {
+        List<ApiMetrics> snapshot = getSeries();
+
+        writer.write("# HELP " + DURATION_METRIC + " Latency of API calls made by drifter, including retries.\n");
+        writer.write("# TYPE " + DURATION_METRIC + " histogram\n");
+        for (ApiMetrics metrics : snapshot) {
+            String labels = metrics.labels();
+            LatencyHistogram latency = metrics.latency;
+            for (int bucket = 0; bucket < LatencyHistogram.getBucketCount(); bucket++) {
+                double bound = LatencyHistogram.getBucketBoundMillis(bucket) / 1000d;
+                writer.write(DURATION_METRIC + "_bucket{" + labels + ",le=\"" + bound + "\"} "
+                        + latency.getCumulativeCount(bucket) + "\n");
+            }
+            writer.write(DURATION_METRIC + "_bucket{" + labels + ",le=\"+Inf\"} " + latency.getCount() + "\n");
+            writer.write(DURATION_METRIC + "_sum{" + labels + "} " + latency.getSumNanos() / 1e9 + "\n");
+            writer.write(DURATION_METRIC + "_count{" + labels + "} " + latency.getCount() + "\n");
+        }
+
+        writer.write("# HELP " + ERRORS_METRIC + " API calls that failed after any retries.\n");
+        writer.write("# TYPE " + ERRORS_METRIC + " counter\n");
+        for (ApiMetrics metrics : snapshot) {
+            writer.write(ERRORS_METRIC + "{" + metrics.labels() + "} " + metrics.getErrors() + "\n");
+        }
+
+        writer.write("# HELP " + RETRIES_METRIC + " API calls retried after throttling.\n");
+        writer.write("# TYPE " + RETRIES_METRIC + " counter\n");
+        for (ApiMetrics metrics : snapshot) {
+            writer.write(RETRIES_METRIC + "{" + metrics.labels() + "} " + metrics.getRetries() + "\n");
+        }
+    }
+
+    /**
+     * Replaces the file atomically, so a scraper or node exporter never reads a partial file.
+     */
+    public void writePrometheus(Path file) throws IOException {
+        AtomicFiles.write(file, out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writePrometheus(writer);
+            writer.flush();
+        });
+    }
+
+    public static class ApiMetrics {
+        private final String environment;
+        private final String resourceType;
+        private final String api;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+
+        ApiMetrics(String environment, String resourceType, String api) {
+            this.environment = environment;
+            this.resourceType = resourceType;
+            this.api = api;
+        }
+
+        public String getEnvironment() {
+            return environment;
+        }
+
+        public String getResourceType() {
+            return resourceType;
+        }
+
+        public String getApi() {
+            return api;
+        }
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        public long getCalls() {
+            return latency.getCount();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        public long getRetries() {
+            return retries.sum();
+        }
+
+        public long getTotalMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(latency.getSumNanos());
+        }
+
+        private String labels() {
+            return "env=\"" + escape(environment) + "\",type=\"" + escape(resourceType) + "\",api=\"" + escape(api) + "\"";
+        }
+
+        private static String escape(String value) {
+            return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+        }
+    }
+}
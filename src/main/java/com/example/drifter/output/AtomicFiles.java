@@ -0,0 +1,46 @@
+package com.example.drifter.output;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Replaces files that another process may be reading at the same time: the caches under
+ * {@code ~/.cache/drifter} and the Prometheus metrics file.
+ */
+public final class AtomicFiles {
+
+    @FunctionalInterface
+    public interface Content {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    private AtomicFiles() {}
+
+    /**
+     * Writes the content to a temporary file next to {@code file}, then moves it into place, so a
+     * reader sees either the previous content or the new one, never a partial write. The
+     * temporary file is removed if the write or the move fails.
+     */
+    public static void write(Path file, Content content) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                content.writeTo(out);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public static void writeJson(ObjectMapper objectMapper, Path file, Object value) throws IOException {
+        write(file, out -> objectMapper.writeValue(out, value));
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.drifter.output;
+
+import com.example.drifter.drift.DriftClassifier;
+import com.example.drifter.drift.DriftMatrix;
+import com.example.drifter.history.VersionChange;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Streams drift matrix rows to an output stream as they become available, either as one JSON
+ * array or as newline-delimited JSON objects. Nothing is buffered beyond the current row, and
+ * the target stream is flushed but never closed.
+ */
+public class DriftJsonWriter implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public enum Format {
+        JSON,
+        NDJSON
+    }
+
+    private final JsonGenerator generator;
+    private final Format format;
+    private boolean written;
+
+    public DriftJsonWriter(OutputStream out, Format format) throws IOException {
+        this.format = format;
+
+        JsonFactory factory = new JsonFactory();
+        factory.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator = factory.createGenerator(new BufferedOutputStream(out, BUFFER_SIZE), JsonEncoding.UTF8);
+
+        if (format == Format.JSON) {
+            generator.useDefaultPrettyPrinter();
+            generator.writeStartArray();
+        } else {
+            generator.setRootValueSeparator(new SerializedString("\n"));
+        }
+    }
+
+    public void writeRow(DriftMatrix matrix, int row) throws IOException {
+        writeRow(matrix, row, null);
+    }
+
+    /**
+     * @param classifier adds the row's drift status and that of each drifted environment; the row
+     *                   must already be classified
+     */
+    public void writeRow(DriftMatrix matrix, int row, DriftClassifier classifier) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("name", matrix.getName(row));
+        generator.writeStringField("type", matrix.getType(row));
+
+        generator.writeObjectFieldStart("versions");
+        for (int column = 0; column < matrix.getEnvironmentCount(); column++) {
+            String version = matrix.getVersion(row, column);
+            if (version != null) {
+                generator.writeStringField(matrix.getEnvironment(column), version);
+            }
+        }
+        generator.writeEndObject();
+
+        if (classifier != null) {
+            generator.writeStringField("status", classifier.getRowStatus(row).label());
+            generator.writeObjectFieldStart("drift");
+            for (int column = 0; column < matrix.getEnvironmentCount(); column++) {
+                DriftClassifier.Status status = classifier.getStatus(row, column);
+                if (status != DriftClassifier.Status.IN_SYNC) {
+                    generator.writeStringField(matrix.getEnvironment(column), status.label());
+                }
+            }
+            generator.writeEndObject();
+        }
+
+        generator.writeEndObject();
+        written = true;
+
+        if (format == Format.NDJSON) {
+            // Each line is usable downstream as soon as it is written
+            generator.flush();
+        }
+    }
+
+    public void writeChange(VersionChange change) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("name", change.getName());
+        generator.writeStringField("type", change.getType());
+        generator.writeStringField("env", change.getEnvironment());
+        generator.writeStringField("previous", change.getPreviousVersion());
+        generator.writeStringField("version", change.getVersion());
+        generator.writeEndObject();
+        written = true;
+
+        if (format == Format.NDJSON) {
+            generator.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (format == Format.JSON) {
+            generator.writeEndArray();
+        }
+        // Empty NDJSON output stays empty rather than a blank line
+        if (format == Format.JSON || written) {
+            generator.writeRaw('\n');
+        }
+        generator.close();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.drifter.resource;
+
+import com.example.drifter.client.ClientRegistry;
+import com.example.drifter.client.Throttler;
+import com.example.drifter.config.Environment;
+import com.example.drifter.metrics.MetricsScope;
+
+import java.util.concurrent.Executor;
+
+/**
+ * What a {@link ResourceFinderProvider} gets to build a finder for one environment: the shared
+ * clients, the executor sized to the finder's concurrency budget, its rate limit and its metrics.
+ */
+public class FinderContext {
+    private final Environment environment;
+    private final ClientRegistry clients;
+    private final Executor executor;
+    private final Throttler throttler;
+    private final MetricsScope metrics;
+
+    public FinderContext(Environment environment, ClientRegistry clients, Executor executor, Throttler throttler,
+                         MetricsScope metrics) {
+        this.environment = environment;
+        this.clients = clients;
+        this.executor = executor;
+        this.throttler = throttler;
+        this.metrics = metrics;
+    }
+
+    public Environment getEnvironment() {
+        return environment;
+    }
+
+    public ClientRegistry getClients() {
+        return clients;
+    }
+
+    /**
+     * Runs the finder's blocking API calls.
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public Throttler getThrottler() {
+        return throttler;
+    }
+
+    public MetricsScope getMetrics() {
+        return metrics;
+    }
+}
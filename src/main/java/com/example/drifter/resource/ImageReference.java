@@ -0,0 +1,244 @@
+package com.example.drifter.resource;
+
+/**
+ * A container image reference, {@code [registry/]repository[:tag][@digest]}, parsed in one pass
+ * over the string.
+ * <p>
+ * The parser records offsets into the original reference instead of cutting it up, so parsing
+ * creates no strings; the getters substring on demand. A tag of the form
+ * {@code [v]MAJOR.MINOR.PATCH[-pre-release][+build]} is also read as a semantic version. The
+ * version ends at the first character it cannot contain, so {@code 1.2.3_20240101} reads as
+ * {@code 1.2.3}; only a fourth number, as in {@code 1.2.3.4}, makes the tag non-semantic.
+ */
+public final class ImageReference {
+    private static final int MAX_VERSION_DIGITS = 9;
+
+    private final String image;
+    private int registryEnd = -1;
+    private int repositoryStart;
+    private int repositoryEnd;
+    private int tagStart = -1;
+    private int tagEnd = -1;
+    private int digestStart = -1;
+
+    private int versionStart = -1;
+    private int versionEnd = -1;
+    private int preReleaseStart = -1;
+    private int major = -1;
+    private int minor = -1;
+    private int patch = -1;
+
+    private ImageReference(String image) {
+        this.image = image;
+    }
+
+    public static ImageReference parse(String image) {
+        ImageReference reference = new ImageReference(image);
+        reference.parseReference();
+        return reference;
+    }
+
+    /**
+     * @return the semantic version of the image tag, or N/A for a missing image, digest-only
+     * references and tags such as {@code latest} that carry no version
+     */
+    public static String versionOf(String image) {
+        if (image == null) {
+            return "N/A";
+        }
+        ImageReference reference = parse(image);
+        return reference.hasSemanticVersion() ? reference.getVersion() : "N/A";
+    }
+
+    private void parseReference() {
+        int length = image.length();
+        int firstSlash = -1;
+        int lastSlash = -1;
+        int lastColon = -1;
+        int nameEnd = length;
+        boolean hostLike = false;
+
+        for (int i = 0; i < length; i++) {
+            char c = image.charAt(i);
+            if (c == '@') {
+                nameEnd = i;
+                digestStart = i + 1;
+                break;
+            } else if (c == '/') {
+                if (firstSlash < 0) {
+                    firstSlash = i;
+                }
+                lastSlash = i;
+            } else if (c == ':') {
+                lastColon = i;
+                if (firstSlash < 0) {
+                    hostLike = true;
+                }
+            } else if (c == '.' && firstSlash < 0) {
+                hostLike = true;
+            }
+        }
+
+        // Only a first component that looks like a host is a registry; "team/app" is a repository path
+        if (firstSlash > 0 && (hostLike || image.startsWith("localhost/"))) {
+            registryEnd = firstSlash;
+            repositoryStart = firstSlash + 1;
+        }
+
+        // A colon before the last slash belongs to the registry port, not to a tag
+        if (lastColon > lastSlash && lastColon < nameEnd) {
+            repositoryEnd = lastColon;
+            tagStart = lastColon + 1;
+            tagEnd = nameEnd;
+            parseVersion();
+        } else {
+            repositoryEnd = nameEnd;
+        }
+    }
+
+    private void parseVersion() {
+        int i = tagStart;
+        if (i < tagEnd && (image.charAt(i) == 'v' || image.charAt(i) == 'V')) {
+            i++;
+        }
+        int start = i;
+
+        int majorEnd = skipNumber(start);
+        if (majorEnd < 0 || majorEnd >= tagEnd || image.charAt(majorEnd) != '.') {
+            return;
+        }
+        int minorEnd = skipNumber(majorEnd + 1);
+        if (minorEnd < 0 || minorEnd >= tagEnd || image.charAt(minorEnd) != '.') {
+            return;
+        }
+        int patchEnd = skipNumber(minorEnd + 1);
+        if (patchEnd < 0) {
+            return;
+        }
+        i = patchEnd;
+
+        int preStart = -1;
+        if (i < tagEnd && image.charAt(i) == '-') {
+            preStart = ++i;
+            while (i < tagEnd && isIdentifierChar(image.charAt(i))) {
+                i++;
+            }
+            if (i == preStart) {
+                return;
+            }
+        }
+        int end = i;
+
+        if (i < tagEnd && image.charAt(i) == '+') {
+            i++;
+            int buildStart = i;
+            while (i < tagEnd && isIdentifierChar(image.charAt(i))) {
+                i++;
+            }
+            if (i == buildStart) {
+                return;
+            }
+        }
+
+        // A fourth number is another versioning scheme; any other trailing text, such as a
+        // _20240101 build stamp, ends the version, as with the regex this parser replaced
+        if (i < tagEnd && image.charAt(i) == '.') {
+            return;
+        }
+
+        versionStart = start;
+        versionEnd = end;
+        preReleaseStart = preStart;
+        major = numberValue(start, majorEnd);
+        minor = numberValue(majorEnd + 1, minorEnd);
+        patch = numberValue(minorEnd + 1, patchEnd);
+    }
+
+    /**
+     * @return the index after the digits starting at {@code from}, or -1 if there are none or too many
+     */
+    private int skipNumber(int from) {
+        int i = from;
+        while (i < tagEnd && isDigit(image.charAt(i))) {
+            i++;
+        }
+        return i == from || i - from > MAX_VERSION_DIGITS ? -1 : i;
+    }
+
+    private int numberValue(int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            value = value * 10 + (image.charAt(i) - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isIdentifierChar(char c) {
+        return isDigit(c) || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '-' || c == '.';
+    }
+
+    /**
+     * @return the registry host and optional port, or null for the default registry
+     */
+    public String getRegistry() {
+        return registryEnd < 0 ? null : image.substring(0, registryEnd);
+    }
+
+    public String getRepository() {
+        return image.substring(repositoryStart, repositoryEnd);
+    }
+
+    /**
+     * @return the tag, or null if the reference has none
+     */
+    public String getTag() {
+        return tagStart < 0 ? null : image.substring(tagStart, tagEnd);
+    }
+
+    /**
+     * @return the digest including its algorithm, e.g. {@code sha256:...}, or null
+     */
+    public String getDigest() {
+        return digestStart < 0 ? null : image.substring(digestStart);
+    }
+
+    public boolean hasSemanticVersion() {
+        return versionStart >= 0;
+    }
+
+    /**
+     * @return the semantic version of the tag without a leading {@code v} and build metadata,
+     * e.g. {@code 2.0.0-SNAPSHOT-20240101.1-a1b2c3d}, or null if the tag is not one
+     */
+    public String getVersion() {
+        return versionStart < 0 ? null : image.substring(versionStart, versionEnd);
+    }
+
+    public int getMajor() {
+        return major;
+    }
+
+    public int getMinor() {
+        return minor;
+    }
+
+    public int getPatch() {
+        return patch;
+    }
+
+    /**
+     * @return the pre-release part of the version, or null for a release version
+     */
+    public String getPreRelease() {
+        return preReleaseStart < 0 ? null : image.substring(preReleaseStart, versionEnd);
+    }
+
+    @Override
+    public String toString() {
+        return image;
+    }
+}
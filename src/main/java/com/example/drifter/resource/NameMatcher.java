@@ -0,0 +1,274 @@
+package com.example.drifter.resource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * A set of include or exclude patterns compiled once and matched against many resource names.
+ * <p>
+ * Patterns keep their regular expression meaning (the whole name must match), but the common
+ * shapes skip the regex engine: plain names go into a hash set, {@code name.*} and
+ * {@code .*name} into prefix and reversed-suffix tries, and {@code .*name.*} into a contains
+ * check. The remaining true regular expressions are fused into a single alternation whose
+ * matcher is reused per thread, so matching a name allocates nothing. Expressions with back
+ * references or named groups are matched on their own, since fusing renumbers groups.
+ */
+public final class NameMatcher {
+    private static final NameMatcher EMPTY = new NameMatcher();
+    private static final String METACHARACTERS = ".*+?^$()[]{}|";
+
+    private final Set<String> literals = new HashSet<>();
+    private final CharTrie prefixes = new CharTrie();
+    private final CharTrie suffixes = new CharTrie();
+    private final List<String> fragments = new ArrayList<>();
+    private final List<Pattern> regexes = new ArrayList<>();
+    private ThreadLocal<Matcher[]> matchers;
+    private boolean matchesAll;
+    private int patternCount;
+
+    private NameMatcher() {
+    }
+
+    /**
+     * @param patterns regular expressions matched against the whole name; null or empty yields a
+     *                 matcher that matches nothing
+     * @throws IllegalArgumentException if a pattern is not a valid regular expression
+     */
+    public static NameMatcher compile(Collection<String> patterns) {
+        if (patterns == null || patterns.isEmpty()) {
+            return EMPTY;
+        }
+
+        NameMatcher matcher = new NameMatcher();
+        List<String> expressions = new ArrayList<>();
+        for (String pattern : patterns) {
+            matcher.add(pattern, expressions);
+        }
+        matcher.patternCount = patterns.size();
+        matcher.compileRegexes(expressions);
+        return matcher;
+    }
+
+    private void add(String pattern, List<String> expressions) {
+        String body = pattern;
+        if (body.startsWith("^")) {
+            body = body.substring(1);
+        }
+        if (body.endsWith("$") && !body.endsWith("\\$")) {
+            body = body.substring(0, body.length() - 1);
+        }
+
+        if (body.equals(".*")) {
+            matchesAll = true;
+            return;
+        }
+
+        boolean anyBefore = body.startsWith(".*");
+        String core = anyBefore ? body.substring(2) : body;
+        boolean anyAfter = core.endsWith(".*") && !core.endsWith("\\.*");
+        if (anyAfter) {
+            core = core.substring(0, core.length() - 2);
+        }
+
+        String literal = unescapeLiteral(core);
+        if (literal == null) {
+            expressions.add(pattern);
+        } else if (anyBefore && anyAfter) {
+            fragments.add(literal);
+        } else if (anyAfter) {
+            prefixes.add(literal, false);
+        } else if (anyBefore) {
+            suffixes.add(literal, true);
+        } else {
+            literals.add(literal);
+        }
+    }
+
+    /**
+     * @return the literal text, or null if the pattern uses any regular expression feature
+     */
+    private static String unescapeLiteral(String pattern) {
+        StringBuilder literal = new StringBuilder(pattern.length());
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\\') {
+                // Escaped punctuation is literal; \d, \w, back references and the like are not
+                if (i + 1 >= pattern.length() || Character.isLetterOrDigit(pattern.charAt(i + 1))) {
+                    return null;
+                }
+                literal.append(pattern.charAt(++i));
+            } else if (METACHARACTERS.indexOf(c) >= 0) {
+                return null;
+            } else {
+                literal.append(c);
+            }
+        }
+        return literal.toString();
+    }
+
+    private void compileRegexes(List<String> expressions) {
+        try {
+            for (String expression : expressions) {
+                Pattern.compile(expression);
+            }
+        } catch (PatternSyntaxException e) {
+            throw new IllegalArgumentException("Invalid name pattern '" + e.getPattern() + "': " + e.getDescription(), e);
+        }
+
+        if (expressions.isEmpty()) {
+            return;
+        }
+
+        // Fusing renumbers capture groups, so a back reference would point at another pattern's
+        // group; patterns with back references or named groups keep a pattern of their own
+        List<String> fusable = new ArrayList<>();
+        for (String expression : expressions) {
+            if (hasBackReferenceOrNamedGroup(expression)) {
+                regexes.add(Pattern.compile(expression));
+            } else {
+                fusable.add(expression);
+            }
+        }
+
+        if (fusable.size() == 1) {
+            regexes.add(Pattern.compile(fusable.get(0)));
+        } else if (!fusable.isEmpty()) {
+            StringBuilder alternation = new StringBuilder();
+            for (String expression : fusable) {
+                alternation.append(alternation.length() == 0 ? "" : "|").append("(?:").append(expression).append(')');
+            }
+            regexes.add(Pattern.compile(alternation.toString()));
+        }
+
+        matchers = ThreadLocal.withInitial(() -> {
+            Matcher[] perThread = new Matcher[regexes.size()];
+            for (int i = 0; i < perThread.length; i++) {
+                perThread[i] = regexes.get(i).matcher("");
+            }
+            return perThread;
+        });
+    }
+
+    /**
+     * @return whether the expression has a numbered or named back reference ({@code \1},
+     * {@code \k<name>}) or a named group; escaped backslashes are skipped
+     */
+    static boolean hasBackReferenceOrNamedGroup(String expression) {
+        for (int i = 0; i < expression.length() - 1; i++) {
+            char c = expression.charAt(i);
+            char next = expression.charAt(i + 1);
+            if (c == '\\') {
+                if ((next >= '1' && next <= '9') || next == 'k') {
+                    return true;
+                }
+                i++;
+            } else if (c == '(' && expression.startsWith("?<", i + 1) && i + 3 < expression.length()
+                    && Character.isLetter(expression.charAt(i + 3))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean matches(String name) {
+        if (matchesAll || literals.contains(name) || prefixes.matches(name, false) || suffixes.matches(name, true)) {
+            return true;
+        }
+
+        for (int i = 0; i < fragments.size(); i++) {
+            if (name.contains(fragments.get(i))) {
+                return true;
+            }
+        }
+
+        if (matchers != null) {
+            for (Matcher matcher : matchers.get()) {
+                if (matcher.reset(name).matches()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public boolean isEmpty() {
+        return patternCount == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "NameMatcher{" +
+                "patterns=" + patternCount +
+                ", literals=" + literals.size() +
+                ", prefixes=" + prefixes.size +
+                ", suffixes=" + suffixes.size +
+                ", fragments=" + fragments.size() +
+                ", regexes=" + regexes.size() +
+                '}';
+    }
+
+    /**
+     * Character trie answering "does the name start (or end) with any of the added strings",
+     * with children kept in sorted arrays so a lookup walks the name without allocating.
+     */
+    private static class CharTrie {
+        private char[] keys = new char[0];
+        private CharTrie[] children = new CharTrie[0];
+        private boolean terminal;
+        private int size;
+
+        void add(String value, boolean reverse) {
+            size++;
+            CharTrie node = this;
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(reverse ? value.length() - 1 - i : i);
+                int index = Arrays.binarySearch(node.keys, c);
+                if (index < 0) {
+                    index = -index - 1;
+                    node.keys = insert(node.keys, index, c);
+                    CharTrie[] children = new CharTrie[node.children.length + 1];
+                    System.arraycopy(node.children, 0, children, 0, index);
+                    System.arraycopy(node.children, index, children, index + 1, node.children.length - index);
+                    children[index] = new CharTrie();
+                    node.children = children;
+                }
+                node = node.children[index];
+            }
+            node.terminal = true;
+        }
+
+        boolean matches(String name, boolean reverse) {
+            if (size == 0) {
+                return false;
+            }
+
+            CharTrie node = this;
+            for (int i = 0; i < name.length(); i++) {
+                if (node.terminal) {
+                    return true;
+                }
+                int index = Arrays.binarySearch(node.keys, name.charAt(reverse ? name.length() - 1 - i : i));
+                if (index < 0) {
+                    return false;
+                }
+                node = node.children[index];
+            }
+            return node.terminal;
+        }
+
+        private static char[] insert(char[] keys, int index, char c) {
+            char[] result = new char[keys.length + 1];
+            System.arraycopy(keys, 0, result, 0, index);
+            result[index] = c;
+            System.arraycopy(keys, index, result, index + 1, keys.length - index);
+            return result;
+        }
+    }
+}
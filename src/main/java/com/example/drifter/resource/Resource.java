@@ -1,12 +1,22 @@
 package com.example.drifter.resource;
 
+import java.util.Arrays;
 import java.util.Objects;
 
 public class Resource {
+    public static final String CONTAINER_TYPE = "Container";
+    public static final String INIT_CONTAINER_TYPE = "InitContainer";
+
+    private static final String[] NO_CONTAINERS = new String[0];
+
     private String type;
     private String name;
     private String version;
 
+    // Sub-resources as flat (name, version) pairs, init containers first, instead of one object each
+    private String[] containers = NO_CONTAINERS;
+    private int initContainers;
+
     public Resource() {}
 
     public Resource(String type, String name, String version) {
@@ -15,6 +25,19 @@ public class Resource {
         this.version = version;
     }
 
+    /**
+     * @param containers     names and versions of the workload's other containers, alternating
+     * @param initContainers how many of the leading pairs are init containers
+     */
+    public Resource(String type, String name, String version, String[] containers, int initContainers) {
+        this(type, name, version);
+        if (containers.length % 2 != 0 || initContainers < 0 || initContainers * 2 > containers.length) {
+            throw new IllegalArgumentException("Containers must be name and version pairs");
+        }
+        this.containers = containers.length == 0 ? NO_CONTAINERS : containers;
+        this.initContainers = initContainers;
+    }
+
     public String getType() {
         return type;
     }
@@ -39,6 +62,42 @@ public class Resource {
         this.version = version;
     }
 
+    /**
+     * @return the number of sub-resources: the containers and init containers besides the one
+     * the resource version was read from
+     */
+    public int getContainerCount() {
+        return containers.length / 2;
+    }
+
+    public String getContainerName(int index) {
+        return containers[index * 2];
+    }
+
+    public String getContainerVersion(int index) {
+        return containers[index * 2 + 1];
+    }
+
+    public boolean isInitContainer(int index) {
+        return index < initContainers;
+    }
+
+    /**
+     * @return {@link #CONTAINER_TYPE} or {@link #INIT_CONTAINER_TYPE} qualified by the resource's
+     * own type, e.g. {@code Deployment/Container}, so containers of a Deployment and an EcsService
+     * with the same name do not share a row
+     */
+    public String getContainerType(int index) {
+        return type + "/" + (isInitContainer(index) ? INIT_CONTAINER_TYPE : CONTAINER_TYPE);
+    }
+
+    /**
+     * @return the name a sub-resource is tracked under, {@code <resource>/<container>}
+     */
+    public String getContainerResourceName(int index) {
+        return name + "/" + getContainerName(index);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -46,12 +105,14 @@ public class Resource {
         Resource resource = (Resource) o;
         return Objects.equals(type, resource.type) &&
                Objects.equals(name, resource.name) &&
-               Objects.equals(version, resource.version);
+               Objects.equals(version, resource.version) &&
+               initContainers == resource.initContainers &&
+               Arrays.equals(containers, resource.containers);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(type, name, version);
+        return 31 * Objects.hash(type, name, version, initContainers) + Arrays.hashCode(containers);
     }
 
     @Override
@@ -60,6 +121,7 @@ public class Resource {
                 "type='" + type + '\'' +
                 ", name='" + name + '\'' +
                 ", version='" + version + '\'' +
+                (containers.length > 0 ? ", containers=" + Arrays.toString(containers) : "") +
                 '}';
     }
 }
@@ -0,0 +1,11 @@
+package com.example.drifter.resource;
+
+/**
+ * Receives version changes from long-running watches.
+ */
+public interface ResourceChangeListener {
+    /**
+     * @param version the new version, or null when the resource no longer exists
+     */
+    void onChange(String type, String name, String version);
+}
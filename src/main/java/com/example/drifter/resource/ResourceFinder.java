@@ -4,18 +4,15 @@ import com.example.drifter.config.ResourceConfig;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.regex.Pattern;
 
 public interface ResourceFinder {
     CompletableFuture<List<Resource>> findResources(ResourceConfig config);
 
+    /**
+     * Compiles the patterns on every call; finders checking many names compile a
+     * {@link NameMatcher} once per scan instead.
+     */
     default boolean isExcluded(String name, List<String> excludePatterns) {
-        if (excludePatterns == null || excludePatterns.isEmpty()) {
-            return false;
-        }
-
-        return excludePatterns.stream()
-                .map(Pattern::compile)
-                .anyMatch(pattern -> pattern.matcher(name).matches());
+        return NameMatcher.compile(excludePatterns).matches(name);
     }
 }
@@ -0,0 +1,94 @@
+package com.example.drifter.resource;
+
+import com.example.drifter.client.ClientRegistry;
+import com.example.drifter.client.Throttler;
+import com.example.drifter.config.DrifterConfig;
+import com.example.drifter.config.Environment;
+import com.example.drifter.config.ResourceConfig;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * Plugs a {@link ResourceFinder} into drifter. Providers are discovered with {@link ServiceLoader}
+ * from {@code META-INF/services/com.example.drifter.resource.ResourceFinderProvider}; each one
+ * reads the configuration section named by {@link #configKey()} and declares how hard its finder
+ * may call its API in one environment.
+ */
+public interface ResourceFinderProvider {
+
+    /**
+     * @return the configuration section the finder reads, e.g. lambdas
+     */
+    String configKey();
+
+    /**
+     * @return the resource type the finder reports, which also names its executor and metrics, e.g. Lambda
+     */
+    String resourceType();
+
+    /**
+     * @return lookups the finder runs at once per environment unless the section or environment sets {@code concurrency}
+     */
+    int defaultConcurrency();
+
+    /**
+     * @return the rate limit shared by every finder calling the same API quota as this one
+     */
+    Throttler throttler(Environment env, ClientRegistry clients);
+
+    ResourceFinder create(FinderContext context);
+
+    /**
+     * @return the section's {@code concurrency}, else the environment's, else {@link #defaultConcurrency()}
+     */
+    default int concurrency(Environment env, ResourceConfig config) {
+        if (config.getConcurrency() != null) {
+            return config.getConcurrency();
+        }
+        return env.getConcurrency() != null ? env.getConcurrency() : defaultConcurrency();
+    }
+
+    /**
+     * @return every provider on the class path, in discovery order
+     * @throws IllegalStateException if two providers claim the same configuration section
+     */
+    static List<ResourceFinderProvider> loadAll() {
+        List<ResourceFinderProvider> providers = new ArrayList<>();
+        Map<String, ResourceFinderProvider> byKey = new HashMap<>();
+        for (ResourceFinderProvider provider : ServiceLoader.load(ResourceFinderProvider.class)) {
+            ResourceFinderProvider previous = byKey.putIfAbsent(provider.configKey(), provider);
+            if (previous != null) {
+                throw new IllegalStateException("Configuration section '" + provider.configKey() + "' is claimed by both "
+                        + previous.getClass().getName() + " and " + provider.getClass().getName());
+            }
+            providers.add(provider);
+        }
+        return providers;
+    }
+
+    /**
+     * @return the providers of the sections present in the configuration, in discovery order
+     * @throws IllegalArgumentException if a section has no provider, e.g. a misspelt key
+     */
+    static List<ResourceFinderProvider> forConfig(DrifterConfig config) {
+        List<ResourceFinderProvider> providers = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        for (ResourceFinderProvider provider : loadAll()) {
+            keys.add(provider.configKey());
+            if (config.getResourceConfig(provider.configKey()) != null) {
+                providers.add(provider);
+            }
+        }
+
+        for (String key : config.getResourceConfigs().keySet()) {
+            if (!keys.contains(key)) {
+                throw new IllegalArgumentException("Unknown configuration section '" + key + "', expected one of " + keys);
+            }
+        }
+        return providers;
+    }
+}
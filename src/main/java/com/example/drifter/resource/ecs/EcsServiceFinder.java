@@ -0,0 +1,340 @@
+package com.example.drifter.resource.ecs;
+
+import com.example.drifter.client.Throttler;
+import com.example.drifter.config.ResourceConfig;
+import com.example.drifter.metrics.MetricsScope;
+import com.example.drifter.resource.ImageReference;
+import com.example.drifter.resource.NameMatcher;
+import com.example.drifter.resource.Resource;
+import com.example.drifter.resource.ResourceFinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.ecs.EcsClient;
+import software.amazon.awssdk.services.ecs.model.ClusterNotFoundException;
+import software.amazon.awssdk.services.ecs.model.ContainerDefinition;
+import software.amazon.awssdk.services.ecs.model.DescribeServicesRequest;
+import software.amazon.awssdk.services.ecs.model.DescribeServicesResponse;
+import software.amazon.awssdk.services.ecs.model.DescribeTaskDefinitionRequest;
+import software.amazon.awssdk.services.ecs.model.Failure;
+import software.amazon.awssdk.services.ecs.model.ListServicesRequest;
+import software.amazon.awssdk.services.ecs.model.ListServicesResponse;
+import software.amazon.awssdk.services.ecs.model.Service;
+import software.amazon.awssdk.services.ecs.model.ServiceField;
+import software.amazon.awssdk.services.ecs.model.Tag;
+import software.amazon.awssdk.services.ecs.model.TaskDefinition;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Finds ECS services and reads their versions from the container images of their task
+ * definitions.
+ * <p>
+ * Each cluster is listed once with ListServices. Included names and excludes are matched against
+ * the service ARNs before anything is described, and the rest are described ten at a time, the
+ * most DescribeServices accepts. Services sharing a task definition revision share a single
+ * DescribeTaskDefinition call for the whole scan.
+ */
+public class EcsServiceFinder implements ResourceFinder {
+    private static final Logger logger = LoggerFactory.getLogger(EcsServiceFinder.class);
+
+    public static final String RESOURCE_TYPE = "EcsService";
+    public static final int DEFAULT_CONCURRENCY = 5;
+
+    static final int DESCRIBE_SERVICES_BATCH_SIZE = 10;
+    private static final int LIST_SERVICES_PAGE_SIZE = 100;
+    private static final String DEFAULT_CLUSTER = "default";
+    private static final String INACTIVE = "INACTIVE";
+
+    private final EcsClient ecsClient;
+    private final Executor executor;
+    private final Throttler throttler;
+    private final MetricsScope metrics;
+
+    /**
+     * @param executor runs every ECS API call; its size bounds how many are in flight at once
+     * @param throttler rate limit shared with other finders calling the same account and region
+     * @param metrics records latency, errors and retries of every API call this finder makes
+     */
+    public EcsServiceFinder(EcsClient ecsClient, Executor executor, Throttler throttler, MetricsScope metrics) {
+        this.ecsClient = ecsClient;
+        this.executor = executor;
+        this.throttler = throttler;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Scans the configured {@code clusters}, or the default cluster. With more than one cluster
+     * services are named {@code <cluster>/<service>}.
+     */
+    @Override
+    public CompletableFuture<List<Resource>> findResources(ResourceConfig config) {
+        Scan scan;
+        try {
+            scan = new Scan(NameMatcher.compile(config.getInclude()), NameMatcher.compile(config.getExclude()), config.getTags());
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        if (scan.includes.isEmpty() && (scan.tags == null || scan.tags.isEmpty())) {
+            logger.warn("No include list or tags configured for ECS service discovery");
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+
+        List<String> clusters = config.getClusters() != null && !config.getClusters().isEmpty()
+                ? config.getClusters()
+                : List.of(DEFAULT_CLUSTER);
+        boolean qualify = clusters.size() > 1;
+
+        List<CompletableFuture<List<Resource>>> futures = new ArrayList<>();
+        for (String cluster : clusters) {
+            futures.add(CompletableFuture.supplyAsync(() -> listServiceArns(cluster, scan), executor)
+                    .thenCompose(serviceArns -> describeAll(cluster, serviceArns, scan))
+                    .thenApply(resources -> {
+                        if (qualify) {
+                            String prefix = clusterName(cluster) + "/";
+                            resources.forEach(resource -> resource.setName(prefix + resource.getName()));
+                        }
+                        return resources;
+                    })
+                    .exceptionally(e -> {
+                        // Only a missing cluster has no services; any other failure fails the scan,
+                        // so the cluster's services are not reported as removed
+                        Throwable cause = rootCause(e);
+                        if (!(cause instanceof ClusterNotFoundException)) {
+                            throw new CompletionException("Failed to find ECS services in cluster " + cluster + ": "
+                                    + cause.getMessage(), cause);
+                        }
+                        logger.warn("ECS cluster not found: {}", cluster);
+                        return new ArrayList<>();
+                    }));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenApply(v -> {
+            List<Resource> resources = new ArrayList<>();
+            for (CompletableFuture<List<Resource>> future : futures) {
+                resources.addAll(future.join());
+            }
+            // Describing one service at a time would take a DescribeServices and a DescribeTaskDefinition call each
+            logger.info("ECS lookup found {} services with {} ListServices, {} DescribeServices and {} DescribeTaskDefinition calls instead of {}",
+                    resources.size(), scan.listCalls.get(), scan.describeServicesCalls.get(),
+                    scan.describeTaskDefinitionCalls.get(), scan.listCalls.get() + 2 * scan.described.get());
+            return resources;
+        });
+    }
+
+    /**
+     * @return the ARNs of the cluster's services whose names are included, or all but the
+     * excluded ones when discovering by tags
+     */
+    private List<String> listServiceArns(String cluster, Scan scan) {
+        List<String> serviceArns = new ArrayList<>();
+        String nextToken = null;
+        do {
+            ListServicesRequest request = ListServicesRequest.builder()
+                    .cluster(cluster)
+                    .nextToken(nextToken)
+                    .maxResults(LIST_SERVICES_PAGE_SIZE)
+                    .build();
+            ListServicesResponse response = call("ListServices", () -> ecsClient.listServices(request));
+            scan.listCalls.incrementAndGet();
+
+            for (String serviceArn : response.serviceArns()) {
+                String serviceName = serviceName(serviceArn);
+                if (scan.excludes.matches(serviceName)) {
+                    logger.debug("Excluding ECS service: {}", serviceName);
+                } else if (scan.includes.isEmpty() || scan.includes.matches(serviceName)) {
+                    serviceArns.add(serviceArn);
+                }
+            }
+
+            nextToken = response.nextToken();
+        } while (nextToken != null && !nextToken.isEmpty());
+
+        return serviceArns;
+    }
+
+    /**
+     * Describes the services in batches, each batch a separate task, and composes every service
+     * with its task definition without blocking a thread on either. Any failed call fails the
+     * result.
+     */
+    private CompletableFuture<List<Resource>> describeAll(String cluster, List<String> serviceArns, Scan scan) {
+        List<CompletableFuture<List<Resource>>> batches = new ArrayList<>();
+        for (int start = 0; start < serviceArns.size(); start += DESCRIBE_SERVICES_BATCH_SIZE) {
+            List<String> batch = serviceArns.subList(start, Math.min(start + DESCRIBE_SERVICES_BATCH_SIZE, serviceArns.size()));
+            batches.add(CompletableFuture.supplyAsync(() -> describeServices(cluster, batch, scan), executor)
+                    .thenCompose(services -> {
+                        List<CompletableFuture<Resource>> resources = new ArrayList<>();
+                        for (Service service : services) {
+                            // A failed task definition fails the scan; an invented N/A would be recorded as a change
+                            resources.add(taskDefinition(service.taskDefinition(), scan)
+                                    .thenApply(taskDefinition -> toResource(service, taskDefinition)));
+                        }
+                        return CompletableFuture.allOf(resources.toArray(new CompletableFuture[0]))
+                                .thenApply(v -> {
+                                    List<Resource> described = new ArrayList<>();
+                                    resources.forEach(resource -> described.add(resource.join()));
+                                    return described;
+                                });
+                    }));
+        }
+
+        return CompletableFuture.allOf(batches.toArray(new CompletableFuture[0])).thenApply(v -> {
+            List<Resource> resources = new ArrayList<>();
+            for (CompletableFuture<List<Resource>> batch : batches) {
+                resources.addAll(batch.join());
+            }
+            return resources;
+        });
+    }
+
+    private List<Service> describeServices(String cluster, List<String> serviceArns, Scan scan) {
+        DescribeServicesRequest.Builder request = DescribeServicesRequest.builder()
+                .cluster(cluster)
+                .services(serviceArns);
+        if (scan.includes.isEmpty()) {
+            request.include(ServiceField.TAGS);
+        }
+        DescribeServicesRequest describeRequest = request.build();
+        DescribeServicesResponse response = call("DescribeServices", () -> ecsClient.describeServices(describeRequest));
+        scan.describeServicesCalls.incrementAndGet();
+        scan.described.addAndGet(serviceArns.size());
+
+        for (Failure failure : response.failures()) {
+            logger.warn("ECS service not described: {} ({})", failure.arn(), failure.reason());
+        }
+
+        List<Service> services = new ArrayList<>();
+        for (Service service : response.services()) {
+            if (INACTIVE.equals(service.status())) {
+                logger.debug("Skipping inactive ECS service: {}", service.serviceName());
+            } else if (scan.includes.isEmpty() && !hasTags(service, scan.tags)) {
+                logger.debug("ECS service {} does not match the configured tags", service.serviceName());
+            } else {
+                services.add(service);
+            }
+        }
+        return services;
+    }
+
+    /**
+     * Task definition revisions never change, so each is described at most once per scan, however
+     * many services run it.
+     */
+    private CompletableFuture<TaskDefinition> taskDefinition(String taskDefinitionArn, Scan scan) {
+        if (taskDefinitionArn == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return scan.taskDefinitions.computeIfAbsent(taskDefinitionArn, arn -> CompletableFuture.supplyAsync(() -> {
+            DescribeTaskDefinitionRequest request = DescribeTaskDefinitionRequest.builder()
+                    .taskDefinition(arn)
+                    .build();
+            scan.describeTaskDefinitionCalls.incrementAndGet();
+            return call("DescribeTaskDefinition", () -> ecsClient.describeTaskDefinition(request)).taskDefinition();
+        }, executor));
+    }
+
+    /**
+     * The service's version is read from the container named like the service, otherwise from
+     * the first container; every other container becomes a sub-resource.
+     */
+    static Resource toResource(Service service, TaskDefinition taskDefinition) {
+        String serviceName = service.serviceName();
+        if (taskDefinition == null || taskDefinition.containerDefinitions().isEmpty()) {
+            return new Resource(RESOURCE_TYPE, serviceName, "N/A");
+        }
+
+        List<ContainerDefinition> containers = taskDefinition.containerDefinitions();
+        int primary = 0;
+        for (int i = 0; i < containers.size(); i++) {
+            if (serviceName.equals(containers.get(i).name())) {
+                primary = i;
+                break;
+            }
+        }
+
+        String version = ImageReference.versionOf(containers.get(primary).image());
+        if (containers.size() == 1) {
+            return new Resource(RESOURCE_TYPE, serviceName, version);
+        }
+
+        String[] pairs = new String[(containers.size() - 1) * 2];
+        int next = 0;
+        for (int i = 0; i < containers.size(); i++) {
+            if (i != primary) {
+                pairs[next++] = containers.get(i).name();
+                pairs[next++] = ImageReference.versionOf(containers.get(i).image());
+            }
+        }
+        return new Resource(RESOURCE_TYPE, serviceName, version, pairs, 0);
+    }
+
+    /**
+     * Every configured tag key must be present, with one of its values if any are listed.
+     */
+    private static boolean hasTags(Service service, Map<String, List<String>> tags) {
+        Map<String, String> serviceTags = new HashMap<>();
+        for (Tag tag : service.tags()) {
+            serviceTags.put(tag.key(), tag.value());
+        }
+
+        for (Map.Entry<String, List<String>> entry : tags.entrySet()) {
+            String value = serviceTags.get(entry.getKey());
+            if (value == null || (entry.getValue() != null && !entry.getValue().isEmpty() && !entry.getValue().contains(value))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Service ARNs end in {@code service/<cluster>/<name>}, or {@code service/<name>} in the old format.
+     */
+    static String serviceName(String serviceArn) {
+        return serviceArn.substring(serviceArn.lastIndexOf('/') + 1);
+    }
+
+    private static String clusterName(String cluster) {
+        return cluster.startsWith("arn:") ? cluster.substring(cluster.lastIndexOf('/') + 1) : cluster;
+    }
+
+    /**
+     * Runs one ECS API call through the shared rate limit, recording it under the given API name.
+     */
+    private <T> T call(String api, Throttler.Call<T, RuntimeException> call) {
+        return metrics.time(api, () -> throttler.call(call, () -> metrics.retry(api)));
+    }
+
+    private static Throwable rootCause(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
+    /**
+     * State of one {@link #findResources} call: the compiled patterns, the task definition cache
+     * and the API call counts.
+     */
+    private static class Scan {
+        final NameMatcher includes;
+        final NameMatcher excludes;
+        final Map<String, List<String>> tags;
+        final Map<String, CompletableFuture<TaskDefinition>> taskDefinitions = new ConcurrentHashMap<>();
+        final AtomicInteger listCalls = new AtomicInteger();
+        final AtomicInteger describeServicesCalls = new AtomicInteger();
+        final AtomicInteger describeTaskDefinitionCalls = new AtomicInteger();
+        final AtomicInteger described = new AtomicInteger();
+
+        Scan(NameMatcher includes, NameMatcher excludes, Map<String, List<String>> tags) {
+            this.includes = includes;
+            this.excludes = excludes;
+            this.tags = tags;
+        }
+    }
+}
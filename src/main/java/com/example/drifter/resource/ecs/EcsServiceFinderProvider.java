@@ -0,0 +1,40 @@
+package com.example.drifter.resource.ecs;
+
+import com.example.drifter.client.ClientRegistry;
+import com.example.drifter.client.Throttler;
+import com.example.drifter.config.Environment;
+import com.example.drifter.resource.FinderContext;
+import com.example.drifter.resource.ResourceFinder;
+import com.example.drifter.resource.ResourceFinderProvider;
+
+/**
+ * ECS services, configured by the {@code ecsServices} section.
+ */
+public class EcsServiceFinderProvider implements ResourceFinderProvider {
+
+    @Override
+    public String configKey() {
+        return "ecsServices";
+    }
+
+    @Override
+    public String resourceType() {
+        return EcsServiceFinder.RESOURCE_TYPE;
+    }
+
+    @Override
+    public int defaultConcurrency() {
+        return EcsServiceFinder.DEFAULT_CONCURRENCY;
+    }
+
+    @Override
+    public Throttler throttler(Environment env, ClientRegistry clients) {
+        return clients.ecsThrottler(env);
+    }
+
+    @Override
+    public ResourceFinder create(FinderContext context) {
+        return new EcsServiceFinder(context.getClients().ecsClient(context.getEnvironment()), context.getExecutor(),
+                context.getThrottler(), context.getMetrics());
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.drifter.resource.k8s;
+
+import com.example.drifter.output.AtomicFiles;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * On-disk cache of EKS cluster endpoints and certificate authorities, so repeat runs within the
+ * TTL skip DescribeCluster. Unreadable or stale entries are treated as misses.
+ * <p>
+ * Entries are keyed by account as well as region and cluster name, since accounts reached
+ * through different roles can each have a cluster of the same name.
+ */
+public class ClusterInfoCache {
+    private static final Logger logger = LoggerFactory.getLogger(ClusterInfoCache.class);
+
+    public static final Duration DEFAULT_TTL = Duration.ofHours(1);
+
+    private final Path directory;
+    private final Duration ttl;
+    private final Clock clock;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public ClusterInfoCache() {
+        this(Paths.get(System.getProperty("user.home"), ".cache", "drifter", "eks"), DEFAULT_TTL, Clock.systemUTC());
+    }
+
+    public ClusterInfoCache(Path directory, Duration ttl, Clock clock) {
+        this.directory = directory;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * @param role the IAM role the cluster is reached through, or null for the default credentials
+     */
+    public ClusterInfo get(String region, String role, String clusterName) {
+        Path file = fileFor(region, role, clusterName);
+        if (!Files.exists(file)) {
+            return null;
+        }
+
+        try {
+            ClusterInfo info = objectMapper.readValue(file.toFile(), ClusterInfo.class);
+            if (clock.millis() - info.getFetchedAt() > ttl.toMillis()) {
+                logger.debug("Cached cluster info for {} is stale", clusterName);
+                return null;
+            }
+            return info;
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable cluster cache entry {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    public ClusterInfo put(String region, String role, String clusterName, String endpoint, String certificateAuthority) {
+        ClusterInfo info = new ClusterInfo(endpoint, certificateAuthority, clock.millis());
+        Path file = fileFor(region, role, clusterName);
+
+        try {
+            AtomicFiles.writeJson(objectMapper, file, info);
+        } catch (IOException e) {
+            logger.warn("Failed to cache cluster info for {}: {}", clusterName, e.getMessage());
+        }
+        return info;
+    }
+
+    private Path fileFor(String region, String role, String clusterName) {
+        return directory.resolve(region + "_" + account(role) + "_" + clusterName + ".json");
+    }
+
+    /**
+     * The account of a role ARN ({@code arn:aws:iam::<account>:role/<name>}), or {@code default}
+     * for the default credentials. Anything else is kept whole, made safe for a file name.
+     */
+    static String account(String role) {
+        if (role == null || role.isEmpty()) {
+            return "default";
+        }
+        String[] parts = role.split(":", 6);
+        if (parts.length == 6 && parts[0].equals("arn") && !parts[4].isEmpty()) {
+            return parts[4];
+        }
+        return role.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    public static class ClusterInfo {
+        @JsonProperty("endpoint")
+        private String endpoint;
+
+        @JsonProperty("certificateAuthority")
+        private String certificateAuthority;
+
+        @JsonProperty("fetchedAt")
+        private long fetchedAt;
+
+        public ClusterInfo() {}
+
+        public ClusterInfo(String endpoint, String certificateAuthority, long fetchedAt) {
+            this.endpoint = endpoint;
+            this.certificateAuthority = certificateAuthority;
+            this.fetchedAt = fetchedAt;
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public String getCertificateAuthority() {
+            return certificateAuthority;
+        }
+
+        public long getFetchedAt() {
+            return fetchedAt;
+        }
+    }
+}
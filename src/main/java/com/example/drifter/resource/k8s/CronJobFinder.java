@@ -0,0 +1,67 @@
+package com.example.drifter.resource.k8s;
+
+import com.example.drifter.client.Throttler;
+import com.example.drifter.metrics.MetricsScope;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.apis.BatchV1Api;
+import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.kubernetes.client.openapi.models.V1CronJob;
+import io.kubernetes.client.openapi.models.V1CronJobList;
+import io.kubernetes.client.openapi.models.V1PodSpec;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Finds cron jobs and reads their versions from the pod template of their job template, so the
+ * version is the one the next scheduled run will start.
+ */
+public class CronJobFinder extends WorkloadFinder<V1CronJob, V1CronJobList> {
+    private final BatchV1Api batchV1Api;
+
+    /**
+     * @param executor runs the blocking Kubernetes API calls
+     * @param throttler rate limit shared with other finders calling the same API server
+     * @param metrics records latency, errors and retries of every API call this finder makes
+     */
+    public CronJobFinder(ApiClient apiClient, Executor executor, Throttler throttler, MetricsScope metrics) {
+        this(new BatchV1Api(apiClient), new CoreV1Api(apiClient), executor, throttler, metrics);
+    }
+
+    CronJobFinder(BatchV1Api batchV1Api, CoreV1Api coreV1Api, Executor executor, Throttler throttler, MetricsScope metrics) {
+        super(coreV1Api, executor, throttler, metrics);
+        this.batchV1Api = batchV1Api;
+    }
+
+    @Override
+    String kind() {
+        return "CronJob";
+    }
+
+    @Override
+    V1CronJob read(String name, String namespace) throws ApiException {
+        return batchV1Api.readNamespacedCronJob(name, namespace, null);
+    }
+
+    @Override
+    V1CronJobList list(String namespace, String continueToken, String labelSelector, int limit) throws ApiException {
+        return batchV1Api.listNamespacedCronJob(
+                namespace, null, null, continueToken, null, labelSelector, limit, null, null, null, null);
+    }
+
+    @Override
+    V1CronJobList listAllNamespaces(String continueToken, String labelSelector, int limit) throws ApiException {
+        return batchV1Api.listCronJobForAllNamespaces(
+                null, continueToken, null, labelSelector, limit, null, null, null, null, null);
+    }
+
+    @Override
+    V1PodSpec podSpec(V1CronJob cronJob) {
+        return cronJob.getSpec() != null
+                && cronJob.getSpec().getJobTemplate() != null
+                && cronJob.getSpec().getJobTemplate().getSpec() != null
+                && cronJob.getSpec().getJobTemplate().getSpec().getTemplate() != null
+                ? cronJob.getSpec().getJobTemplate().getSpec().getTemplate().getSpec()
+                : null;
+    }
+}
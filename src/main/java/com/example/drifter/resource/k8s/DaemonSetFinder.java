@@ -0,0 +1,63 @@
+package com.example.drifter.resource.k8s;
+
+import com.example.drifter.client.Throttler;
+import com.example.drifter.metrics.MetricsScope;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.apis.AppsV1Api;
+import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.kubernetes.client.openapi.models.V1DaemonSet;
+import io.kubernetes.client.openapi.models.V1DaemonSetList;
+import io.kubernetes.client.openapi.models.V1PodSpec;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Finds daemon sets and reads their versions from the pod template, like {@link DeploymentFinder}.
+ */
+public class DaemonSetFinder extends WorkloadFinder<V1DaemonSet, V1DaemonSetList> {
+    private final AppsV1Api appsV1Api;
+
+    /**
+     * @param executor runs the blocking Kubernetes API calls
+     * @param throttler rate limit shared with other finders calling the same API server
+     * @param metrics records latency, errors and retries of every API call this finder makes
+     */
+    public DaemonSetFinder(ApiClient apiClient, Executor executor, Throttler throttler, MetricsScope metrics) {
+        this(new AppsV1Api(apiClient), new CoreV1Api(apiClient), executor, throttler, metrics);
+    }
+
+    DaemonSetFinder(AppsV1Api appsV1Api, CoreV1Api coreV1Api, Executor executor, Throttler throttler, MetricsScope metrics) {
+        super(coreV1Api, executor, throttler, metrics);
+        this.appsV1Api = appsV1Api;
+    }
+
+    @Override
+    String kind() {
+        return "DaemonSet";
+    }
+
+    @Override
+    V1DaemonSet read(String name, String namespace) throws ApiException {
+        return appsV1Api.readNamespacedDaemonSet(name, namespace, null);
+    }
+
+    @Override
+    V1DaemonSetList list(String namespace, String continueToken, String labelSelector, int limit) throws ApiException {
+        return appsV1Api.listNamespacedDaemonSet(
+                namespace, null, null, continueToken, null, labelSelector, limit, null, null, null, null);
+    }
+
+    @Override
+    V1DaemonSetList listAllNamespaces(String continueToken, String labelSelector, int limit) throws ApiException {
+        return appsV1Api.listDaemonSetForAllNamespaces(
+                null, continueToken, null, labelSelector, limit, null, null, null, null, null);
+    }
+
+    @Override
+    V1PodSpec podSpec(V1DaemonSet daemonSet) {
+        return daemonSet.getSpec() != null && daemonSet.getSpec().getTemplate() != null
+                ? daemonSet.getSpec().getTemplate().getSpec()
+                : null;
+    }
+}
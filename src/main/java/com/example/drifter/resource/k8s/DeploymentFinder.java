@@ -1,165 +1,168 @@
 package com.example.drifter.resource.k8s;
 
+import com.example.drifter.client.Throttler;
 import com.example.drifter.config.ResourceConfig;
+import com.example.drifter.metrics.MetricsScope;
+import com.example.drifter.resource.NameMatcher;
 import com.example.drifter.resource.Resource;
-import com.example.drifter.resource.ResourceFinder;
+import com.example.drifter.resource.ResourceChangeListener;
+import io.kubernetes.client.informer.SharedIndexInformer;
+import io.kubernetes.client.informer.SharedInformerFactory;
 import io.kubernetes.client.openapi.ApiClient;
 import io.kubernetes.client.openapi.ApiException;
 import io.kubernetes.client.openapi.apis.AppsV1Api;
-import io.kubernetes.client.openapi.models.V1Container;
+import io.kubernetes.client.openapi.apis.CoreV1Api;
 import io.kubernetes.client.openapi.models.V1Deployment;
 import io.kubernetes.client.openapi.models.V1DeploymentList;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1PodSpec;
+import io.kubernetes.client.util.CallGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Set;
+import java.util.concurrent.Executor;
 
-public class DeploymentFinder implements ResourceFinder {
+public class DeploymentFinder extends WorkloadFinder<V1Deployment, V1DeploymentList> {
     private static final Logger logger = LoggerFactory.getLogger(DeploymentFinder.class);
-    private static final Pattern IMAGE_VERSION_PATTERN = Pattern.compile(".+:(\\d+\\.\\d+\\.\\d+(-SNAPSHOT-.+)?)");
 
-    private final ApiClient apiClient;
     private final AppsV1Api appsV1Api;
 
-    public DeploymentFinder(ApiClient apiClient) {
-        this.apiClient = apiClient;
-        this.appsV1Api = new AppsV1Api(apiClient);
+    /**
+     * @param executor runs the blocking Kubernetes API calls
+     * @param throttler rate limit shared with other finders calling the same API server
+     * @param metrics records latency, errors and retries of every API call this finder makes
+     */
+    public DeploymentFinder(ApiClient apiClient, Executor executor, Throttler throttler, MetricsScope metrics) {
+        this(new AppsV1Api(apiClient), new CoreV1Api(apiClient), executor, throttler, metrics);
     }
 
-    @Override
-    public CompletableFuture<List<Resource>> findResources(ResourceConfig config) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                if (config.getInclude() != null && !config.getInclude().isEmpty()) {
-                    return findByName(config.getInclude(), config.getNamespace(), config.getExclude());
-                } else {
-                    return findByTags(config.getTags(), config.getNamespace(), config.getExclude());
-                }
-            } catch (Exception e) {
-                logger.error("Error finding deployments: {}", e.getMessage(), e);
-                return new ArrayList<>();
-            }
-        });
+    DeploymentFinder(AppsV1Api appsV1Api, CoreV1Api coreV1Api, Executor executor, Throttler throttler, MetricsScope metrics) {
+        super(coreV1Api, executor, throttler, metrics);
+        this.appsV1Api = appsV1Api;
     }
 
-    private List<Resource> findByName(List<String> deploymentNames, String namespace, List<String> excludePatterns) throws ApiException {
-        List<Resource> resources = new ArrayList<>();
-
-        for (String deploymentName : deploymentNames) {
-            if (isExcluded(deploymentName, excludePatterns)) {
-                logger.debug("Excluding deployment: {}", deploymentName);
-                continue;
-            }
-
-            try {
-                V1Deployment deployment = appsV1Api.readNamespacedDeployment(
-                        deploymentName,
-                        namespace != null ? namespace : "default",
-                        null
-                );
-
-                String version = extractImageVersion(deployment, deploymentName);
-                resources.add(new Resource("Deployment", deploymentName, version));
-                logger.debug("Found deployment: {} with version: {}", deploymentName, version);
-
-            } catch (ApiException e) {
-                if (e.getCode() == 404) {
-                    logger.warn("Deployment not found: {} in namespace: {}", deploymentName, namespace);
-                } else {
-                    logger.error("Error retrieving deployment {}: {}", deploymentName, e.getMessage());
-                }
-            }
-        }
-
-        return resources;
+    @Override
+    String kind() {
+        return "Deployment";
     }
 
-    private List<Resource> findByTags(java.util.Map<String, List<String>> tags, String namespace, List<String> excludePatterns) throws ApiException {
-        List<Resource> resources = new ArrayList<>();
-
-        if (tags == null || tags.isEmpty()) {
-            return resources;
-        }
-
-        String labelSelector = buildLabelSelector(tags);
-
-        try {
-            V1DeploymentList deploymentList = appsV1Api.listNamespacedDeployment(
-                    namespace != null ? namespace : "default",
-                    null, null, null, null, labelSelector, null, null, null, null, null
-            );
-
-            if (deploymentList.getItems() != null) {
-                for (V1Deployment deployment : deploymentList.getItems()) {
-                    String deploymentName = deployment.getMetadata().getName();
-
-                    if (isExcluded(deploymentName, excludePatterns)) {
-                        logger.debug("Excluding deployment: {}", deploymentName);
-                        continue;
-                    }
-
-                    String version = extractImageVersion(deployment, deploymentName);
-                    resources.add(new Resource("Deployment", deploymentName, version));
-                    logger.debug("Found deployment: {} with version: {}", deploymentName, version);
-                }
-            }
-        } catch (ApiException e) {
-            logger.error("Error listing deployments with label selector {}: {}", labelSelector, e.getMessage());
-            throw e;
-        }
-
-        return resources;
+    @Override
+    V1Deployment read(String name, String namespace) throws ApiException {
+        return appsV1Api.readNamespacedDeployment(name, namespace, null);
     }
 
-    private String buildLabelSelector(java.util.Map<String, List<String>> tags) {
-        List<String> selectors = new ArrayList<>();
-
-        for (java.util.Map.Entry<String, List<String>> entry : tags.entrySet()) {
-            String key = entry.getKey();
-            List<String> values = entry.getValue();
+    @Override
+    V1DeploymentList list(String namespace, String continueToken, String labelSelector, int limit) throws ApiException {
+        return appsV1Api.listNamespacedDeployment(
+                namespace, null, null, continueToken, null, labelSelector, limit, null, null, null, null);
+    }
 
-            if (values.size() == 1) {
-                selectors.add(key + "=" + values.get(0));
-            } else {
-                selectors.add(key + " in (" + String.join(",", values) + ")");
-            }
-        }
+    @Override
+    V1DeploymentList listAllNamespaces(String continueToken, String labelSelector, int limit) throws ApiException {
+        return appsV1Api.listDeploymentForAllNamespaces(
+                null, continueToken, null, labelSelector, limit, null, null, null, null, null);
+    }
 
-        return String.join(",", selectors);
+    @Override
+    V1PodSpec podSpec(V1Deployment deployment) {
+        return deployment.getSpec() != null && deployment.getSpec().getTemplate() != null
+                ? deployment.getSpec().getTemplate().getSpec()
+                : null;
     }
 
-    private String extractImageVersion(V1Deployment deployment, String deploymentName) {
-        if (deployment.getSpec() == null ||
-            deployment.getSpec().getTemplate() == null ||
-            deployment.getSpec().getTemplate().getSpec() == null ||
-            deployment.getSpec().getTemplate().getSpec().getContainers() == null) {
-            return "N/A";
+    /**
+     * Starts a list-and-watch on each configured namespace, or with {@code allNamespaces} one on
+     * the whole cluster. Namespaced watches need only namespaced list and watch permissions and
+     * stream just those namespaces. The watch keeps a version table for the deployments this
+     * finder would report and notifies the listener of version changes. A namespace selector is
+     * resolved once, when the watch starts.
+     * <p>
+     * The finder must be built on a client without a read timeout, such as
+     * {@code ClientRegistry.kubernetesWatchClient}, which also owns its connections.
+     *
+     * @throws ApiException if the namespaces matching the selector cannot be listed
+     * @throws IllegalStateException if the finder's client has a read timeout
+     */
+    public DeploymentWatch watch(ResourceConfig config, ResourceChangeListener listener) throws ApiException {
+        // A watch request stays open for minutes, longer than a scan client's read timeout allows
+        if (appsV1Api.getApiClient().getReadTimeout() != 0) {
+            throw new IllegalStateException("Watching deployments needs a client without a read timeout");
         }
 
-        for (V1Container container : deployment.getSpec().getTemplate().getSpec().getContainers()) {
-            if (deploymentName.equals(container.getName()) && container.getImage() != null) {
-                return extractVersionFromImage(container.getImage());
+        boolean allNamespaces = Boolean.TRUE.equals(config.getAllNamespaces());
+        boolean qualified = allNamespaces || isMultiNamespace(config);
+        List<String> namespaces = allNamespaces ? List.of()
+                : qualified ? resolveNamespaces(config)
+                : List.of(config.getNamespace() != null ? config.getNamespace() : "default");
+        Set<String> wanted = config.getInclude() != null && !config.getInclude().isEmpty()
+                ? new HashSet<>(config.getInclude())
+                : null;
+        String labelSelector = wanted == null && config.getTags() != null && !config.getTags().isEmpty()
+                ? buildLabelSelector(config.getTags())
+                : null;
+        NameMatcher excludes = NameMatcher.compile(config.getExclude());
+
+        DeploymentWatch watch = new DeploymentWatch(
+                deployment -> {
+                    String name = deployment.getMetadata().getName();
+                    return (wanted == null || wanted.contains(name)) && !excludes.matches(name);
+                },
+                deployment -> {
+                    V1ObjectMeta metadata = deployment.getMetadata();
+                    Resource resource = toResource(deployment, metadata.getName());
+                    if (qualified) {
+                        resource.setName(metadata.getNamespace() + "/" + metadata.getName());
+                    }
+                    return resource;
+                },
+                listener);
+
+        // A factory registers one informer per type, so each namespace gets a factory of its own
+        List<SharedInformerFactory> informerFactories = new ArrayList<>();
+        if (allNamespaces) {
+            informerFactories.add(informerFor(appsV1Api, watch, params -> appsV1Api.listDeploymentForAllNamespacesCall(
+                    null, null, null, labelSelector, null, null,
+                    params.resourceVersion, null, params.timeoutSeconds, params.watch, null)));
+        } else {
+            for (String namespace : namespaces) {
+                informerFactories.add(informerFor(appsV1Api, watch, params -> appsV1Api.listNamespacedDeploymentCall(
+                        namespace, null, null, null, null, labelSelector, null,
+                        params.resourceVersion, null, params.timeoutSeconds, params.watch, null)));
             }
         }
-
-        // If no container matches deployment name, try the first container
-        List<V1Container> containers = deployment.getSpec().getTemplate().getSpec().getContainers();
-        if (!containers.isEmpty() && containers.get(0).getImage() != null) {
-            return extractVersionFromImage(containers.get(0).getImage());
+        watch.start(informerFactories);
+
+        if (allNamespaces) {
+            logger.info("Watching deployments in all namespaces");
+        } else if (namespaces.isEmpty()) {
+            logger.warn("No namespaces to watch deployments in");
+        } else {
+            logger.info("Watching deployments in {} {}", namespaces.size() == 1 ? "namespace" : "namespaces",
+                    String.join(", ", namespaces));
         }
-
-        return "N/A";
+        return watch;
     }
 
-    private String extractVersionFromImage(String image) {
-        Matcher matcher = IMAGE_VERSION_PATTERN.matcher(image);
-        if (matcher.find()) {
-            return matcher.group(1);
-        }
-        return "N/A";
+    private static SharedInformerFactory informerFor(AppsV1Api watchApi, DeploymentWatch watch, CallGenerator callGenerator) {
+        SharedInformerFactory informerFactory = new SharedInformerFactory(watchApi.getApiClient());
+        SharedIndexInformer<V1Deployment> informer = informerFactory.sharedIndexInformerFor(
+                callGenerator, V1Deployment.class, V1DeploymentList.class);
+        // The informer cache only needs what version extraction reads
+        informer.setTransform(object -> {
+            V1Deployment deployment = (V1Deployment) object;
+            V1ObjectMeta metadata = deployment.getMetadata();
+            return new V1Deployment()
+                    .metadata(new V1ObjectMeta()
+                            .name(metadata.getName())
+                            .namespace(metadata.getNamespace())
+                            .resourceVersion(metadata.getResourceVersion()))
+                    .spec(deployment.getSpec());
+        });
+        informer.addEventHandler(watch);
+        return informerFactory;
     }
 }
@@ -0,0 +1,144 @@
+package com.example.drifter.resource.k8s;
+
+import com.example.drifter.resource.Resource;
+import com.example.drifter.resource.ResourceChangeListener;
+import io.kubernetes.client.informer.ResourceEventHandler;
+import io.kubernetes.client.informer.SharedInformerFactory;
+import io.kubernetes.client.openapi.models.V1Deployment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Keeps the image version of every watched deployment in memory, fed by one shared informer per
+ * watched namespace.
+ * The listener only hears about deployments and containers whose version actually changed, so
+ * status and replica updates cost nothing downstream.
+ */
+public class DeploymentWatch implements ResourceEventHandler<V1Deployment>, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(DeploymentWatch.class);
+
+    private final Predicate<V1Deployment> filter;
+    private final Function<V1Deployment, Resource> resourceExtractor;
+    private final ResourceChangeListener listener;
+    private final Map<String, Resource> resources = new ConcurrentHashMap<>();
+
+    private List<SharedInformerFactory> informerFactories = List.of();
+
+    DeploymentWatch(Predicate<V1Deployment> filter, Function<V1Deployment, Resource> resourceExtractor,
+                    ResourceChangeListener listener) {
+        this.filter = filter;
+        this.resourceExtractor = resourceExtractor;
+        this.listener = listener;
+    }
+
+    void start(List<SharedInformerFactory> informerFactories) {
+        this.informerFactories = informerFactories;
+        for (SharedInformerFactory informerFactory : informerFactories) {
+            informerFactory.startAllRegisteredInformers();
+        }
+    }
+
+    /**
+     * Current version table, keyed by resource name.
+     */
+    public Map<String, String> getVersions() {
+        Map<String, String> versions = new HashMap<>();
+        resources.forEach((name, resource) -> versions.put(name, resource.getVersion()));
+        return versions;
+    }
+
+    @Override
+    public void onAdd(V1Deployment deployment) {
+        update(deployment);
+    }
+
+    @Override
+    public void onUpdate(V1Deployment oldDeployment, V1Deployment newDeployment) {
+        update(newDeployment);
+    }
+
+    @Override
+    public void onDelete(V1Deployment deployment, boolean deletedFinalStateUnknown) {
+        if (!filter.test(deployment)) {
+            return;
+        }
+
+        String deploymentName = resourceExtractor.apply(deployment).getName();
+        Resource removed = resources.remove(deploymentName);
+        if (removed != null) {
+            logger.debug("Deployment removed: {}", deploymentName);
+            listener.onChange("Deployment", deploymentName, null);
+            notifyContainers(removed, null);
+        }
+    }
+
+    private void update(V1Deployment deployment) {
+        if (!filter.test(deployment)) {
+            return;
+        }
+
+        Resource resource = resourceExtractor.apply(deployment);
+        String deploymentName = resource.getName();
+        Resource previous = resources.put(deploymentName, resource);
+        if (resource.equals(previous)) {
+            return;
+        }
+
+        String previousVersion = previous != null ? previous.getVersion() : null;
+        if (!resource.getVersion().equals(previousVersion)) {
+            logger.debug("Deployment {} changed version: {} -> {}", deploymentName, previousVersion, resource.getVersion());
+            listener.onChange("Deployment", deploymentName, resource.getVersion());
+        }
+        notifyContainers(previous, resource);
+    }
+
+    /**
+     * Reports the containers whose version differs between two states of a deployment, either of
+     * which may be null.
+     */
+    private void notifyContainers(Resource previous, Resource current) {
+        Map<String, String> previousVersions = containerVersions(previous);
+        Map<String, String> currentVersions = containerVersions(current);
+
+        currentVersions.forEach((key, version) -> {
+            if (!version.equals(previousVersions.get(key))) {
+                onContainerChange(key, version);
+            }
+        });
+        previousVersions.keySet().forEach(key -> {
+            if (!currentVersions.containsKey(key)) {
+                onContainerChange(key, null);
+            }
+        });
+    }
+
+    private void onContainerChange(String key, String version) {
+        int separator = key.indexOf('|');
+        listener.onChange(key.substring(0, separator), key.substring(separator + 1), version);
+    }
+
+    private static Map<String, String> containerVersions(Resource resource) {
+        if (resource == null || resource.getContainerCount() == 0) {
+            return Map.of();
+        }
+        Map<String, String> versions = new HashMap<>();
+        for (int i = 0; i < resource.getContainerCount(); i++) {
+            versions.put(resource.getContainerType(i) + "|" + resource.getContainerResourceName(i), resource.getContainerVersion(i));
+        }
+        return versions;
+    }
+
+    @Override
+    public void close() {
+        for (SharedInformerFactory informerFactory : informerFactories) {
+            informerFactory.stopAllRegisteredInformers();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.drifter.resource.k8s;
+
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.signer.Aws4Signer;
+import software.amazon.awssdk.auth.signer.params.Aws4PresignerParams;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.regions.Region;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Produces EKS bearer tokens the same way aws-iam-authenticator does: a locally presigned
+ * STS GetCallerIdentity URL bound to the cluster name. Tokens are reused until shortly before
+ * the API server would reject them.
+ */
+public class EksTokenProvider {
+    static final String TOKEN_PREFIX = "k8s-aws-v1.";
+    static final String CLUSTER_ID_HEADER = "x-k8s-aws-id";
+
+    // EKS accepts a token for 15 minutes after signing; refresh a minute early
+    static final Duration TOKEN_LIFETIME = Duration.ofMinutes(14);
+    private static final Duration PRESIGN_EXPIRATION = Duration.ofSeconds(60);
+
+    private final String clusterName;
+    private final AwsCredentialsProvider credentialsProvider;
+    private final Region region;
+    private final Clock clock;
+
+    private String token;
+    private Instant expiresAt = Instant.MIN;
+
+    public EksTokenProvider(String clusterName, AwsCredentialsProvider credentialsProvider, Region region) {
+        this(clusterName, credentialsProvider, region, Clock.systemUTC());
+    }
+
+    EksTokenProvider(String clusterName, AwsCredentialsProvider credentialsProvider, Region region, Clock clock) {
+        this.clusterName = clusterName;
+        this.credentialsProvider = credentialsProvider;
+        this.region = region;
+        this.clock = clock;
+    }
+
+    public synchronized String getToken() {
+        Instant now = clock.instant();
+        if (token == null || !now.isBefore(expiresAt)) {
+            token = generateToken(now);
+            expiresAt = now.plus(TOKEN_LIFETIME);
+        }
+        return token;
+    }
+
+    private String generateToken(Instant now) {
+        SdkHttpFullRequest request = SdkHttpFullRequest.builder()
+                .method(SdkHttpMethod.GET)
+                .protocol("https")
+                .host("sts." + region.id() + ".amazonaws.com")
+                .encodedPath("/")
+                .putHeader(CLUSTER_ID_HEADER, clusterName)
+                .putRawQueryParameter("Action", "GetCallerIdentity")
+                .putRawQueryParameter("Version", "2011-06-15")
+                .build();
+
+        Aws4PresignerParams params = Aws4PresignerParams.builder()
+                .awsCredentials(credentialsProvider.resolveCredentials())
+                .signingName("sts")
+                .signingRegion(region)
+                .signingClockOverride(clock)
+                .expirationTime(now.plus(PRESIGN_EXPIRATION))
+                .build();
+
+        String presignedUrl = Aws4Signer.create().presign(request, params).getUri().toString();
+        return TOKEN_PREFIX + Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(presignedUrl.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,35 +1,82 @@
 package com.example.drifter.resource.k8s;
 
 import io.kubernetes.client.openapi.ApiClient;
-import io.kubernetes.client.openapi.Configuration;
-import io.kubernetes.client.util.Config;
+import io.kubernetes.client.util.ClientBuilder;
+import okhttp3.OkHttpClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.eks.EksClient;
+import software.amazon.awssdk.services.eks.model.Cluster;
 import software.amazon.awssdk.services.eks.model.DescribeClusterRequest;
 import software.amazon.awssdk.services.eks.model.DescribeClusterResponse;
 
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
 public class KubernetesClientFactory {
     private static final Logger logger = LoggerFactory.getLogger(KubernetesClientFactory.class);
 
-    public static ApiClient createClient(EksClient eksClient, String clusterName, String roleArn) {
+    private static final ClusterInfoCache clusterInfoCache = new ClusterInfoCache();
+
+    /**
+     * Builds a client bound to one EKS cluster. The endpoint and CA come from DescribeCluster
+     * (or the on-disk cache), and every request carries a freshly cached EKS bearer token, so
+     * nothing depends on the local kubeconfig or the process-global default client.
+     *
+     * @param role the IAM role the cluster is reached through, or null for the default credentials
+     */
+    public static ApiClient createClient(EksClient eksClient, String clusterName, String role,
+                                         AwsCredentialsProvider credentialsProvider, Region region) {
+        return createClient(eksClient, clusterName, role, credentialsProvider, region, false);
+    }
+
+    /**
+     * Like {@link #createClient}, but without a read timeout, since a watch request stays open for
+     * minutes.
+     */
+    public static ApiClient createWatchClient(EksClient eksClient, String clusterName, String role,
+                                              AwsCredentialsProvider credentialsProvider, Region region) {
+        return createClient(eksClient, clusterName, role, credentialsProvider, region, true);
+    }
+
+    private static ApiClient createClient(EksClient eksClient, String clusterName, String role,
+                                          AwsCredentialsProvider credentialsProvider, Region region, boolean watch) {
         try {
-            // Get cluster information
-            DescribeClusterRequest request = DescribeClusterRequest.builder()
-                    .name(clusterName)
-                    .build();
+            ClusterInfoCache.ClusterInfo clusterInfo = clusterInfoCache.get(region.id(), role, clusterName);
+            if (clusterInfo == null) {
+                // Get cluster information
+                DescribeClusterRequest request = DescribeClusterRequest.builder()
+                        .name(clusterName)
+                        .build();
 
-            DescribeClusterResponse response = eksClient.describeCluster(request);
-            String endpoint = response.cluster().endpoint();
+                DescribeClusterResponse response = eksClient.describeCluster(request);
+                Cluster cluster = response.cluster();
 
-            // For production use, you would need to implement proper EKS authentication
-            // This is a simplified version that assumes kubectl is configured
-            // In a real implementation, you'd use AWS IAM authenticator for Kubernetes
+                clusterInfo = clusterInfoCache.put(region.id(), role, clusterName,
+                        cluster.endpoint(), cluster.certificateAuthority().data());
+            } else {
+                logger.debug("Using cached endpoint for cluster: {}", clusterName);
+            }
+
+            ApiClient client = new ClientBuilder()
+                    .setBasePath(clusterInfo.getEndpoint())
+                    .setCertificateAuthority(Base64.getDecoder().decode(clusterInfo.getCertificateAuthority()))
+                    .setVerifyingSsl(true)
+                    .build();
 
-            ApiClient client = Config.defaultClient();
-            Configuration.setDefaultApiClient(client);
+            EksTokenProvider tokenProvider = new EksTokenProvider(clusterName, credentialsProvider, region);
+            OkHttpClient.Builder httpClient = client.getHttpClient().newBuilder()
+                    .addInterceptor(chain -> chain.proceed(chain.request().newBuilder()
+                            .header("Authorization", "Bearer " + tokenProvider.getToken())
+                            .build()));
+            if (watch) {
+                httpClient.readTimeout(0, TimeUnit.MILLISECONDS);
+            }
+            client.setHttpClient(httpClient.build());
 
-            logger.info("Created Kubernetes client for cluster: {}", clusterName);
+            logger.info("Created Kubernetes {}client for cluster: {}", watch ? "watch " : "", clusterName);
             return client;
 
         } catch (Exception e) {
@@ -0,0 +1,63 @@
+package com.example.drifter.resource.k8s;
+
+import com.example.drifter.client.Throttler;
+import com.example.drifter.metrics.MetricsScope;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.apis.AppsV1Api;
+import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.kubernetes.client.openapi.models.V1StatefulSet;
+import io.kubernetes.client.openapi.models.V1StatefulSetList;
+import io.kubernetes.client.openapi.models.V1PodSpec;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Finds stateful sets and reads their versions from the pod template, like {@link DeploymentFinder}.
+ */
+public class StatefulSetFinder extends WorkloadFinder<V1StatefulSet, V1StatefulSetList> {
+    private final AppsV1Api appsV1Api;
+
+    /**
+     * @param executor runs the blocking Kubernetes API calls
+     * @param throttler rate limit shared with other finders calling the same API server
+     * @param metrics records latency, errors and retries of every API call this finder makes
+     */
+    public StatefulSetFinder(ApiClient apiClient, Executor executor, Throttler throttler, MetricsScope metrics) {
+        this(new AppsV1Api(apiClient), new CoreV1Api(apiClient), executor, throttler, metrics);
+    }
+
+    StatefulSetFinder(AppsV1Api appsV1Api, CoreV1Api coreV1Api, Executor executor, Throttler throttler, MetricsScope metrics) {
+        super(coreV1Api, executor, throttler, metrics);
+        this.appsV1Api = appsV1Api;
+    }
+
+    @Override
+    String kind() {
+        return "StatefulSet";
+    }
+
+    @Override
+    V1StatefulSet read(String name, String namespace) throws ApiException {
+        return appsV1Api.readNamespacedStatefulSet(name, namespace, null);
+    }
+
+    @Override
+    V1StatefulSetList list(String namespace, String continueToken, String labelSelector, int limit) throws ApiException {
+        return appsV1Api.listNamespacedStatefulSet(
+                namespace, null, null, continueToken, null, labelSelector, limit, null, null, null, null);
+    }
+
+    @Override
+    V1StatefulSetList listAllNamespaces(String continueToken, String labelSelector, int limit) throws ApiException {
+        return appsV1Api.listStatefulSetForAllNamespaces(
+                null, continueToken, null, labelSelector, limit, null, null, null, null, null);
+    }
+
+    @Override
+    V1PodSpec podSpec(V1StatefulSet statefulSet) {
+        return statefulSet.getSpec() != null && statefulSet.getSpec().getTemplate() != null
+                ? statefulSet.getSpec().getTemplate().getSpec()
+                : null;
+    }
+}
@@ -0,0 +1,473 @@
+package com.example.drifter.resource.k8s;
+
+import com.example.drifter.client.Throttler;
+import com.example.drifter.config.ResourceConfig;
+import com.example.drifter.metrics.MetricsScope;
+import com.example.drifter.resource.ImageReference;
+import com.example.drifter.resource.NameMatcher;
+import com.example.drifter.resource.Resource;
+import com.example.drifter.resource.ResourceFinder;
+import io.kubernetes.client.common.KubernetesListObject;
+import io.kubernetes.client.common.KubernetesObject;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.kubernetes.client.openapi.models.V1Container;
+import io.kubernetes.client.openapi.models.V1NamespaceList;
+import io.kubernetes.client.openapi.models.V1PodSpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * The list-and-extract pipeline shared by every Kubernetes workload kind: namespace resolution,
+ * reads by name, paginated listing, label selectors and exclude patterns, and reading versions
+ * from the pod template. A subclass only supplies the kind's read and list calls and where its
+ * pod template lives.
+ *
+ * @param <T> the workload type, e.g. V1Deployment
+ * @param <L> its list type, e.g. V1DeploymentList
+ */
+public abstract class WorkloadFinder<T extends KubernetesObject, L extends KubernetesListObject> implements ResourceFinder {
+    private static final Logger logger = LoggerFactory.getLogger(WorkloadFinder.class);
+
+    public static final int DEFAULT_LIST_THRESHOLD = 5;
+    // Each list call can return a page of hundreds of objects, so the API server gets fewer at once than Lambda
+    public static final int DEFAULT_CONCURRENCY = 5;
+    static final int LIST_PAGE_SIZE = 500;
+    // A watch keeps its finder for the life of the daemon, so the intern table must not grow with every image seen
+    static final int MAX_INTERNED_STRINGS = 4096;
+
+    private final CoreV1Api coreV1Api;
+    private final Executor executor;
+    private final Throttler throttler;
+    private final MetricsScope metrics;
+    // Thousands of pod templates repeat the same few container names and versions
+    private final Map<String, String> strings = new ConcurrentHashMap<>();
+
+    WorkloadFinder(CoreV1Api coreV1Api, Executor executor, Throttler throttler, MetricsScope metrics) {
+        this.coreV1Api = coreV1Api;
+        this.executor = executor;
+        this.throttler = throttler;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Creates the finder for one workload kind. Finders sharing an API client, and with it its
+     * connection pool, can list their kinds concurrently.
+     *
+     * @param kind Deployment, StatefulSet, DaemonSet or CronJob
+     * @throws IllegalArgumentException for any other kind
+     */
+    public static WorkloadFinder<?, ?> forKind(String kind, ApiClient apiClient, Executor executor,
+                                               Throttler throttler, MetricsScope metrics) {
+        return switch (kind) {
+            case "Deployment" -> new DeploymentFinder(apiClient, executor, throttler, metrics);
+            case "StatefulSet" -> new StatefulSetFinder(apiClient, executor, throttler, metrics);
+            case "DaemonSet" -> new DaemonSetFinder(apiClient, executor, throttler, metrics);
+            case "CronJob" -> new CronJobFinder(apiClient, executor, throttler, metrics);
+            default -> throw new IllegalArgumentException("Unknown workload kind: " + kind);
+        };
+    }
+
+    /**
+     * @return the resource type reported for this kind, e.g. Deployment
+     */
+    abstract String kind();
+
+    abstract T read(String name, String namespace) throws ApiException;
+
+    abstract L list(String namespace, String continueToken, String labelSelector, int limit) throws ApiException;
+
+    abstract L listAllNamespaces(String continueToken, String labelSelector, int limit) throws ApiException;
+
+    /**
+     * @return the pod template's spec, or null if the workload has none
+     */
+    abstract V1PodSpec podSpec(T workload);
+
+    /**
+     * Scans the configured namespace, or with {@code allNamespaces} every namespace in one
+     * paginated list call, or with {@code namespaces} and {@code namespaceSelector} each listed
+     * namespace as its own task on the finder's bounded executor. Outside the single-namespace
+     * mode resources are named {@code <namespace>/<name>}.
+     */
+    @Override
+    public CompletableFuture<List<Resource>> findResources(ResourceConfig config) {
+        NameMatcher excludes;
+        try {
+            excludes = NameMatcher.compile(config.getExclude());
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        if (Boolean.TRUE.equals(config.getAllNamespaces())) {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return findInAllNamespaces(config, excludes);
+                } catch (ApiException e) {
+                    // An empty result would read as every workload removed
+                    throw new CompletionException("Failed to list " + kind() + "s in all namespaces: " + e.getMessage(), e);
+                }
+            }, executor);
+        }
+
+        if (!isMultiNamespace(config)) {
+            return CompletableFuture.supplyAsync(() -> findInNamespace(config, config.getNamespace(), excludes), executor);
+        }
+
+        // Each namespace is a separate task, so none of them blocks a pool thread waiting on another
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return resolveNamespaces(config);
+            } catch (ApiException e) {
+                // Without its namespaces the scan would silently report nothing
+                throw new CompletionException("Failed to list namespaces for " + kind() + "s: " + e.getMessage(), e);
+            }
+        }, executor).thenCompose(namespaces -> {
+            List<CompletableFuture<List<Resource>>> futures = new ArrayList<>();
+            for (String namespace : namespaces) {
+                futures.add(CompletableFuture.supplyAsync(() -> qualify(namespace, findInNamespace(config, namespace, excludes)), executor));
+            }
+            return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenApply(v -> {
+                List<Resource> resources = new ArrayList<>();
+                for (CompletableFuture<List<Resource>> future : futures) {
+                    resources.addAll(future.join());
+                }
+                logger.info("Found {} {}s in {} namespaces", resources.size(), kind(), namespaces.size());
+                return resources;
+            });
+        });
+    }
+
+    /**
+     * Workloads that do not exist are skipped, but any other failed read or list fails the scan,
+     * so the workloads are not reported as removed.
+     */
+    private List<Resource> findInNamespace(ResourceConfig config, String namespace, NameMatcher excludes) {
+        String effectiveNamespace = namespace != null ? namespace : "default";
+        try {
+            if (config.getInclude() != null && !config.getInclude().isEmpty()) {
+                int listThreshold = config.getListThreshold() != null ? config.getListThreshold() : DEFAULT_LIST_THRESHOLD;
+                return findByName(config.getInclude(), effectiveNamespace, excludes, listThreshold);
+            } else {
+                return findByTags(config.getTags(), effectiveNamespace, excludes);
+            }
+        } catch (ApiException e) {
+            throw new CompletionException("Failed to find " + kind() + "s in namespace " + effectiveNamespace + ": "
+                    + e.getMessage(), e);
+        }
+    }
+
+    static boolean isMultiNamespace(ResourceConfig config) {
+        return (config.getNamespaces() != null && !config.getNamespaces().isEmpty())
+                || (config.getNamespaceSelector() != null && !config.getNamespaceSelector().isEmpty());
+    }
+
+    /**
+     * @return {@code namespace}, {@code namespaces} and the namespaces matching {@code namespaceSelector}, without duplicates
+     * @throws ApiException if the namespaces matching the selector cannot be listed
+     */
+    List<String> resolveNamespaces(ResourceConfig config) throws ApiException {
+        Set<String> namespaces = new LinkedHashSet<>();
+        if (config.getNamespace() != null) {
+            namespaces.add(config.getNamespace());
+        }
+        if (config.getNamespaces() != null) {
+            namespaces.addAll(config.getNamespaces());
+        }
+
+        if (config.getNamespaceSelector() != null && !config.getNamespaceSelector().isEmpty()) {
+            String labelSelector = buildLabelSelector(config.getNamespaceSelector());
+            String continueToken = null;
+            do {
+                String pageToken = continueToken;
+                V1NamespaceList namespaceList = call("ListNamespaces", () -> coreV1Api.listNamespace(
+                        null, null, pageToken, null, labelSelector, LIST_PAGE_SIZE, null, null, null, null));
+                if (namespaceList.getItems() != null) {
+                    namespaceList.getItems().forEach(namespace -> namespaces.add(namespace.getMetadata().getName()));
+                }
+                continueToken = namespaceList.getMetadata() != null ? namespaceList.getMetadata().getContinue() : null;
+            } while (continueToken != null && !continueToken.isEmpty());
+        }
+
+        logger.debug("Scanning {}s in namespaces: {}", kind(), namespaces);
+        return new ArrayList<>(namespaces);
+    }
+
+    private static List<Resource> qualify(String namespace, List<Resource> resources) {
+        for (Resource resource : resources) {
+            resource.setName(namespace + "/" + resource.getName());
+        }
+        return resources;
+    }
+
+    /**
+     * One paginated list across the cluster, filtered by the API server on the tags' label
+     * selector; included names are matched in every namespace.
+     */
+    private List<Resource> findInAllNamespaces(ResourceConfig config, NameMatcher excludes) throws ApiException {
+        Set<String> wanted = config.getInclude() != null && !config.getInclude().isEmpty()
+                ? new HashSet<>(config.getInclude())
+                : null;
+        if (wanted == null && (config.getTags() == null || config.getTags().isEmpty())) {
+            return new ArrayList<>();
+        }
+        String labelSelector = wanted == null ? buildLabelSelector(config.getTags()) : null;
+
+        List<Resource> resources = new ArrayList<>();
+        Set<String> found = new HashSet<>();
+        int pages = listPages("List" + kind() + "sForAllNamespaces",
+                pageToken -> listAllNamespaces(pageToken, labelSelector, LIST_PAGE_SIZE), workload -> {
+                    String name = workload.getMetadata().getName();
+                    if ((wanted != null && !wanted.contains(name)) || excludes.matches(name)) {
+                        return;
+                    }
+
+                    Resource resource = toResource(workload, name);
+                    resource.setName(workload.getMetadata().getNamespace() + "/" + name);
+                    resources.add(resource);
+                    found.add(name);
+                    logger.debug("Found {}: {} with version: {}", kind(), resource.getName(), resource.getVersion());
+                });
+
+        if (wanted != null) {
+            for (String name : wanted) {
+                if (!found.contains(name) && !excludes.matches(name)) {
+                    logger.warn("{} not found in any namespace: {}", kind(), name);
+                }
+            }
+        }
+
+        logger.info("Found {} {}s across all namespaces in {} list calls", resources.size(), kind(), pages);
+        return resources;
+    }
+
+    private List<Resource> findByName(List<String> names, String namespace, NameMatcher excludes,
+                                      int listThreshold) throws ApiException {
+        List<String> lookups = new ArrayList<>();
+        for (String name : names) {
+            if (excludes.matches(name)) {
+                logger.debug("Excluding {}: {}", kind(), name);
+                continue;
+            }
+            lookups.add(name);
+        }
+
+        if (lookups.size() > listThreshold) {
+            return findByListing(lookups, namespace);
+        }
+
+        List<Resource> resources = new ArrayList<>();
+
+        for (String name : lookups) {
+            try {
+                T workload = call("Read" + kind(), () -> read(name, namespace));
+
+                Resource resource = toResource(workload, name);
+                resources.add(resource);
+                logger.debug("Found {}: {} with version: {}", kind(), name, resource.getVersion());
+
+            } catch (ApiException e) {
+                // Anything but not-found fails the scan, which would otherwise record the workload as removed
+                if (e.getCode() != 404) {
+                    throw e;
+                }
+                logger.warn("{} not found: {} in namespace: {}", kind(), name, namespace);
+            }
+        }
+
+        return resources;
+    }
+
+    /**
+     * Runs one API server call through the shared rate limit, recording it under the given API name.
+     */
+    <R> R call(String api, Throttler.Call<R, ApiException> call) throws ApiException {
+        return metrics.time(api, () -> throttler.call(call, () -> metrics.retry(api)));
+    }
+
+    /**
+     * Resolves many names with one paginated list call instead of one read per name.
+     * Only the extracted version of each wanted workload outlives its page.
+     */
+    private List<Resource> findByListing(List<String> names, String namespace) throws ApiException {
+        Set<String> wanted = new HashSet<>(names);
+        Map<String, Resource> found = new HashMap<>();
+
+        int pages = listNamespace(namespace, null, workload -> {
+            String name = workload.getMetadata().getName();
+            if (wanted.contains(name)) {
+                found.put(name, toResource(workload, name));
+            }
+        });
+
+        List<Resource> resources = new ArrayList<>();
+        for (String name : names) {
+            Resource resource = found.get(name);
+            if (resource == null) {
+                logger.warn("{} not found: {} in namespace: {}", kind(), name, namespace);
+                continue;
+            }
+            resources.add(resource);
+            logger.debug("Found {}: {} with version: {}", kind(), name, resource.getVersion());
+        }
+
+        logger.info("Resolved {} of {} {}s in {} list calls", resources.size(), names.size(), kind(), pages);
+        return resources;
+    }
+
+    /**
+     * Pages through the namespace with limit/continue and hands each workload to the consumer.
+     *
+     * @return number of list calls made
+     */
+    private int listNamespace(String namespace, String labelSelector, Consumer<T> consumer) throws ApiException {
+        return listPages("List" + kind() + "s", pageToken -> list(namespace, pageToken, labelSelector, LIST_PAGE_SIZE), consumer);
+    }
+
+    @FunctionalInterface
+    interface PageCall<L> {
+        L list(String continueToken) throws ApiException;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int listPages(String api, PageCall<L> pageCall, Consumer<T> consumer) throws ApiException {
+        int pages = 0;
+        String continueToken = null;
+        do {
+            String pageToken = continueToken;
+            L page = call(api, () -> pageCall.list(pageToken));
+            pages++;
+
+            if (page.getItems() != null) {
+                ((List<T>) page.getItems()).forEach(consumer);
+            }
+
+            continueToken = page.getMetadata() != null ? page.getMetadata().getContinue() : null;
+        } while (continueToken != null && !continueToken.isEmpty());
+
+        return pages;
+    }
+
+    private List<Resource> findByTags(Map<String, List<String>> tags, String namespace, NameMatcher excludes) throws ApiException {
+        List<Resource> resources = new ArrayList<>();
+
+        if (tags == null || tags.isEmpty()) {
+            return resources;
+        }
+
+        String labelSelector = buildLabelSelector(tags);
+
+        try {
+            listNamespace(namespace, labelSelector, workload -> {
+                String name = workload.getMetadata().getName();
+
+                if (excludes.matches(name)) {
+                    logger.debug("Excluding {}: {}", kind(), name);
+                    return;
+                }
+
+                Resource resource = toResource(workload, name);
+                resources.add(resource);
+                logger.debug("Found {}: {} with version: {}", kind(), name, resource.getVersion());
+            });
+        } catch (ApiException e) {
+            logger.error("Error listing {}s with label selector {}: {}", kind(), labelSelector, e.getMessage());
+            throw e;
+        }
+
+        return resources;
+    }
+
+    static String buildLabelSelector(Map<String, List<String>> tags) {
+        List<String> selectors = new ArrayList<>();
+
+        for (Map.Entry<String, List<String>> entry : tags.entrySet()) {
+            String key = entry.getKey();
+            List<String> values = entry.getValue();
+
+            if (values.size() == 1) {
+                selectors.add(key + "=" + values.get(0));
+            } else {
+                selectors.add(key + " in (" + String.join(",", values) + ")");
+            }
+        }
+
+        return String.join(",", selectors);
+    }
+
+    /**
+     * The workload's version is read from the container named like the workload, otherwise
+     * from the first container. Every other container and init container becomes a sub-resource,
+     * so sidecar versions are compared too.
+     */
+    Resource toResource(T workload, String name) {
+        V1PodSpec podSpec = podSpec(workload);
+        if (podSpec == null || podSpec.getContainers() == null) {
+            return new Resource(kind(), name, "N/A");
+        }
+
+        List<V1Container> containers = podSpec.getContainers();
+        List<V1Container> initContainers = podSpec.getInitContainers() != null ? podSpec.getInitContainers() : List.of();
+
+        int primary = containers.isEmpty() ? -1 : 0;
+        for (int i = 0; i < containers.size(); i++) {
+            if (name.equals(containers.get(i).getName())) {
+                primary = i;
+                break;
+            }
+        }
+
+        String version = primary >= 0 ? containerVersion(containers.get(primary)) : "N/A";
+        int subResources = initContainers.size() + containers.size() - (primary >= 0 ? 1 : 0);
+        if (subResources == 0) {
+            return new Resource(kind(), name, version);
+        }
+
+        String[] pairs = new String[subResources * 2];
+        int next = 0;
+        for (V1Container container : initContainers) {
+            pairs[next++] = intern(container.getName());
+            pairs[next++] = containerVersion(container);
+        }
+        for (int i = 0; i < containers.size(); i++) {
+            if (i != primary) {
+                pairs[next++] = intern(containers.get(i).getName());
+                pairs[next++] = containerVersion(containers.get(i));
+            }
+        }
+        return new Resource(kind(), name, version, pairs, initContainers.size());
+    }
+
+    private String containerVersion(V1Container container) {
+        return container.getImage() != null ? intern(ImageReference.versionOf(container.getImage())) : "N/A";
+    }
+
+    private String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        // Interning only saves memory, so starting over loses nothing that matters
+        if (strings.size() >= MAX_INTERNED_STRINGS) {
+            strings.clear();
+        }
+        return strings.computeIfAbsent(value, v -> v);
+    }
+
+    int internedStrings() {
+        return strings.size();
+    }
+}
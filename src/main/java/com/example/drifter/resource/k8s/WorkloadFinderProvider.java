@@ -0,0 +1,74 @@
+package com.example.drifter.resource.k8s;
+
+import com.example.drifter.client.ClientRegistry;
+import com.example.drifter.client.Throttler;
+import com.example.drifter.config.Environment;
+import com.example.drifter.resource.FinderContext;
+import com.example.drifter.resource.ResourceFinder;
+import com.example.drifter.resource.ResourceFinderProvider;
+import io.kubernetes.client.openapi.ApiClient;
+
+/**
+ * One Kubernetes workload kind. All kinds of a cluster share its API client and rate limit, so
+ * they list concurrently over the same connections.
+ */
+public abstract class WorkloadFinderProvider implements ResourceFinderProvider {
+    private final String configKey;
+    private final String kind;
+
+    WorkloadFinderProvider(String configKey, String kind) {
+        this.configKey = configKey;
+        this.kind = kind;
+    }
+
+    @Override
+    public String configKey() {
+        return configKey;
+    }
+
+    @Override
+    public String resourceType() {
+        return kind;
+    }
+
+    @Override
+    public int defaultConcurrency() {
+        return WorkloadFinder.DEFAULT_CONCURRENCY;
+    }
+
+    @Override
+    public Throttler throttler(Environment env, ClientRegistry clients) {
+        return clients.kubernetesThrottler(env);
+    }
+
+    @Override
+    public ResourceFinder create(FinderContext context) {
+        ApiClient apiClient = context.getMetrics().time("createClient",
+                () -> context.getClients().kubernetesClient(context.getEnvironment()));
+        return WorkloadFinder.forKind(kind, apiClient, context.getExecutor(), context.getThrottler(), context.getMetrics());
+    }
+
+    public static class Deployments extends WorkloadFinderProvider {
+        public Deployments() {
+            super("deployments", "Deployment");
+        }
+    }
+
+    public static class StatefulSets extends WorkloadFinderProvider {
+        public StatefulSets() {
+            super("statefulSets", "StatefulSet");
+        }
+    }
+
+    public static class DaemonSets extends WorkloadFinderProvider {
+        public DaemonSets() {
+            super("daemonSets", "DaemonSet");
+        }
+    }
+
+    public static class CronJobs extends WorkloadFinderProvider {
+        public CronJobs() {
+            super("cronJobs", "CronJob");
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.drifter.resource.lambda;
+
+import com.example.drifter.output.AtomicFiles;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.lambda.model.FunctionConfiguration;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * On-disk cache of the version tag last read for each Lambda function, keyed by the function's
+ * revision (RevisionId, CodeSha256 and LastModified). A function whose revision has not moved
+ * since the previous run keeps its cached version and needs no ListTags call.
+ * <p>
+ * Tags can be edited without a new revision, so entries are re-validated once they are older
+ * than the TTL. Saving drops the functions this scan did not look at, so deleted functions do not
+ * stay in the file. Unreadable cache files are treated as empty.
+ */
+public class FunctionRevisionCache {
+    private static final Logger logger = LoggerFactory.getLogger(FunctionRevisionCache.class);
+
+    public static final Duration DEFAULT_TTL = Duration.ofHours(24);
+
+    private final Path file;
+    private final Duration ttl;
+    private final Clock clock;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Set<String> seen = ConcurrentHashMap.newKeySet();
+    private volatile int listPages;
+
+    public FunctionRevisionCache(String region, String environment) {
+        this(Paths.get(System.getProperty("user.home"), ".cache", "drifter", "lambda", region + "_" + environment + ".json"),
+                DEFAULT_TTL, Clock.systemUTC());
+    }
+
+    public FunctionRevisionCache(Path file, Duration ttl, Clock clock) {
+        this.file = file;
+        this.ttl = ttl;
+        this.clock = clock;
+        load();
+    }
+
+    private void load() {
+        if (!Files.exists(file)) {
+            return;
+        }
+
+        try {
+            Snapshot snapshot = objectMapper.readValue(file.toFile(), Snapshot.class);
+            if (snapshot.functions != null) {
+                entries.putAll(snapshot.functions);
+            }
+            listPages = snapshot.listPages;
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable Lambda revision cache {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * @return the cached version if the function's revision is unchanged and the entry is within
+     * the TTL, otherwise null
+     */
+    public String getVersion(FunctionConfiguration function) {
+        seen.add(function.functionName());
+        Entry entry = entries.get(function.functionName());
+        if (entry == null || clock.millis() - entry.checkedAt > ttl.toMillis()) {
+            return null;
+        }
+
+        boolean unchanged = Objects.equals(entry.revisionId, function.revisionId())
+                && Objects.equals(entry.codeSha256, function.codeSha256())
+                && Objects.equals(entry.lastModified, function.lastModified());
+        return unchanged ? entry.version : null;
+    }
+
+    public void put(FunctionConfiguration function, String version) {
+        seen.add(function.functionName());
+        entries.put(function.functionName(), new Entry(function.revisionId(), function.codeSha256(),
+                function.lastModified(), version, clock.millis()));
+    }
+
+    /**
+     * @return how many ListFunctions pages the last full listing took, or 0 if unknown
+     */
+    public int getListPages() {
+        return listPages;
+    }
+
+    public void setListPages(int listPages) {
+        this.listPages = listPages;
+    }
+
+    /**
+     * Writes the functions looked up or stored since the cache was loaded; entries no lookup asked
+     * for are evicted.
+     */
+    public synchronized void save() {
+        entries.keySet().retainAll(seen);
+        try {
+            AtomicFiles.writeJson(objectMapper, file, new Snapshot(listPages, entries));
+        } catch (IOException e) {
+            logger.warn("Failed to save Lambda revision cache {}: {}", file, e.getMessage());
+        }
+    }
+
+    public static class Snapshot {
+        @JsonProperty("listPages")
+        private int listPages;
+
+        @JsonProperty("functions")
+        private Map<String, Entry> functions;
+
+        public Snapshot() {}
+
+        public Snapshot(int listPages, Map<String, Entry> functions) {
+            this.listPages = listPages;
+            this.functions = functions;
+        }
+    }
+
+    public static class Entry {
+        @JsonProperty("revisionId")
+        private String revisionId;
+
+        @JsonProperty("codeSha256")
+        private String codeSha256;
+
+        @JsonProperty("lastModified")
+        private String lastModified;
+
+        @JsonProperty("version")
+        private String version;
+
+        @JsonProperty("checkedAt")
+        private long checkedAt;
+
+        public Entry() {}
+
+        public Entry(String revisionId, String codeSha256, String lastModified, String version, long checkedAt) {
+            this.revisionId = revisionId;
+            this.codeSha256 = codeSha256;
+            this.lastModified = lastModified;
+            this.version = version;
+            this.checkedAt = checkedAt;
+        }
+    }
+}
@@ -1,75 +1,459 @@
 package com.example.drifter.resource.lambda;
 
+import com.example.drifter.client.Throttler;
+import com.example.drifter.concurrent.ExecutionModel;
 import com.example.drifter.config.ResourceConfig;
+import com.example.drifter.metrics.MetricsScope;
+import com.example.drifter.resource.NameMatcher;
 import com.example.drifter.resource.Resource;
 import com.example.drifter.resource.ResourceFinder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.services.lambda.LambdaClient;
 import software.amazon.awssdk.services.lambda.model.GetFunctionRequest;
+import software.amazon.awssdk.services.lambda.model.FunctionConfiguration;
 import software.amazon.awssdk.services.lambda.model.GetFunctionResponse;
+import software.amazon.awssdk.services.lambda.model.ListFunctionsRequest;
+import software.amazon.awssdk.services.lambda.model.ListFunctionsResponse;
+import software.amazon.awssdk.services.lambda.model.ListTagsRequest;
 import software.amazon.awssdk.services.lambda.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.resourcegroupstaggingapi.ResourceGroupsTaggingApiClient;
+import software.amazon.awssdk.services.resourcegroupstaggingapi.model.GetResourcesRequest;
+import software.amazon.awssdk.services.resourcegroupstaggingapi.model.GetResourcesResponse;
+import software.amazon.awssdk.services.resourcegroupstaggingapi.model.ResourceTagMapping;
+import software.amazon.awssdk.services.resourcegroupstaggingapi.model.Tag;
+import software.amazon.awssdk.services.resourcegroupstaggingapi.model.TagFilter;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
-public class LambdaFinder implements ResourceFinder {
+public class LambdaFinder implements ResourceFinder, AutoCloseable {
     private static final Logger logger = LoggerFactory.getLogger(LambdaFinder.class);
 
+    public static final int DEFAULT_CONCURRENCY = 10;
+    public static final int DEFAULT_LIST_THRESHOLD = 50;
+
+    private static final String LAMBDA_RESOURCE_TYPE = "lambda:function";
+    private static final int TAGGING_PAGE_SIZE = 100;
+    private static final int LIST_FUNCTIONS_PAGE_SIZE = 50;
+    private static final Pattern REGEX_METACHARACTERS = Pattern.compile("[.*+?^$()\\[\\]{}|\\\\]");
+    // A function name qualified by a version, an alias or $LATEST, e.g. orders:$LATEST
+    private static final Pattern QUALIFIED_NAME = Pattern.compile("([A-Za-z0-9_-]+):(\\$LATEST|[A-Za-z0-9_-]+)");
+
     private final LambdaClient lambdaClient;
+    private final ResourceGroupsTaggingApiClient taggingClient;
+    private final Executor executor;
+    private final FunctionRevisionCache revisionCache;
+    private final Throttler throttler;
+    private final MetricsScope metrics;
+    // Set only when the finder created its own pool
+    private ExecutorService ownedPool;
 
-    public LambdaFinder(LambdaClient lambdaClient) {
+    private volatile LookupStats lastLookupStats;
+
+    /**
+     * @param taggingClient client used for tag-based discovery, may be null if only include lists are used
+     * @param executor runs every Lambda API call; its size bounds how many are in flight at once
+     * @param revisionCache versions from previous runs, reused for functions whose revision has
+     *                      not moved; may be null to always read tags
+     * @param throttler rate limit shared with other finders calling the same account and region;
+     *                  throttled calls are retried through it instead of dropping the function
+     * @param metrics records latency, errors and retries of every API call this finder makes
+     */
+    public LambdaFinder(LambdaClient lambdaClient, ResourceGroupsTaggingApiClient taggingClient, Executor executor,
+                        FunctionRevisionCache revisionCache, Throttler throttler, MetricsScope metrics) {
         this.lambdaClient = lambdaClient;
+        this.taggingClient = taggingClient;
+        this.executor = executor;
+        this.revisionCache = revisionCache;
+        this.throttler = throttler;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Runs the calls on a pool of its own, which {@link #close()} shuts down.
+     */
+    LambdaFinder(LambdaClient lambdaClient, ResourceGroupsTaggingApiClient taggingClient, int concurrency) {
+        this(lambdaClient, taggingClient, ExecutionModel.newPlatformPool("lambda-lookup", concurrency), null,
+                Throttler.forLambda(), MetricsScope.disabled());
+        this.ownedPool = (ExecutorService) executor;
     }
 
     @Override
     public CompletableFuture<List<Resource>> findResources(ResourceConfig config) {
-        return CompletableFuture.supplyAsync(() -> {
-            if (config.getInclude() != null && !config.getInclude().isEmpty()) {
-                return findByName(config.getInclude(), config.getExclude());
+        if (config.getInclude() != null && !config.getInclude().isEmpty()) {
+            int listThreshold = config.getListThreshold() != null ? config.getListThreshold() : DEFAULT_LIST_THRESHOLD;
+            NameMatcher excludes;
+            try {
+                excludes = NameMatcher.compile(config.getExclude());
+            } catch (IllegalArgumentException e) {
+                return CompletableFuture.failedFuture(e);
             }
+            return findByName(config.getInclude(), excludes, listThreshold);
+        }
 
-            // If no include list, we would need to implement tag-based search
-            // For now, return empty list as the original Go code doesn't have a clear implementation
-            logger.warn("Tag-based Lambda discovery not implemented yet");
-            return new ArrayList<>();
-        });
+        // A failed GetResources fails the scan; an empty result would read as every function removed
+        return CompletableFuture.supplyAsync(() -> findByTags(config.getTags(), NameMatcher.compile(config.getExclude())),
+                executor);
     }
 
-    private List<Resource> findByName(List<String> functionNames, List<String> excludePatterns) {
-        List<Resource> resources = new ArrayList<>();
+    /**
+     * Statistics of the most recent lookup, or null if none has completed yet.
+     */
+    public LookupStats getLastLookupStats() {
+        return lastLookupStats;
+    }
 
-        for (String functionName : functionNames) {
-            if (isExcluded(functionName, excludePatterns)) {
+    /**
+     * Shuts down the pool this finder created, if any; an executor passed in stays with its owner.
+     */
+    @Override
+    public void close() {
+        if (ownedPool != null) {
+            ownedPool.shutdown();
+        }
+    }
+
+    private CompletableFuture<List<Resource>> findByName(List<String> functionNames, NameMatcher excludes,
+                                                        int listThreshold) {
+        // ARNs and qualified names are looked up by function name, so a function is reported under
+        // the same name whichever strategy resolves it, and $LATEST is not taken for a regex
+        Set<String> names = new LinkedHashSet<>();
+        boolean hasPatterns = false;
+        for (String include : functionNames) {
+            String functionName = functionName(include);
+            if (isPattern(functionName)) {
+                hasPatterns = true;
+            } else if (excludes.matches(functionName)) {
                 logger.debug("Excluding Lambda function: {}", functionName);
                 continue;
             }
+            names.add(functionName);
+        }
 
-            try {
-                GetFunctionRequest request = GetFunctionRequest.builder()
-                        .functionName(functionName)
-                        .build();
+        List<String> lookups = new ArrayList<>(names);
+        if (lookups.isEmpty()) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
 
-                GetFunctionResponse response = lambdaClient.getFunction(request);
+        // Patterns can only be resolved against a full listing; long lists are cheaper to list than to fetch.
+        // With a revision cache the listing also tells which functions changed, so it wins whenever it
+        // takes fewer pages than there are names; an unknown page count is learned by listing once.
+        boolean cheaperToList = revisionCache != null && revisionCache.getListPages() < lookups.size();
+        if (hasPatterns || lookups.size() > listThreshold || cheaperToList) {
+            return findByListing(lookups, excludes);
+        }
 
-                String version = extractVersion(response.tags());
+        return lookupAll(lookups, this::findFunction).thenApply(resources -> {
+            saveRevisionCache();
+            report(new LookupStats(LookupStrategy.GET_FUNCTION, lookups.size(), lookups.size()));
+            return resources;
+        });
+    }
 
-                resources.add(new Resource("Lambda", functionName, version));
-                logger.debug("Found Lambda function: {} with version: {}", functionName, version);
+    /**
+     * Streams ListFunctions pages into a name index once, resolves every included name and
+     * pattern against it, then fetches tags only for the matched functions whose revision is not
+     * in the revision cache. A failed listing fails the lookup; a failed ListTags only skips its function.
+     */
+    private CompletableFuture<List<Resource>> findByListing(List<String> lookups, NameMatcher excludes) {
+        List<String> patterns = new ArrayList<>();
+        for (String lookup : lookups) {
+            if (isPattern(lookup)) {
+                patterns.add(lookup);
+            }
+        }
 
-            } catch (ResourceNotFoundException e) {
-                logger.warn("Lambda function not found: {}", functionName);
-            } catch (SdkException e) {
-                logger.error("Error retrieving Lambda function {}: {}", functionName, e.getMessage());
+        NameMatcher includes;
+        try {
+            includes = NameMatcher.compile(patterns);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return CompletableFuture.supplyAsync(this::listFunctions, executor)
+                .thenCompose(index -> {
+                    Map<String, FunctionConfiguration> functionsByName = index.functionsByName;
+                    Set<String> exactNames = new LinkedHashSet<>();
+                    Set<String> matched = new LinkedHashSet<>();
+                    for (String lookup : lookups) {
+                        if (!isPattern(lookup)) {
+                            exactNames.add(lookup);
+                            if (functionsByName.containsKey(lookup)) {
+                                matched.add(lookup);
+                            } else {
+                                logger.warn("Lambda function not found: {}", lookup);
+                            }
+                        }
+                    }
+
+                    // Every include pattern is checked in a single pass over the listing
+                    if (!includes.isEmpty()) {
+                        for (String functionName : functionsByName.keySet()) {
+                            if (includes.matches(functionName)) {
+                                if (excludes.matches(functionName)) {
+                                    logger.debug("Excluding Lambda function: {}", functionName);
+                                    continue;
+                                }
+                                matched.add(functionName);
+                            }
+                        }
+                    }
+
+                    List<String> matchedNames = new ArrayList<>(matched);
+                    // Per-name mode would call GetFunction for every exact name and every pattern match
+                    int baseline = exactNames.size()
+                            + (int) matchedNames.stream().filter(name -> !exactNames.contains(name)).count();
+
+                    // Unchanged revisions keep their cached version; only the rest need ListTags
+                    Map<String, Resource> unchanged = new HashMap<>();
+                    List<String> changed = new ArrayList<>();
+                    for (String name : matchedNames) {
+                        String version = revisionCache != null ? revisionCache.getVersion(functionsByName.get(name)) : null;
+                        if (version != null) {
+                            unchanged.put(name, new Resource("Lambda", name, version));
+                        } else {
+                            changed.add(name);
+                        }
+                    }
+
+                    return lookupAll(changed, name -> findTags(functionsByName.get(name)))
+                            .thenApply(fetched -> {
+                                Map<String, Resource> byName = new HashMap<>(unchanged);
+                                for (Resource resource : fetched) {
+                                    byName.put(resource.getName(), resource);
+                                }
+
+                                List<Resource> resources = new ArrayList<>();
+                                for (String name : matchedNames) {
+                                    Resource resource = byName.get(name);
+                                    if (resource != null) {
+                                        resources.add(resource);
+                                    }
+                                }
+
+                                if (revisionCache != null) {
+                                    revisionCache.setListPages(index.pages);
+                                    saveRevisionCache();
+                                }
+                                report(new LookupStats(LookupStrategy.LIST_FUNCTIONS,
+                                        index.pages + changed.size(), baseline, unchanged.size()));
+                                return resources;
+                            });
+                });
+    }
+
+    private FunctionIndex listFunctions() {
+        FunctionIndex index = new FunctionIndex();
+        String marker = null;
+        do {
+            ListFunctionsRequest request = ListFunctionsRequest.builder()
+                    .marker(marker)
+                    .maxItems(LIST_FUNCTIONS_PAGE_SIZE)
+                    .build();
+            ListFunctionsResponse response = call("ListFunctions", () -> lambdaClient.listFunctions(request));
+            index.pages++;
+
+            for (FunctionConfiguration function : response.functions()) {
+                index.functionsByName.put(function.functionName(), function);
             }
+
+            marker = response.nextMarker();
+        } while (marker != null && !marker.isEmpty());
+
+        return index;
+    }
+
+    /**
+     * Runs one lookup per name on the executor without blocking any thread on the results.
+     * Latency tracks the slowest call, not the sum; results keep the order of the names. A
+     * lookup that fails for any reason but a missing function fails the whole result.
+     */
+    private CompletableFuture<List<Resource>> lookupAll(List<String> functionNames, Function<String, Resource> lookup) {
+        List<CompletableFuture<Resource>> futures = new ArrayList<>(functionNames.size());
+        for (String functionName : functionNames) {
+            futures.add(CompletableFuture.supplyAsync(() -> lookup.apply(functionName), executor));
         }
 
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenApply(v -> {
+            List<Resource> resources = new ArrayList<>();
+            for (CompletableFuture<Resource> future : futures) {
+                Resource resource = future.join();
+                if (resource != null) {
+                    resources.add(resource);
+                }
+            }
+            return resources;
+        });
+    }
+
+    private Resource findTags(FunctionConfiguration function) {
+        String functionName = function.functionName();
+        try {
+            ListTagsRequest request = ListTagsRequest.builder()
+                    .resource(function.functionArn())
+                    .build();
+            Map<String, String> tags = call("ListTags", () -> lambdaClient.listTags(request)).tags();
+
+            String version = extractVersion(tags);
+            if (revisionCache != null) {
+                revisionCache.put(function, version);
+            }
+
+            logger.debug("Found Lambda function: {} with version: {}", functionName, version);
+            return new Resource("Lambda", functionName, version);
+
+        } catch (ResourceNotFoundException e) {
+            logger.warn("Lambda function not found: {}", functionName);
+        }
+        return null;
+    }
+
+    /**
+     * Runs one Lambda API call through the shared rate limit, recording it under the given API name.
+     * A call still throttled once the throttler gives up is rethrown, failing the lookup rather than
+     * dropping the function.
+     */
+    private <T> T call(String api, Throttler.Call<T, RuntimeException> call) {
+        return metrics.time(api, () -> throttler.call(call, () -> metrics.retry(api)));
+    }
+
+    private void saveRevisionCache() {
+        if (revisionCache != null) {
+            revisionCache.save();
+        }
+    }
+
+    private void report(LookupStats stats) {
+        lastLookupStats = stats;
+        logger.info("Lambda lookup used {} strategy: {} API calls instead of {} ({} saved, {} functions unchanged)",
+                stats.getStrategy(), stats.getApiCalls(), stats.getBaselineCalls(), stats.getSavedCalls(),
+                stats.getUnchanged());
+    }
+
+    static boolean isPattern(String include) {
+        return REGEX_METACHARACTERS.matcher(include).find();
+    }
+
+    private Resource findFunction(String functionName) {
+        try {
+            GetFunctionRequest request = GetFunctionRequest.builder()
+                    .functionName(functionName)
+                    .build();
+
+            GetFunctionResponse response = call("GetFunction", () -> lambdaClient.getFunction(request));
+
+            String version = extractVersion(response.tags());
+            if (revisionCache != null && response.configuration() != null) {
+                revisionCache.put(response.configuration(), version);
+            }
+
+            logger.debug("Found Lambda function: {} with version: {}", functionName, version);
+            return new Resource("Lambda", functionName, version);
+
+        } catch (ResourceNotFoundException e) {
+            logger.warn("Lambda function not found: {}", functionName);
+        }
+        return null;
+    }
+
+    /**
+     * Discovers functions through the Resource Groups Tagging API. Each page carries the
+     * function ARNs together with their tags, so the version is read without a GetFunction call.
+     */
+    private List<Resource> findByTags(Map<String, List<String>> tags, NameMatcher excludes) {
+        List<Resource> resources = new ArrayList<>();
+
+        if (tags == null || tags.isEmpty()) {
+            logger.warn("No include list or tags configured for Lambda discovery");
+            return resources;
+        }
+
+        if (taggingClient == null) {
+            logger.warn("Tag-based Lambda discovery requires a Resource Groups Tagging API client");
+            return resources;
+        }
+
+        List<TagFilter> tagFilters = new ArrayList<>();
+        for (Map.Entry<String, List<String>> entry : tags.entrySet()) {
+            TagFilter.Builder filter = TagFilter.builder().key(entry.getKey());
+            if (entry.getValue() != null && !entry.getValue().isEmpty()) {
+                filter.values(entry.getValue());
+            }
+            tagFilters.add(filter.build());
+        }
+
+        GetResourcesRequest request = GetResourcesRequest.builder()
+                .resourceTypeFilters(LAMBDA_RESOURCE_TYPE)
+                .tagFilters(tagFilters)
+                .resourcesPerPage(TAGGING_PAGE_SIZE)
+                .build();
+
+        int pages = 0;
+        String paginationToken = null;
+        do {
+            GetResourcesRequest page = request.toBuilder().paginationToken(paginationToken).build();
+            GetResourcesResponse response = call("GetResources", () -> taggingClient.getResources(page));
+            pages++;
+
+            for (ResourceTagMapping mapping : response.resourceTagMappingList()) {
+                String functionName = extractFunctionName(mapping.resourceARN());
+
+                if (excludes.matches(functionName)) {
+                    logger.debug("Excluding Lambda function: {}", functionName);
+                    continue;
+                }
+
+                String version = extractVersion(toMap(mapping.tags()));
+                resources.add(new Resource("Lambda", functionName, version));
+                logger.debug("Found Lambda function: {} with version: {}", functionName, version);
+            }
+
+            paginationToken = response.paginationToken();
+        } while (paginationToken != null && !paginationToken.isEmpty());
+
+        logger.info("Discovered {} Lambda functions by tags in {} GetResources calls", resources.size(), pages);
+        report(new LookupStats(LookupStrategy.TAGGING_API, pages, resources.size()));
         return resources;
     }
 
+    /**
+     * @return the function name of an ARN or of a qualified name such as {@code orders:$LATEST},
+     * otherwise the include itself
+     */
+    static String functionName(String include) {
+        if (include.startsWith("arn:")) {
+            return extractFunctionName(include);
+        }
+        Matcher qualified = QUALIFIED_NAME.matcher(include);
+        return qualified.matches() ? qualified.group(1) : include;
+    }
+
+    static String extractFunctionName(String functionArn) {
+        // arn:aws:lambda:<region>:<account>:function:<name>[:<qualifier>]
+        String[] parts = functionArn.split(":");
+        return parts.length >= 7 ? parts[6] : functionArn;
+    }
+
+    private Map<String, String> toMap(List<Tag> tags) {
+        Map<String, String> result = new HashMap<>();
+        for (Tag tag : tags) {
+            result.put(tag.key(), tag.value());
+        }
+        return result;
+    }
+
     private String extractVersion(Map<String, String> tags) {
         if (tags == null) {
             return "N/A";
@@ -78,4 +462,9 @@ public class LambdaFinder implements ResourceFinder {
         String version = tags.get("version");
         return (version != null && !version.isEmpty()) ? version : "N/A";
     }
+
+    private static class FunctionIndex {
+        private final Map<String, FunctionConfiguration> functionsByName = new LinkedHashMap<>();
+        private int pages;
+    }
 }
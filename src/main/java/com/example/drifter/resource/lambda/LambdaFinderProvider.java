@@ -0,0 +1,42 @@
+package com.example.drifter.resource.lambda;
+
+import com.example.drifter.client.ClientRegistry;
+import com.example.drifter.client.Throttler;
+import com.example.drifter.config.Environment;
+import com.example.drifter.resource.FinderContext;
+import com.example.drifter.resource.ResourceFinder;
+import com.example.drifter.resource.ResourceFinderProvider;
+
+/**
+ * Lambda functions, configured by the {@code lambdas} section.
+ */
+public class LambdaFinderProvider implements ResourceFinderProvider {
+
+    @Override
+    public String configKey() {
+        return "lambdas";
+    }
+
+    @Override
+    public String resourceType() {
+        return "Lambda";
+    }
+
+    @Override
+    public int defaultConcurrency() {
+        return LambdaFinder.DEFAULT_CONCURRENCY;
+    }
+
+    @Override
+    public Throttler throttler(Environment env, ClientRegistry clients) {
+        return clients.lambdaThrottler(env);
+    }
+
+    @Override
+    public ResourceFinder create(FinderContext context) {
+        Environment env = context.getEnvironment();
+        ClientRegistry clients = context.getClients();
+        return new LambdaFinder(clients.lambdaClient(env), clients.taggingClient(env), context.getExecutor(),
+                new FunctionRevisionCache(env.getRegion(), env.getName()), context.getThrottler(), context.getMetrics());
+    }
+}
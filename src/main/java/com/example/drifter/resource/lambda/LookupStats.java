@@ -0,0 +1,62 @@
+package com.example.drifter.resource.lambda;
+
+/**
+ * API call accounting for a single {@link LambdaFinder} lookup, used to tune the list threshold.
+ */
+public class LookupStats {
+    private final LookupStrategy strategy;
+    private final int apiCalls;
+    private final int baselineCalls;
+    private final int unchanged;
+
+    /**
+     * @param apiCalls calls actually made by the chosen strategy
+     * @param baselineCalls calls the one-GetFunction-per-function approach would have made
+     */
+    public LookupStats(LookupStrategy strategy, int apiCalls, int baselineCalls) {
+        this(strategy, apiCalls, baselineCalls, 0);
+    }
+
+    /**
+     * @param unchanged functions whose version came from the revision cache without a tag lookup
+     */
+    public LookupStats(LookupStrategy strategy, int apiCalls, int baselineCalls, int unchanged) {
+        this.strategy = strategy;
+        this.apiCalls = apiCalls;
+        this.baselineCalls = baselineCalls;
+        this.unchanged = unchanged;
+    }
+
+    public LookupStrategy getStrategy() {
+        return strategy;
+    }
+
+    public int getApiCalls() {
+        return apiCalls;
+    }
+
+    public int getBaselineCalls() {
+        return baselineCalls;
+    }
+
+    public int getUnchanged() {
+        return unchanged;
+    }
+
+    /**
+     * Negative when the chosen strategy cost more than per-function lookups.
+     */
+    public int getSavedCalls() {
+        return baselineCalls - apiCalls;
+    }
+
+    @Override
+    public String toString() {
+        return "LookupStats{" +
+                "strategy=" + strategy +
+                ", apiCalls=" + apiCalls +
+                ", baselineCalls=" + baselineCalls +
+                ", unchanged=" + unchanged +
+                '}';
+    }
+}
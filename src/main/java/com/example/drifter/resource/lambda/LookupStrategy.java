@@ -0,0 +1,16 @@
+package com.example.drifter.resource.lambda;
+
+/**
+ * How {@link LambdaFinder} resolved the configured functions.
+ */
+public enum LookupStrategy {
+    /** One GetFunction call per included name. */
+    GET_FUNCTION,
+    /**
+     * ListFunctions pages indexed in memory, plus one ListTags call per matched function whose
+     * revision moved since the version was last cached.
+     */
+    LIST_FUNCTIONS,
+    /** Resource Groups Tagging API GetResources pages, which carry the tags themselves. */
+    TAGGING_API
+}
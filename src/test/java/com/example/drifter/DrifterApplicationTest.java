@@ -0,0 +1,189 @@
+package com.example.drifter;
+
+import com.example.drifter.client.ClientRegistry;
+import com.example.drifter.client.Throttler;
+import com.example.drifter.concurrent.ExecutionModel;
+import com.example.drifter.config.DrifterConfig;
+import com.example.drifter.config.Environment;
+import com.example.drifter.config.ResourceConfig;
+import com.example.drifter.drift.DriftClassifier;
+import com.example.drifter.drift.DriftMatrix;
+import com.example.drifter.history.SnapshotStore;
+import com.example.drifter.history.VersionChange;
+import com.example.drifter.resource.FinderContext;
+import com.example.drifter.resource.ResourceFinder;
+import com.example.drifter.resource.ResourceFinderProvider;
+import com.example.drifter.resource.lambda.LambdaFinder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.lambda.LambdaClient;
+import software.amazon.awssdk.services.lambda.model.FunctionConfiguration;
+import software.amazon.awssdk.services.lambda.model.GetFunctionRequest;
+import software.amazon.awssdk.services.lambda.model.GetFunctionResponse;
+import software.amazon.awssdk.services.lambda.model.LambdaException;
+import software.amazon.awssdk.services.lambda.model.ListFunctionsRequest;
+import software.amazon.awssdk.services.lambda.model.ListFunctionsResponse;
+import software.amazon.awssdk.services.lambda.model.ListTagsRequest;
+import software.amazon.awssdk.services.lambda.model.ListTagsResponse;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DrifterApplicationTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testFailedListingMarksEnvironmentFailedInsteadOfRecordingRemovals() throws Exception {
+        // Arrange
+        DrifterConfig config = new DrifterConfig();
+        config.setEnvironments(List.of(new Environment("dev", "eu-west-1", null, null),
+                new Environment("prod", "eu-west-1", null, null)));
+        ResourceConfig lambdas = new ResourceConfig();
+        lambdas.setInclude(List.of("billing"));
+        lambdas.setListThreshold(0);
+        config.setLambdas(lambdas);
+
+        LambdaClient devClient = lambdaClient();
+        LambdaClient prodClient = lambdaClient();
+        when(prodClient.listFunctions(any(ListFunctionsRequest.class)))
+                .thenReturn(ListFunctionsResponse.builder().functions(function("billing")).build())
+                .thenThrow(SdkClientException.create("Unable to execute HTTP request"));
+
+        List<ResourceFinderProvider> providers = List.of(provider(Map.of("dev", devClient, "prod", prodClient)));
+        Path file = directory.resolve("history.dat");
+        scan(config, providers, file, "2024-01-01T00:00:00Z");
+
+        // Act
+        DriftMatrix matrix = new DriftMatrix(List.of("dev", "prod"));
+        List<VersionChange> changes = scan(config, providers, file, "2024-01-02T00:00:00Z", matrix);
+
+        // Assert
+        assertFalse(matrix.isFailed(0));
+        assertTrue(matrix.isFailed(1));
+        assertTrue(changes.isEmpty());
+        try (SnapshotStore store = new SnapshotStore(file, Clock.systemUTC())) {
+            assertEquals("1.0.0", store.getVersion("Lambda", "billing", "prod"));
+        }
+    }
+
+    @Test
+    void testFailedGetFunctionMarksEnvironmentFailedInsteadOfRecordingARemoval() throws Exception {
+        // Arrange
+        DrifterConfig config = new DrifterConfig();
+        config.setEnvironments(List.of(new Environment("dev", "eu-west-1", null, null),
+                new Environment("prod", "eu-west-1", null, null)));
+        ResourceConfig lambdas = new ResourceConfig();
+        lambdas.setInclude(List.of("billing"));
+        config.setLambdas(lambdas);
+
+        LambdaClient devClient = lambdaClient();
+        LambdaClient prodClient = lambdaClient();
+        when(devClient.getFunction(any(GetFunctionRequest.class))).thenReturn(taggedFunction("1.0.0"));
+        when(prodClient.getFunction(any(GetFunctionRequest.class)))
+                .thenReturn(taggedFunction("1.0.0"))
+                .thenThrow(LambdaException.builder().statusCode(500).message("Internal failure").build());
+
+        List<ResourceFinderProvider> providers = List.of(provider(Map.of("dev", devClient, "prod", prodClient)));
+        Path file = directory.resolve("history.dat");
+        scan(config, providers, file, "2024-01-01T00:00:00Z");
+
+        // Act
+        DriftMatrix matrix = new DriftMatrix(List.of("dev", "prod"));
+        List<VersionChange> changes = scan(config, providers, file, "2024-01-02T00:00:00Z", matrix);
+
+        // Assert
+        assertTrue(matrix.isFailed(1));
+        assertTrue(changes.isEmpty());
+        verify(prodClient, never()).listFunctions(any(ListFunctionsRequest.class));
+    }
+
+    private static List<VersionChange> scan(DrifterConfig config, List<ResourceFinderProvider> providers, Path file,
+                                            String time) throws Exception {
+        return scan(config, providers, file, time, new DriftMatrix(List.of("dev", "prod")));
+    }
+
+    private static List<VersionChange> scan(DrifterConfig config, List<ResourceFinderProvider> providers, Path file,
+                                            String time, DriftMatrix matrix) throws Exception {
+        DrifterApplication app = new DrifterApplication();
+        DriftClassifier classifier = new DriftClassifier(matrix, "dev");
+        try (ClientRegistry clients = new ClientRegistry();
+             ExecutionModel execution = ExecutionModel.create(ExecutionModel.Mode.PLATFORM)) {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (Environment env : config.getEnvironments()) {
+                futures.add(app.processEnvironment(env, config, providers, clients, execution,
+                        (resources, failed) -> app.onEnvironmentReported(matrix, classifier, null, env.getName(), resources, failed)));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+        }
+
+        try (SnapshotStore store = new SnapshotStore(file, Clock.fixed(Instant.parse(time), ZoneOffset.UTC))) {
+            return store.record(matrix);
+        }
+    }
+
+    private static LambdaClient lambdaClient() {
+        LambdaClient client = mock(LambdaClient.class);
+        when(client.listFunctions(any(ListFunctionsRequest.class)))
+                .thenReturn(ListFunctionsResponse.builder().functions(function("billing")).build());
+        when(client.listTags(any(ListTagsRequest.class)))
+                .thenReturn(ListTagsResponse.builder().tags(Map.of("version", "1.0.0")).build());
+        return client;
+    }
+
+    /**
+     * Builds real Lambda finders around a mocked client per environment.
+     */
+    private static ResourceFinderProvider provider(Map<String, LambdaClient> clients) {
+        return new ResourceFinderProvider() {
+            @Override
+            public String configKey() {
+                return "lambdas";
+            }
+
+            @Override
+            public String resourceType() {
+                return "Lambda";
+            }
+
+            @Override
+            public int defaultConcurrency() {
+                return 2;
+            }
+
+            @Override
+            public Throttler throttler(Environment env, ClientRegistry registry) {
+                return Throttler.forLambda();
+            }
+
+            @Override
+            public ResourceFinder create(FinderContext context) {
+                return new LambdaFinder(clients.get(context.getEnvironment().getName()), null, context.getExecutor(), null,
+                        context.getThrottler(), context.getMetrics());
+            }
+        };
+    }
+
+    private static GetFunctionResponse taggedFunction(String version) {
+        return GetFunctionResponse.builder().tags(Map.of("version", version)).build();
+    }
+
+    private static FunctionConfiguration function(String name) {
+        return FunctionConfiguration.builder()
+                .functionName(name)
+                .functionArn("arn:aws:lambda:eu-west-1:123456789012:function:" + name)
+                .build();
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.drifter.client;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import software.amazon.awssdk.auth.credentials.AwsCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.services.sts.StsClient;
+import software.amazon.awssdk.services.sts.model.AssumeRoleRequest;
+import software.amazon.awssdk.services.sts.model.AssumeRoleResponse;
+import software.amazon.awssdk.services.sts.model.Credentials;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AssumeRoleCredentialsCacheTest {
+
+    private static final String ROLE_A = "arn:aws:iam::111111111111:role/drifter";
+    private static final String ROLE_B = "arn:aws:iam::222222222222:role/drifter";
+
+    @Mock
+    private StsClient stsClient;
+
+    private AssumeRoleCredentialsCache cache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        cache = new AssumeRoleCredentialsCache(stsClient);
+
+        when(stsClient.assumeRole(any(AssumeRoleRequest.class))).thenAnswer(invocation -> {
+            AssumeRoleRequest request = invocation.getArgument(0);
+            return AssumeRoleResponse.builder()
+                    .credentials(Credentials.builder()
+                            .accessKeyId("AKIA-" + request.roleArn().substring(13, 25))
+                            .secretAccessKey("secret")
+                            .sessionToken("token")
+                            .expiration(Instant.now().plus(Duration.ofHours(1)))
+                            .build())
+                    .build();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.close();
+    }
+
+    @Test
+    void testSameRoleSharesOneSession() {
+        // Act
+        AwsCredentialsProvider first = cache.forRole(ROLE_A);
+        AwsCredentialsProvider second = cache.forRole(ROLE_A);
+        AwsCredentials credentials = first.resolveCredentials();
+        second.resolveCredentials();
+
+        // Assert
+        assertSame(first, second);
+        assertEquals("AKIA-111111111111", credentials.accessKeyId());
+        verify(stsClient, times(1)).assumeRole(any(AssumeRoleRequest.class));
+    }
+
+    @Test
+    void testDifferentRolesGetSeparateSessions() {
+        // Act
+        AwsCredentials a = cache.forRole(ROLE_A).resolveCredentials();
+        AwsCredentials b = cache.forRole(ROLE_B).resolveCredentials();
+
+        // Assert
+        assertEquals("AKIA-111111111111", a.accessKeyId());
+        assertEquals("AKIA-222222222222", b.accessKeyId());
+        verify(stsClient, times(2)).assumeRole(any(AssumeRoleRequest.class));
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.drifter.client;
+
+import io.kubernetes.client.openapi.ApiClient;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientRegistryTest {
+
+    @Test
+    void testSlowKubernetesClientDoesNotHoldUpOtherClusters() throws Exception {
+        try (ClientRegistry clients = new ClientRegistry()) {
+            // Arrange
+            CountDownLatch describing = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            AtomicInteger created = new AtomicInteger();
+            ApiClient slow = new ApiClient();
+            CompletableFuture<ApiClient> first = CompletableFuture.supplyAsync(() -> clients.kubernetesClient("slow", () -> {
+                created.incrementAndGet();
+                describing.countDown();
+                await(release);
+                return slow;
+            }));
+            assertTrue(describing.await(5, TimeUnit.SECONDS));
+            CompletableFuture<ApiClient> waiting = CompletableFuture.supplyAsync(() -> clients.kubernetesClient("slow", () -> {
+                created.incrementAndGet();
+                return new ApiClient();
+            }));
+
+            // Act
+            ApiClient other = clients.kubernetesClient("other", ApiClient::new);
+            release.countDown();
+
+            // Assert
+            assertNotNull(other);
+            assertSame(slow, first.get(5, TimeUnit.SECONDS));
+            assertSame(slow, waiting.get(5, TimeUnit.SECONDS));
+            assertEquals(1, created.get());
+        }
+    }
+
+    @Test
+    void testFailedKubernetesClientIsRetried() {
+        try (ClientRegistry clients = new ClientRegistry()) {
+            // Arrange
+            ApiClient client = new ApiClient();
+
+            // Act
+            IllegalStateException e = assertThrows(IllegalStateException.class, () -> clients.kubernetesClient("prod", () -> {
+                throw new IllegalStateException("DescribeCluster failed");
+            }));
+
+            // Assert
+            assertEquals("DescribeCluster failed", e.getMessage());
+            assertSame(client, clients.kubernetesClient("prod", () -> client));
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
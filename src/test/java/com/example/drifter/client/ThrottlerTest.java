@@ -0,0 +1,128 @@
+package com.example.drifter.client;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.lambda.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.lambda.model.TooManyRequestsException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThrottlerTest {
+
+    private final List<Long> sleeps = new ArrayList<>();
+
+    @Test
+    void testThrottledCallIsRetriedUntilItSucceeds() {
+        // Arrange
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(10, 1, 50, () -> 0L);
+        Throttler throttler = throttler(limiter, 5);
+        ThrottlingStub stub = new ThrottlingStub(3);
+
+        // Act
+        String result = throttler.call(stub::call);
+
+        // Assert
+        assertEquals("ok", result);
+        assertEquals(4, stub.attempts.get());
+        assertEquals(3, throttler.getThrottles());
+        assertEquals(4, throttler.getCalls());
+        assertTrue(limiter.getRate() < 10, "rate backs off after throttling");
+    }
+
+    @Test
+    void testBackoffUsesDecorrelatedJitterWithinBounds() {
+        // The limiter's clock advances with every sleep, so its own waits stay out of the way
+        AtomicLong now = new AtomicLong();
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(50, 50, 50, now::get);
+        Throttler throttler = new Throttler(limiter, Throttler.AWS_THROTTLING, 8, 100_000_000L, 1_000_000_000L,
+                new Random(42), nanos -> {
+                    sleeps.add(nanos);
+                    now.addAndGet(nanos);
+                });
+
+        assertThrows(TooManyRequestsException.class, () -> throttler.call(new ThrottlingStub(100)::call));
+
+        // Seven retries, each delay between the base and three times the previous one, capped
+        assertEquals(7, sleeps.size());
+        long previous = 100_000_000L;
+        for (long sleep : sleeps) {
+            assertTrue(sleep >= 100_000_000L && sleep <= Math.min(1_000_000_000L, previous * 3),
+                    "delay " + sleep + " after " + previous);
+            previous = sleep;
+        }
+        assertEquals(8, throttler.getThrottles());
+    }
+
+    @Test
+    void testOtherErrorsAreNotRetried() {
+        Throttler throttler = throttler(new AdaptiveRateLimiter(10, 1, 50, () -> 0L), 5);
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(ResourceNotFoundException.class, () -> throttler.call(() -> {
+            attempts.incrementAndGet();
+            throw ResourceNotFoundException.builder().statusCode(404).build();
+        }));
+
+        assertEquals(1, attempts.get());
+        assertTrue(sleeps.isEmpty());
+    }
+
+    @Test
+    void testLimiterSpacesCallsAndRecoversAfterThrottling() {
+        // Arrange
+        AtomicLong now = new AtomicLong();
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(2, 1, 4, now::get);
+
+        // Act & Assert: a full bucket of two, then one permit every half second
+        assertEquals(0, limiter.reserve());
+        assertEquals(0, limiter.reserve());
+        assertEquals(500_000_000L, limiter.reserve());
+
+        limiter.onThrottle();
+        assertEquals(1.0, limiter.getRate());
+        now.addAndGet(1_000_000_000L);
+        assertEquals(1_000_000_000L, limiter.reserve(), "the permit still owed is paid back at the reduced rate");
+
+        for (int i = 0; i < 100; i++) {
+            limiter.onSuccess();
+        }
+        assertEquals(4.0, limiter.getRate());
+    }
+
+    @Test
+    void testRecognisesThrottlingResponses() {
+        assertTrue(Throttler.AWS_THROTTLING.test(TooManyRequestsException.builder().statusCode(429).build()));
+        assertTrue(Throttler.AWS_THROTTLING.test(AwsServiceException.builder().statusCode(429).build()));
+        assertFalse(Throttler.AWS_THROTTLING.test(ResourceNotFoundException.builder().statusCode(404).build()));
+        assertTrue(Throttler.KUBERNETES_THROTTLING.test(new io.kubernetes.client.openapi.ApiException(429, "Too Many Requests")));
+    }
+
+    private Throttler throttler(AdaptiveRateLimiter limiter, int maxAttempts) {
+        return new Throttler(limiter, Throttler.AWS_THROTTLING, maxAttempts, 100, 1_000, new Random(42), sleeps::add);
+    }
+
+    /**
+     * Stands in for an API that answers 429 a fixed number of times before succeeding.
+     */
+    private static class ThrottlingStub {
+        private final int throttles;
+        private final AtomicInteger attempts = new AtomicInteger();
+
+        ThrottlingStub(int throttles) {
+            this.throttles = throttles;
+        }
+
+        String call() {
+            if (attempts.incrementAndGet() <= throttles) {
+                throw TooManyRequestsException.builder().statusCode(429).message("Rate exceeded").build();
+            }
+            return "ok";
+        }
+    }
+}
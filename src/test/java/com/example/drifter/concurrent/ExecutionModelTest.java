@@ -0,0 +1,135 @@
+package com.example.drifter.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutionModelTest {
+
+    @Test
+    void testGatedExecutorRunsAtMostItsThreadCount() throws Exception {
+        // Arrange
+        ExecutorService threads = Executors.newCachedThreadPool();
+        InstrumentedExecutor executor = new InstrumentedExecutor("test", threads, 2, true, null);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Act
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            }, executor));
+        }
+        awaitActive(executor, 2);
+        Thread.sleep(50);
+        release.countDown();
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(2, maxInFlight.get());
+        assertEquals(2, executor.getPeakActiveTasks());
+        assertEquals(6, executor.getCompletedTasks());
+        assertEquals(0, executor.getQueueDepth());
+        threads.shutdownNow();
+    }
+
+    @Test
+    void testGlobalCapIsSharedAcrossExecutors() throws Exception {
+        // Arrange
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        try (ExecutionModel execution = ExecutionModel.create(ExecutionModel.Mode.PLATFORM, 1)) {
+            // Act
+            for (String type : List.of("Lambda", "Deployment")) {
+                InstrumentedExecutor executor = execution.executorFor("dev", type, 2);
+                for (int i = 0; i < 4; i++) {
+                    futures.add(CompletableFuture.runAsync(() -> {
+                        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                        sleep(5);
+                        inFlight.decrementAndGet();
+                    }, executor));
+                }
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+        }
+
+        // Assert
+        assertEquals(1, maxInFlight.get());
+    }
+
+    @Test
+    void testPermitsAreReleasedWhenTaskThrows() {
+        // Arrange
+        Semaphore shared = new Semaphore(1);
+        InstrumentedExecutor executor = new InstrumentedExecutor("test", Runnable::run, 1, true, shared);
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> executor.execute(() -> {
+            throw new IllegalStateException("lookup failed");
+        }));
+
+        // Assert: both permits are back, so the next task does not block
+        assertEquals(1, shared.availablePermits());
+        assertEquals(0, executor.getActiveTasks());
+        AtomicInteger ran = new AtomicInteger();
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> executor.execute(ran::incrementAndGet));
+        assertEquals(1, ran.get());
+        assertEquals(2, executor.getCompletedTasks());
+    }
+
+    @Test
+    void testExecutorIsReusedOnlyWithTheSameConcurrency() {
+        try (ExecutionModel execution = ExecutionModel.create(ExecutionModel.Mode.PLATFORM)) {
+            // Arrange
+            InstrumentedExecutor executor = execution.executorFor("dev", "Lambda", 2);
+
+            // Act & Assert
+            assertSame(executor, execution.executorFor("dev", "Lambda", 2));
+            assertThrows(IllegalArgumentException.class, () -> execution.executorFor("dev", "Lambda", 5));
+            assertNotSame(executor, execution.executorFor("prod", "Lambda", 5));
+        }
+    }
+
+    @Test
+    void testInvalidLimitsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> ExecutionModel.newPlatformPool("test", 0));
+        assertThrows(IllegalArgumentException.class, () -> ExecutionModel.create(ExecutionModel.Mode.PLATFORM, 0));
+    }
+
+    private static void awaitActive(InstrumentedExecutor executor, int active) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getActiveTasks() < active && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.drifter.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConfigurationReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testYamlReadWithResourceSections() throws Exception {
+        Path file = tempDir.resolve("config.yml");
+        Files.writeString(file, String.join("\n",
+                "envs:",
+                "  - name: dev",
+                "    region: eu-west-1",
+                "    clusterName: dev",
+                "  - name: prod",
+                "    region: eu-west-1",
+                "    clusterName: prod",
+                "reference: prod",
+                "lambdas:",
+                "  include: [billing]",
+                "cronJobs:",
+                "  namespace: batch",
+                ""));
+
+        DrifterConfig config = new ConfigurationReader().readFile(file.toString());
+
+        assertEquals(2, config.getEnvironments().size());
+        assertEquals("billing", config.getLambdas().getInclude().get(0));
+        assertEquals("batch", config.getResourceConfig("cronJobs").getNamespace());
+    }
+
+    @Test
+    void testEveryProblemReportedBeforeAnyClientIsBuilt() throws Exception {
+        Path file = tempDir.resolve("config.json");
+        Files.writeString(file, "{\"envs\": [{\"name\": \"dev\"}, {\"name\": \"dev\", \"region\": \"eu-west-1\"}],"
+                + " \"reference\": \"prod\", \"lambdas\": {\"exclude\": [\"(unclosed\"]}}");
+
+        IOException e = assertThrows(IOException.class, () -> new ConfigurationReader().readFile(file.toString()));
+
+        assertTrue(e.getMessage().contains("environment 'dev' has no region"), e.getMessage());
+        assertTrue(e.getMessage().contains("duplicate environment name 'dev'"), e.getMessage());
+        assertTrue(e.getMessage().contains("reference environment 'prod'"), e.getMessage());
+        assertTrue(e.getMessage().contains("invalid pattern '(unclosed' in lambdas.exclude"), e.getMessage());
+    }
+
+    @Test
+    void testPatternsCheckedWithTheFindersMatcher() {
+        DrifterConfig config = new DrifterConfig();
+        Environment env = new Environment();
+        env.setName("dev");
+        env.setRegion("eu-west-1");
+        env.setClusterName("dev-cluster");
+        config.setEnvironments(List.of(env));
+        ResourceConfig deployments = new ResourceConfig();
+        deployments.setExclude(List.of("x(y)z", "(a+)-\\1", "broken["));
+        config.setResourceConfig("deployments", deployments);
+
+        List<String> problems = ConfigurationReader.validate(config);
+
+        assertEquals(1, problems.size(), problems.toString());
+        assertTrue(problems.get(0).startsWith("invalid pattern 'broken[' in deployments.exclude"), problems.get(0));
+    }
+
+    @Test
+    void testClusterNameRequiredOnlyWithKubernetesSections() {
+        DrifterConfig config = new DrifterConfig();
+        Environment dev = new Environment();
+        dev.setName("dev");
+        dev.setRegion("eu-west-1");
+        dev.setClusterName("dev-cluster");
+        Environment prod = new Environment();
+        prod.setName("prod");
+        prod.setRegion("eu-west-1");
+        config.setEnvironments(List.of(dev, prod));
+        config.setLambdas(new ResourceConfig());
+
+        assertTrue(ConfigurationReader.validate(config).isEmpty());
+
+        config.setResourceConfig("cronJobs", new ResourceConfig());
+        List<String> problems = ConfigurationReader.validate(config);
+
+        assertEquals(List.of("environment 'prod' has no clusterName, needed by cronJobs"), problems);
+    }
+}
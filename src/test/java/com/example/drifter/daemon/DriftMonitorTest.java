@@ -0,0 +1,70 @@
+package com.example.drifter.daemon;
+
+import com.example.drifter.resource.Resource;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DriftMonitorTest {
+
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private final DriftMonitor monitor = new DriftMonitor(List.of("dev", "prod"),
+            new PrintStream(output, true, StandardCharsets.UTF_8));
+
+    @Test
+    void testDriftRecomputedPerChange() {
+        monitor.listenerFor("dev").onChange("Deployment", "api", "1.1.0");
+        assertTrue(monitor.isDrifted("Deployment", "api"), "prod has not reported yet");
+
+        monitor.listenerFor("prod").onChange("Deployment", "api", "1.1.0");
+        assertFalse(monitor.isDrifted("Deployment", "api"));
+
+        monitor.listenerFor("dev").onChange("Deployment", "api", "1.2.0");
+        assertTrue(monitor.isDrifted("Deployment", "api"));
+
+        assertEquals(3, lines().length);
+    }
+
+    @Test
+    void testUnchangedVersionPrintsNothing() {
+        monitor.update("dev", "Deployment", "api", "1.0.0");
+        monitor.update("dev", "Deployment", "api", "1.0.0");
+
+        assertEquals(1, lines().length);
+    }
+
+    @Test
+    void testReplaceRemovesResourcesMissingFromPoll() {
+        monitor.replace("dev", "Lambda", List.of(new Resource("Lambda", "billing", "1.0.0")));
+        monitor.replace("prod", "Lambda", List.of(new Resource("Lambda", "billing", "1.0.0")));
+        assertFalse(monitor.isDrifted("Lambda", "billing"));
+
+        monitor.replace("prod", "Lambda", List.of());
+
+        assertTrue(monitor.isDrifted("Lambda", "billing"));
+        assertTrue(lines()[lines().length - 1].contains("prod=N/A"));
+    }
+
+    @Test
+    void testReplaceTracksContainersOfPolledResources() {
+        monitor.replace("dev", "StatefulSet", List.of(new Resource("StatefulSet", "db", "1.0.0",
+                new String[]{"exporter", "0.9.0"}, 0)));
+        monitor.replace("prod", "StatefulSet", List.of(new Resource("StatefulSet", "db", "1.0.0",
+                new String[]{"exporter", "0.9.0"}, 0)));
+        assertFalse(monitor.isDrifted("StatefulSet/" + Resource.CONTAINER_TYPE, "db/exporter"));
+
+        monitor.replace("prod", "StatefulSet", List.of(new Resource("StatefulSet", "db", "1.0.0")));
+
+        assertFalse(monitor.isDrifted("StatefulSet", "db"));
+        assertTrue(monitor.isDrifted("StatefulSet/" + Resource.CONTAINER_TYPE, "db/exporter"));
+    }
+
+    private String[] lines() {
+        return output.toString(StandardCharsets.UTF_8).split("\n");
+    }
+}
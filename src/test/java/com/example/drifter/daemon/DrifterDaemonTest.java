@@ -0,0 +1,59 @@
+package com.example.drifter.daemon;
+
+import com.example.drifter.client.ClientRegistry;
+import com.example.drifter.concurrent.ExecutionModel;
+import com.example.drifter.config.DrifterConfig;
+import com.example.drifter.config.Environment;
+import com.example.drifter.config.ResourceConfig;
+import com.example.drifter.metrics.ScanMetrics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DrifterDaemonTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testMetricsFileWrittenWhenOnlyDeploymentsAreWatched() throws Exception {
+        // Arrange
+        DrifterConfig config = new DrifterConfig();
+        config.setEnvironments(List.of(new Environment("dev", "eu-west-1", null, "dev-cluster")));
+        config.setDeployments(new ResourceConfig());
+        ClientRegistry clients = mock(ClientRegistry.class);
+        when(clients.kubernetesWatchClient(any())).thenThrow(new IllegalStateException("no cluster in tests"));
+        Path metricsFile = directory.resolve("drifter.prom");
+
+        // Act
+        try (DrifterDaemon daemon = new DrifterDaemon(config, Duration.ofMillis(20),
+                ExecutionModel.create(ExecutionModel.Mode.PLATFORM), new ScanMetrics(), metricsFile,
+                new PrintStream(new ByteArrayOutputStream(), true, StandardCharsets.UTF_8), clients)) {
+            daemon.start();
+            awaitFile(metricsFile);
+        }
+
+        // Assert
+        assertTrue(Files.exists(metricsFile));
+        verify(clients).kubernetesWatchClient(any());
+    }
+
+    private static void awaitFile(Path file) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!Files.exists(file) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.drifter.drift;
+
+import com.example.drifter.resource.Resource;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DriftClassifierTest {
+
+    @Test
+    void testClassifiesAgainstReferenceRegardlessOfColumnOrder() {
+        // Arrange
+        DriftMatrix matrix = new DriftMatrix(List.of("dev", "stg", "prod"));
+        matrix.addAll("dev", List.of(new Resource("Lambda", "billing", "1.10.0"), new Resource("Lambda", "orders", "2.0.0")));
+        matrix.addAll("stg", List.of(new Resource("Lambda", "billing", "1.2.0"), new Resource("Lambda", "orders", "1.9.0")));
+        matrix.addAll("prod", List.of(new Resource("Lambda", "billing", "1.2.0"), new Resource("Lambda", "orders", "2.0.0")));
+
+        // Act
+        DriftClassifier classifier = new DriftClassifier(matrix, "prod");
+        classifier.classifyAll();
+
+        // Assert
+        assertEquals(DriftClassifier.Status.AHEAD, classifier.getRowStatus(0), "1.10.0 is newer than 1.2.0");
+        assertEquals(DriftClassifier.Status.AHEAD, classifier.getStatus(0, 0));
+        assertEquals(DriftClassifier.Status.IN_SYNC, classifier.getStatus(0, 1));
+        assertEquals(8, classifier.getMinorDistance(0, 0));
+
+        assertEquals(DriftClassifier.Status.BEHIND, classifier.getRowStatus(1));
+        assertEquals(DriftClassifier.Status.IN_SYNC, classifier.getStatus(1, 0));
+        assertEquals(-1, classifier.getMajorDistance(1, 1));
+    }
+
+    @Test
+    void testMixedOrMissingVersionsDiverge() {
+        DriftMatrix matrix = new DriftMatrix(List.of("dev", "stg", "prod"));
+        matrix.addAll("dev", List.of(new Resource("Lambda", "billing", "1.3.0"), new Resource("Lambda", "orders", "latest")));
+        matrix.addAll("stg", List.of(new Resource("Lambda", "billing", "1.1.0")));
+        matrix.addAll("prod", List.of(new Resource("Lambda", "billing", "1.2.0"), new Resource("Lambda", "orders", "1.0.0")));
+
+        DriftClassifier classifier = new DriftClassifier(matrix, "prod");
+        classifier.classifyAll();
+
+        assertEquals(DriftClassifier.Status.DIVERGED, classifier.getRowStatus(0));
+        assertEquals(DriftClassifier.Status.DIVERGED, classifier.getStatus(1, 0), "not a semantic version");
+        assertEquals(DriftClassifier.Status.DIVERGED, classifier.getStatus(1, 1), "missing in stg");
+        assertEquals(0, classifier.getMajorDistance(1, 0));
+    }
+
+    @Test
+    void testSemanticPrecedence() {
+        assertEquals(DriftClassifier.Status.IN_SYNC, DriftClassifier.compare("v1.2.0", "1.2.0+build.7"));
+        assertEquals(DriftClassifier.Status.AHEAD, DriftClassifier.compare("1.2.0", "1.2.0-rc.1"));
+        assertEquals(DriftClassifier.Status.BEHIND, DriftClassifier.compare("1.2.0-rc.2", "1.2.0-rc.10"));
+        assertEquals(DriftClassifier.Status.AHEAD, DriftClassifier.compare("1.2.0-rc", "1.2.0-beta.3"));
+        assertEquals(DriftClassifier.Status.BEHIND,
+                DriftClassifier.compare("2.0.0-SNAPSHOT-20240101.1-a1b2c3d", "2.0.0-SNAPSHOT-20240102.1-d4e5f6a"));
+        assertEquals(DriftClassifier.Status.IN_SYNC, DriftClassifier.compare(null, null));
+        assertEquals(DriftClassifier.Status.DIVERGED, DriftClassifier.compare("1.0.0", null));
+    }
+
+    @Test
+    void testUnknownReferenceIsRejected() {
+        DriftMatrix matrix = new DriftMatrix(List.of("dev", "prod"));
+
+        assertThrows(IllegalArgumentException.class, () -> new DriftClassifier(matrix, "qa"));
+    }
+}
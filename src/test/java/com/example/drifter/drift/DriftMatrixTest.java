@@ -0,0 +1,109 @@
+package com.example.drifter.drift;
+
+import com.example.drifter.resource.Resource;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DriftMatrixTest {
+
+    @Test
+    void testRowsAreKeyedByTypeAndName() {
+        // Arrange
+        DriftMatrix matrix = new DriftMatrix(List.of("dev", "prod"));
+
+        // Act
+        matrix.addAll("dev", List.of(
+                new Resource("Lambda", "billing", "1.0.0"),
+                new Resource("Deployment", "billing", "2.0.0")));
+        matrix.addAll("prod", List.of(new Resource("Lambda", "billing", "0.9.0")));
+
+        // Assert
+        assertEquals(2, matrix.getRowCount());
+        assertEquals("Lambda", matrix.getType(0));
+        assertEquals("1.0.0", matrix.getVersion(0, 0));
+        assertEquals("0.9.0", matrix.getVersion(0, 1));
+        assertEquals("Deployment", matrix.getType(1));
+        assertNull(matrix.getVersion(1, 1));
+    }
+
+    @Test
+    void testGrowsBeyondInitialCapacityAndSharesVersions() {
+        DriftMatrix matrix = new DriftMatrix(List.of("dev", "stg", "prod"));
+
+        for (int i = 0; i < 1000; i++) {
+            for (String env : matrix.getEnvironments()) {
+                matrix.add(env, new Resource("Lambda", "fn-" + i, new String("1.0.0")));
+            }
+        }
+
+        assertEquals(1000, matrix.getRowCount());
+        assertEquals("fn-999", matrix.getName(999));
+        assertSame(matrix.getVersion(0, 0), matrix.getVersion(999, 2));
+    }
+
+    @Test
+    void testRowsCompleteOnceEveryEnvironmentReported() {
+        // Arrange
+        DriftMatrix matrix = new DriftMatrix(List.of("dev", "prod"));
+
+        // Act & Assert
+        matrix.addAll("dev", List.of(
+                new Resource("Lambda", "billing", "1.0.0"),
+                new Resource("Lambda", "invoices", "1.0.0")));
+        matrix.markReported("dev");
+        assertEquals(List.of(), matrix.takeCompletedRows());
+
+        matrix.add("prod", new Resource("Lambda", "invoices", "1.0.0"));
+        assertEquals(List.of(1), matrix.takeCompletedRows());
+
+        matrix.markReported("prod");
+        assertEquals(List.of(0), matrix.takeCompletedRows());
+        assertEquals(List.of(), matrix.takeCompletedRows());
+    }
+
+    @Test
+    void testUnknownEnvironmentIsRejected() {
+        DriftMatrix matrix = new DriftMatrix(List.of("dev"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> matrix.add("qa", new Resource("Lambda", "billing", "1.0.0")));
+    }
+
+    @Test
+    void testContainersGetRowsOfTheirOwn() {
+        DriftMatrix matrix = new DriftMatrix(List.of("dev", "prod"));
+
+        matrix.add("dev", new Resource("Deployment", "api", "1.2.0", new String[]{"migrate", "1.0.0", "envoy", "1.28.0"}, 1));
+        matrix.add("prod", new Resource("Deployment", "api", "1.2.0", new String[]{"envoy", "1.27.0"}, 0));
+
+        assertEquals(3, matrix.getRowCount());
+        assertEquals("Deployment/InitContainer", matrix.getType(1));
+        assertEquals("api/migrate", matrix.getName(1));
+        assertNull(matrix.getVersion(1, 1));
+        assertEquals("Deployment/Container", matrix.getType(2));
+        assertEquals("1.28.0", matrix.getVersion(2, 0));
+        assertEquals("1.27.0", matrix.getVersion(2, 1));
+    }
+
+    @Test
+    void testContainersOfKindsSharingANameKeepSeparateRows() {
+        // Arrange
+        DriftMatrix matrix = new DriftMatrix(List.of("dev"));
+
+        // Act
+        matrix.add("dev", new Resource("Deployment", "api", "1.2.0", new String[]{"envoy", "1.28.0"}, 0));
+        matrix.add("dev", new Resource("EcsService", "api", "1.2.0", new String[]{"envoy", "1.27.0"}, 0));
+
+        // Assert
+        assertEquals(4, matrix.getRowCount());
+        assertEquals("Deployment/Container", matrix.getType(1));
+        assertEquals("api/envoy", matrix.getName(1));
+        assertEquals("1.28.0", matrix.getVersion(1, 0));
+        assertEquals("EcsService/Container", matrix.getType(3));
+        assertEquals("api/envoy", matrix.getName(3));
+        assertEquals("1.27.0", matrix.getVersion(3, 0));
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.drifter.history;
+
+import com.example.drifter.drift.DriftMatrix;
+import com.example.drifter.resource.Resource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRecordsOnlyChangedCellsAcrossReopens() throws Exception {
+        // Arrange
+        Path file = directory.resolve("history.dat");
+        record(file, "2024-01-01T00:00:00Z", matrix("1.0.0", "1.0.0"));
+
+        // Act
+        List<VersionChange> unchanged = record(file, "2024-01-02T00:00:00Z", matrix("1.0.0", "1.0.0"));
+        List<VersionChange> changed = record(file, "2024-01-03T00:00:00Z", matrix("1.1.0", "1.0.0"));
+
+        // Assert
+        assertTrue(unchanged.isEmpty());
+        assertEquals(1, changed.size());
+        assertEquals("dev", changed.get(0).getEnvironment());
+        assertEquals("1.0.0", changed.get(0).getPreviousVersion());
+        assertEquals("1.1.0", changed.get(0).getVersion());
+
+        try (SnapshotStore store = open(file, "2024-01-04T00:00:00Z")) {
+            assertEquals(3, store.getRunCount());
+            assertEquals("1.1.0", store.getVersion("Lambda", "billing", "dev"));
+        }
+    }
+
+    @Test
+    void testLastMatchFindsLatestRunWithEqualVersions() throws Exception {
+        // Arrange
+        Path file = directory.resolve("history.dat");
+        record(file, "2024-01-01T00:00:00Z", matrix("1.0.0", "0.9.0"));
+        record(file, "2024-01-02T00:00:00Z", matrix("1.0.0", "1.0.0"));
+        record(file, "2024-01-03T00:00:00Z", matrix("1.0.0", "1.0.0"));
+        record(file, "2024-01-04T00:00:00Z", matrix("1.1.0", "1.0.0"));
+
+        // Act & Assert
+        try (SnapshotStore store = open(file, "2024-01-05T00:00:00Z")) {
+            assertEquals(Instant.parse("2024-01-03T00:00:00Z"), store.lastMatch("Lambda", "billing", "prod", "dev"));
+            assertNull(store.lastMatch("Lambda", "billing", "prod", "stg"));
+            assertEquals(List.of("Lambda"), store.getTypes("billing"));
+        }
+    }
+
+    @Test
+    void testFailedEnvironmentIsNotRecordedAsRemovals() throws Exception {
+        // Arrange
+        Path file = directory.resolve("history.dat");
+        record(file, "2024-01-01T00:00:00Z", matrix("1.0.0", "1.0.0"));
+
+        DriftMatrix failed = new DriftMatrix(List.of("dev", "prod"));
+        failed.addAll("dev", List.of(new Resource("Lambda", "billing", "1.0.0")));
+        failed.markFailed("prod");
+
+        // Act
+        List<VersionChange> changes = record(file, "2024-01-02T00:00:00Z", failed);
+        List<VersionChange> removed = record(file, "2024-01-03T00:00:00Z", new DriftMatrix(List.of("dev", "prod")));
+
+        // Assert
+        assertTrue(changes.isEmpty());
+        assertEquals(2, removed.size());
+        assertNull(removed.get(0).getVersion());
+    }
+
+    @Test
+    void testIgnoresUncommittedTail() throws Exception {
+        // Arrange
+        Path file = directory.resolve("history.dat");
+        record(file, "2024-01-01T00:00:00Z", matrix("1.0.0", "1.0.0"));
+
+        // Garbage past the committed length, as left by a run killed mid-write
+        byte[] bytes = Files.readAllBytes(file);
+        int committed = (int) ByteBuffer.wrap(bytes).getLong(8);
+        bytes[committed] = 3;
+        bytes[committed + 1] = 42;
+        Files.write(file, bytes);
+
+        // Act
+        List<VersionChange> changes = record(file, "2024-01-02T00:00:00Z", matrix("1.0.0", "1.0.0"));
+
+        // Assert
+        assertTrue(changes.isEmpty());
+        try (SnapshotStore store = open(file, "2024-01-03T00:00:00Z")) {
+            assertEquals(2, store.getRunCount());
+        }
+    }
+
+    @Test
+    void testRejectsForeignFile() throws Exception {
+        Path file = directory.resolve("history.dat");
+        Files.writeString(file, "not a snapshot store");
+
+        assertThrows(IOException.class, () -> open(file, "2024-01-01T00:00:00Z"));
+    }
+
+    private static DriftMatrix matrix(String devVersion, String prodVersion) {
+        DriftMatrix matrix = new DriftMatrix(List.of("dev", "prod"));
+        matrix.addAll("dev", List.of(new Resource("Lambda", "billing", devVersion)));
+        matrix.addAll("prod", List.of(new Resource("Lambda", "billing", prodVersion)));
+        return matrix;
+    }
+
+    private static List<VersionChange> record(Path file, String time, DriftMatrix matrix) throws IOException {
+        try (SnapshotStore store = open(file, time)) {
+            return store.record(matrix);
+        }
+    }
+
+    private static SnapshotStore open(Path file, String time) throws IOException {
+        return new SnapshotStore(file, Clock.fixed(Instant.parse(time), ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.drifter.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScanMetricsTest {
+
+    @Test
+    void testScopeRecordsCallsErrorsAndRetriesPerSeries() throws Exception {
+        // Arrange
+        ScanMetrics metrics = new ScanMetrics();
+        MetricsScope prod = metrics.scope("prod", "Lambda");
+
+        // Act
+        assertEquals("ok", prod.time("GetFunction", () -> "ok"));
+        assertThrows(IllegalStateException.class, () -> prod.time("GetFunction", () -> {
+            throw new IllegalStateException("boom");
+        }));
+        prod.retry("GetFunction");
+        metrics.scope("dev", "Lambda").timeAsync("findResources", () -> CompletableFuture.completedFuture(1)).get();
+
+        // Assert
+        List<ScanMetrics.ApiMetrics> series = metrics.getSeries();
+        assertEquals(2, series.size());
+        assertEquals("dev", series.get(0).getEnvironment(), "series are sorted by environment");
+
+        ScanMetrics.ApiMetrics getFunction = series.get(1);
+        assertEquals("GetFunction", getFunction.getApi());
+        assertEquals(2, getFunction.getCalls());
+        assertEquals(1, getFunction.getErrors());
+        assertEquals(1, getFunction.getRetries());
+    }
+
+    @Test
+    void testHistogramPercentilesUseBucketBounds() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 90; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(3));
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(700));
+        }
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(5), histogram.getPercentileNanos(0.5));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(700), histogram.getPercentileNanos(0.95), "capped at the maximum");
+        assertEquals(90, histogram.getCumulativeCount(0));
+        assertEquals(100, histogram.getCumulativeCount(LatencyHistogram.getBucketCount() - 1));
+    }
+
+    @Test
+    void testWritesPrometheusTextFormat() throws Exception {
+        // Arrange
+        ScanMetrics metrics = new ScanMetrics();
+        MetricsScope scope = metrics.scope("prod \"eu\"", "Deployment");
+        scope.time("ListDeployments", () -> null);
+        scope.retry("ListDeployments");
+
+        // Act
+        StringWriter out = new StringWriter();
+        metrics.writePrometheus(out);
+
+        // Assert
+        String text = out.toString();
+        String labels = "env=\"prod \\\"eu\\\"\",type=\"Deployment\",api=\"ListDeployments\"";
+        assertTrue(text.contains("# TYPE drifter_api_call_duration_seconds histogram\n"));
+        assertTrue(text.contains("drifter_api_call_duration_seconds_bucket{" + labels + ",le=\"+Inf\"} 1\n"));
+        assertTrue(text.contains("drifter_api_call_duration_seconds_count{" + labels + "} 1\n"));
+        assertTrue(text.contains("drifter_api_call_errors_total{" + labels + "} 0\n"));
+        assertTrue(text.contains("drifter_api_call_retries_total{" + labels + "} 1\n"));
+    }
+
+    @Test
+    void testFailedFileWriteLeavesNoTemporaryFile(@TempDir Path directory) throws Exception {
+        // Arrange: a non-empty directory where the file should go makes the final move fail
+        Path file = directory.resolve("drifter.prom");
+        Files.createDirectories(file.resolve("occupied"));
+        ScanMetrics metrics = new ScanMetrics();
+        metrics.scope("prod", "Lambda").time("GetFunction", () -> null);
+
+        // Act
+        assertThrows(IOException.class, () -> metrics.writePrometheus(file));
+
+        // Assert
+        try (var files = Files.list(directory)) {
+            assertEquals(List.of(file), files.toList());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.drifter.output;
+
+import com.example.drifter.drift.DriftMatrix;
+import com.example.drifter.resource.Resource;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DriftJsonWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testNdjsonWritesOneObjectPerLine() throws Exception {
+        // Arrange
+        DriftMatrix matrix = matrix();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        try (DriftJsonWriter writer = new DriftJsonWriter(out, DriftJsonWriter.Format.NDJSON)) {
+            writer.writeRow(matrix, 0);
+            assertTrue(out.toString(StandardCharsets.UTF_8).endsWith("}"), "rows are flushed as they are written");
+            writer.writeRow(matrix, 1);
+        }
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("billing", first.get("name").asText());
+        assertEquals("1.0.0", first.get("versions").get("prod").asText());
+        assertFalse(objectMapper.readTree(lines[1]).get("versions").has("prod"));
+    }
+
+    @Test
+    void testNdjsonWithoutRowsWritesNothing() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        new DriftJsonWriter(out, DriftJsonWriter.Format.NDJSON).close();
+
+        // Assert
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    void testJsonWritesSingleArray() throws Exception {
+        DriftMatrix matrix = matrix();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (DriftJsonWriter writer = new DriftJsonWriter(out, DriftJsonWriter.Format.JSON)) {
+            writer.writeRow(matrix, 0);
+            writer.writeRow(matrix, 1);
+        }
+
+        JsonNode array = objectMapper.readTree(out.toByteArray());
+        assertTrue(array.isArray());
+        assertEquals(2, array.size());
+        assertEquals("Deployment", array.get(1).get("type").asText());
+    }
+
+    private static DriftMatrix matrix() {
+        DriftMatrix matrix = new DriftMatrix(List.of("dev", "prod"));
+        matrix.addAll("dev", List.of(
+                new Resource("Lambda", "billing", "1.1.0"),
+                new Resource("Deployment", "api", "2.0.0")));
+        matrix.addAll("prod", List.of(new Resource("Lambda", "billing", "1.0.0")));
+        return matrix;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.drifter.resource;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageReferenceTest {
+
+    @Test
+    void testRegistryWithPort() {
+        ImageReference reference = ImageReference.parse("registry.example.com:5000/team/orders:2.0.0-SNAPSHOT-20240101.1-a1b2c3d");
+
+        assertEquals("registry.example.com:5000", reference.getRegistry());
+        assertEquals("team/orders", reference.getRepository());
+        assertEquals("2.0.0-SNAPSHOT-20240101.1-a1b2c3d", reference.getVersion());
+        assertEquals("SNAPSHOT-20240101.1-a1b2c3d", reference.getPreRelease());
+        assertEquals(2, reference.getMajor());
+    }
+
+    @Test
+    void testPortWithoutTagIsNotAVersion() {
+        ImageReference reference = ImageReference.parse("localhost:5000/orders");
+
+        assertEquals("localhost:5000", reference.getRegistry());
+        assertEquals("orders", reference.getRepository());
+        assertNull(reference.getTag());
+        assertFalse(reference.hasSemanticVersion());
+    }
+
+    @Test
+    void testTagAndDigest() {
+        ImageReference reference = ImageReference.parse("ghcr.io/example/worker:v1.42.7+build.5@sha256:4f53cda18c2b");
+
+        assertEquals("ghcr.io", reference.getRegistry());
+        assertEquals("example/worker", reference.getRepository());
+        assertEquals("v1.42.7+build.5", reference.getTag());
+        assertEquals("sha256:4f53cda18c2b", reference.getDigest());
+        assertEquals("1.42.7", reference.getVersion());
+        assertNull(reference.getPreRelease());
+        assertEquals(42, reference.getMinor());
+        assertEquals(7, reference.getPatch());
+    }
+
+    @Test
+    void testDigestOnly() {
+        ImageReference reference = ImageReference.parse("example/worker@sha256:4f53cda18c2b");
+
+        assertNull(reference.getRegistry());
+        assertEquals("example/worker", reference.getRepository());
+        assertNull(reference.getTag());
+        assertEquals("sha256:4f53cda18c2b", reference.getDigest());
+        assertFalse(reference.hasSemanticVersion());
+    }
+
+    @Test
+    void testNonSemanticTags() {
+        assertFalse(ImageReference.parse("nginx:latest").hasSemanticVersion());
+        assertFalse(ImageReference.parse("billing:1.2").hasSemanticVersion());
+        assertFalse(ImageReference.parse("billing:1.2.3.4").hasSemanticVersion());
+        assertFalse(ImageReference.parse("billing:1.2.3-").hasSemanticVersion());
+        assertEquals("10.3.12", ImageReference.parse("billing:10.3.12").getVersion());
+    }
+
+    @Test
+    void testVersionEndsAtTrailingText() {
+        assertEquals("1.2.3", ImageReference.parse("billing:1.2.3_20240101").getVersion());
+        assertEquals("1.2.3", ImageReference.parse("billing:v1.2.3~hotfix").getVersion());
+
+        ImageReference reference = ImageReference.parse("billing:1.2.3-rc1_build");
+        assertEquals("1.2.3-rc1", reference.getVersion());
+        assertEquals("rc1", reference.getPreRelease());
+        assertEquals(3, reference.getPatch());
+
+        assertEquals("1.2.3", ImageReference.parse("billing:1.2.3+build.5_x").getVersion());
+    }
+
+    @Test
+    void testVersionOfReadsNaWithoutASemanticVersion() {
+        assertEquals("1.42.7", ImageReference.versionOf("ghcr.io/example/worker:v1.42.7"));
+        assertEquals("N/A", ImageReference.versionOf("ghcr.io/example/worker:latest"));
+        assertEquals("N/A", ImageReference.versionOf("ghcr.io/example/worker@sha256:4f53cda18c2b"));
+        assertEquals("N/A", ImageReference.versionOf(null));
+    }
+}
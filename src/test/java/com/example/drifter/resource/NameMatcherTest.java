@@ -0,0 +1,75 @@
+package com.example.drifter.resource;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameMatcherTest {
+
+    private static final List<String> NAMES = List.of(
+            "orders", "orders-api", "payments-api", "payments-api-canary", "legacy-billing",
+            "service-LogRetention-1", "report-backup-12", "report-backup-x", "a.b", "axb", "");
+
+    @Test
+    void testMatchesLikeTheRegularExpressions() {
+        List<String> patterns = List.of("orders", "legacy-.*", "^.*-canary$", ".*LogRetention.*",
+                ".*-backup-\\d+", "a\\.b", "pay(ments)?-a.i");
+        NameMatcher matcher = NameMatcher.compile(patterns);
+
+        for (String name : NAMES) {
+            boolean expected = patterns.stream().anyMatch(pattern -> Pattern.compile(pattern).matcher(name).matches());
+            assertEquals(expected, matcher.matches(name), name);
+        }
+    }
+
+    @Test
+    void testEmptyMatchesNothing() {
+        assertTrue(NameMatcher.compile(null).isEmpty());
+        assertFalse(NameMatcher.compile(List.of()).matches("orders"));
+    }
+
+    @Test
+    void testMatchAll() {
+        NameMatcher matcher = NameMatcher.compile(List.of("^.*$"));
+        assertTrue(matcher.matches("anything"));
+        assertTrue(matcher.matches(""));
+    }
+
+    @Test
+    void testBackReferencesAreNotFused() {
+        NameMatcher matcher = NameMatcher.compile(List.of("(a+)-\\1", "x(y)z"));
+        assertTrue(matcher.matches("aa-aa"));
+        assertFalse(matcher.matches("aa-a"));
+        assertTrue(matcher.matches("xyz"));
+    }
+
+    @Test
+    void testBackReferencesAreNotFusedInAnyOrder() {
+        NameMatcher matcher = NameMatcher.compile(List.of("x(y)z", "(a+)-\\1", "(?<env>dev|prd)-\\k<env>", "b(c)d"));
+        assertTrue(matcher.matches("aa-aa"));
+        assertFalse(matcher.matches("aa-a"));
+        assertTrue(matcher.matches("dev-dev"));
+        assertFalse(matcher.matches("dev-prd"));
+        assertTrue(matcher.matches("xyz"));
+        assertTrue(matcher.matches("bcd"));
+    }
+
+    @Test
+    void testDetectsBackReferencesAndNamedGroups() {
+        assertTrue(NameMatcher.hasBackReferenceOrNamedGroup("(a+)-\\1"));
+        assertTrue(NameMatcher.hasBackReferenceOrNamedGroup("(?<env>dev)"));
+        assertFalse(NameMatcher.hasBackReferenceOrNamedGroup("a\\\\1"));
+        assertFalse(NameMatcher.hasBackReferenceOrNamedGroup("(?<=a)b(?<!c)"));
+        assertFalse(NameMatcher.hasBackReferenceOrNamedGroup("pay(ments)?-\\d+"));
+    }
+
+    @Test
+    void testInvalidPatternIsRejected() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> NameMatcher.compile(List.of("orders", "broken[")));
+        assertTrue(e.getMessage().contains("broken["));
+    }
+}
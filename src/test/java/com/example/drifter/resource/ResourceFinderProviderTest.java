@@ -0,0 +1,61 @@
+package com.example.drifter.resource;
+
+import com.example.drifter.config.DrifterConfig;
+import com.example.drifter.config.Environment;
+import com.example.drifter.config.ResourceConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResourceFinderProviderTest {
+
+    @Test
+    void testBuiltInProvidersDiscovered() {
+        List<String> keys = new ArrayList<>();
+        for (ResourceFinderProvider provider : ResourceFinderProvider.loadAll()) {
+            keys.add(provider.configKey());
+        }
+
+        assertEquals(List.of("lambdas", "deployments", "statefulSets", "daemonSets", "cronJobs", "ecsServices"), keys);
+    }
+
+    @Test
+    void testOnlyConfiguredSectionsScheduled() throws Exception {
+        DrifterConfig config = new ObjectMapper().readValue(
+                "{\"envs\": [], \"cronJobs\": {\"namespace\": \"batch\"}, \"lambdas\": {\"include\": [\"billing\"]}}",
+                DrifterConfig.class);
+
+        List<ResourceFinderProvider> providers = ResourceFinderProvider.forConfig(config);
+
+        assertEquals(2, providers.size());
+        assertEquals("Lambda", providers.get(0).resourceType());
+        assertEquals("CronJob", providers.get(1).resourceType());
+        assertEquals("batch", config.getResourceConfig("cronJobs").getNamespace());
+    }
+
+    @Test
+    void testUnknownSectionRejected() throws Exception {
+        DrifterConfig config = new ObjectMapper().readValue("{\"envs\": [], \"lamdas\": {}}", DrifterConfig.class);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> ResourceFinderProvider.forConfig(config));
+        assertTrue(e.getMessage().contains("'lamdas'"));
+    }
+
+    @Test
+    void testConcurrencyFromSectionThenEnvironmentThenProvider() {
+        ResourceFinderProvider provider = ResourceFinderProvider.loadAll().get(0);
+        Environment env = new Environment("dev", "eu-west-1", null, null);
+        ResourceConfig config = new ResourceConfig();
+
+        assertEquals(provider.defaultConcurrency(), provider.concurrency(env, config));
+        env.setConcurrency(3);
+        assertEquals(3, provider.concurrency(env, config));
+        config.setConcurrency(7);
+        assertEquals(7, provider.concurrency(env, config));
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.drifter.resource.ecs;
+
+import com.example.drifter.client.Throttler;
+import com.example.drifter.config.ResourceConfig;
+import com.example.drifter.metrics.MetricsScope;
+import com.example.drifter.resource.Resource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import software.amazon.awssdk.services.ecs.EcsClient;
+import software.amazon.awssdk.services.ecs.model.ContainerDefinition;
+import software.amazon.awssdk.services.ecs.model.DescribeServicesRequest;
+import software.amazon.awssdk.services.ecs.model.DescribeServicesResponse;
+import software.amazon.awssdk.services.ecs.model.DescribeTaskDefinitionRequest;
+import software.amazon.awssdk.services.ecs.model.DescribeTaskDefinitionResponse;
+import software.amazon.awssdk.services.ecs.model.EcsException;
+import software.amazon.awssdk.services.ecs.model.ListServicesRequest;
+import software.amazon.awssdk.services.ecs.model.ListServicesResponse;
+import software.amazon.awssdk.services.ecs.model.Service;
+import software.amazon.awssdk.services.ecs.model.Tag;
+import software.amazon.awssdk.services.ecs.model.TaskDefinition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class EcsServiceFinderTest {
+
+    private static final String TASK_DEFINITION_ARN = "arn:aws:ecs:eu-west-1:123456789012:task-definition/";
+
+    @Mock
+    private EcsClient ecsClient;
+
+    private EcsServiceFinder ecsServiceFinder;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ecsServiceFinder = new EcsServiceFinder(ecsClient, Runnable::run, Throttler.forEcs(), MetricsScope.disabled());
+
+        when(ecsClient.describeServices(any(DescribeServicesRequest.class))).thenAnswer(invocation -> {
+            DescribeServicesRequest request = invocation.getArgument(0);
+            List<Service> services = new ArrayList<>();
+            for (String serviceArn : request.services()) {
+                String name = EcsServiceFinder.serviceName(serviceArn);
+                // Every service but "worker" runs the shared api revision
+                services.add(Service.builder()
+                        .serviceName(name)
+                        .serviceArn(serviceArn)
+                        .status("ACTIVE")
+                        .taskDefinition(TASK_DEFINITION_ARN + (name.equals("worker") ? "worker:7" : "api:42"))
+                        .tags(Tag.builder().key("team").value(name.startsWith("api") ? "payments" : "search").build())
+                        .build());
+            }
+            return DescribeServicesResponse.builder().services(services).build();
+        });
+        when(ecsClient.describeTaskDefinition(any(DescribeTaskDefinitionRequest.class))).thenAnswer(invocation -> {
+            DescribeTaskDefinitionRequest request = invocation.getArgument(0);
+            TaskDefinition taskDefinition = request.taskDefinition().endsWith("worker:7")
+                    ? TaskDefinition.builder().containerDefinitions(
+                            ContainerDefinition.builder().name("worker").image("registry/worker:2.0.0").build()).build()
+                    : TaskDefinition.builder().containerDefinitions(
+                            ContainerDefinition.builder().name("app").image("registry/api:1.4.2").build(),
+                            ContainerDefinition.builder().name("envoy").image("envoyproxy/envoy:v1.28.0").build()).build();
+            return DescribeTaskDefinitionResponse.builder().taskDefinition(taskDefinition).build();
+        });
+    }
+
+    @Test
+    void testServicesDescribedInBatchesAndTaskDefinitionsOnce() throws Exception {
+        // Arrange
+        ResourceConfig config = new ResourceConfig();
+        config.setClusters(List.of("prod"));
+        config.setInclude(List.of("api-.*", "worker"));
+        config.setExclude(List.of("api-3"));
+
+        List<String> page1 = new ArrayList<>();
+        List<String> page2 = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            (i < 8 ? page1 : page2).add(serviceArn("prod", "api-" + i));
+        }
+        page2.add(serviceArn("prod", "worker"));
+        page2.add(serviceArn("prod", "legacy"));
+        when(ecsClient.listServices(any(ListServicesRequest.class))).thenAnswer(invocation -> {
+            ListServicesRequest request = invocation.getArgument(0);
+            return request.nextToken() == null
+                    ? ListServicesResponse.builder().serviceArns(page1).nextToken("page-2").build()
+                    : ListServicesResponse.builder().serviceArns(page2).build();
+        });
+
+        // Act
+        List<Resource> resources = ecsServiceFinder.findResources(config).get();
+
+        // Assert
+        assertEquals(12, resources.size());
+        Resource api = resources.get(0);
+        assertEquals("EcsService", api.getType());
+        assertEquals("api-0", api.getName());
+        assertEquals("1.4.2", api.getVersion());
+        assertEquals(1, api.getContainerCount());
+        assertEquals("api-0/envoy", api.getContainerResourceName(0));
+        assertEquals("1.28.0", api.getContainerVersion(0));
+        assertEquals("2.0.0", resources.get(11).getVersion());
+        assertTrue(resources.stream().noneMatch(resource -> resource.getName().equals("api-3")));
+
+        verify(ecsClient, times(2)).listServices(any(ListServicesRequest.class));
+        verify(ecsClient, times(2)).describeServices(any(DescribeServicesRequest.class));
+        verify(ecsClient, times(2)).describeTaskDefinition(any(DescribeTaskDefinitionRequest.class));
+    }
+
+    @Test
+    void testTagsFilteredAndNamesQualifiedAcrossClusters() throws Exception {
+        // Arrange
+        ResourceConfig config = new ResourceConfig();
+        config.setClusters(List.of("blue", "arn:aws:ecs:eu-west-1:123456789012:cluster/green"));
+        config.setTags(Map.of("team", List.of("payments")));
+
+        when(ecsClient.listServices(any(ListServicesRequest.class))).thenAnswer(invocation -> {
+            ListServicesRequest request = invocation.getArgument(0);
+            String cluster = request.cluster().endsWith("green") ? "green" : "blue";
+            return ListServicesResponse.builder()
+                    .serviceArns(serviceArn(cluster, "api"), serviceArn(cluster, "search"))
+                    .build();
+        });
+
+        // Act
+        List<Resource> resources = ecsServiceFinder.findResources(config).get();
+
+        // Assert
+        assertEquals(2, resources.size());
+        assertEquals("blue/api", resources.get(0).getName());
+        assertEquals("green/api", resources.get(1).getName());
+        verify(ecsClient, times(1)).describeTaskDefinition(any(DescribeTaskDefinitionRequest.class));
+    }
+
+    @Test
+    void testFailedTaskDefinitionFailsTheScanInsteadOfReportingNoVersion() {
+        // Arrange
+        ResourceConfig config = new ResourceConfig();
+        config.setInclude(List.of("api"));
+
+        when(ecsClient.listServices(any(ListServicesRequest.class)))
+                .thenReturn(ListServicesResponse.builder().serviceArns(serviceArn("default", "api")).build());
+        doThrow(EcsException.builder().statusCode(500).message("Internal failure").build())
+                .when(ecsClient).describeTaskDefinition(any(DescribeTaskDefinitionRequest.class));
+
+        // Act
+        ExecutionException e = assertThrows(ExecutionException.class, () -> ecsServiceFinder.findResources(config).get());
+
+        // Assert
+        assertInstanceOf(EcsException.class, e.getCause());
+    }
+
+    private static String serviceArn(String cluster, String name) {
+        return "arn:aws:ecs:eu-west-1:123456789012:service/" + cluster + "/" + name;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.drifter.resource.k8s;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClusterInfoCacheTest {
+
+    private static final String DEV_ROLE = "arn:aws:iam::111111111111:role/drifter";
+    private static final String PROD_ROLE = "arn:aws:iam::222222222222:role/drifter";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testSameClusterNameInAnotherAccountIsAMiss() {
+        // Arrange
+        ClusterInfoCache cache = new ClusterInfoCache(directory, ClusterInfoCache.DEFAULT_TTL,
+                Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC));
+        cache.put("us-east-1", DEV_ROLE, "main", "https://dev.eks.amazonaws.com", "ZGV2");
+
+        // Act
+        ClusterInfoCache.ClusterInfo dev = cache.get("us-east-1", "arn:aws:iam::111111111111:role/other", "main");
+        ClusterInfoCache.ClusterInfo prod = cache.get("us-east-1", PROD_ROLE, "main");
+        ClusterInfoCache.ClusterInfo local = cache.get("us-east-1", null, "main");
+
+        // Assert
+        assertNotNull(dev);
+        assertEquals("https://dev.eks.amazonaws.com", dev.getEndpoint());
+        assertNull(prod);
+        assertNull(local);
+    }
+
+    @Test
+    void testAccountIsTakenFromRoleArn() {
+        assertEquals("111111111111", ClusterInfoCache.account(DEV_ROLE));
+        assertEquals("default", ClusterInfoCache.account(null));
+        assertEquals("not_an_arn", ClusterInfoCache.account("not/an:arn"));
+    }
+}
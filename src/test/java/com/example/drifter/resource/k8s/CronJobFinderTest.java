@@ -0,0 +1,105 @@
+package com.example.drifter.resource.k8s;
+
+import com.example.drifter.client.Throttler;
+import com.example.drifter.config.ResourceConfig;
+import com.example.drifter.metrics.MetricsScope;
+import com.example.drifter.resource.Resource;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.apis.BatchV1Api;
+import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.kubernetes.client.openapi.models.V1Container;
+import io.kubernetes.client.openapi.models.V1CronJob;
+import io.kubernetes.client.openapi.models.V1CronJobList;
+import io.kubernetes.client.openapi.models.V1CronJobSpec;
+import io.kubernetes.client.openapi.models.V1JobSpec;
+import io.kubernetes.client.openapi.models.V1JobTemplateSpec;
+import io.kubernetes.client.openapi.models.V1ListMeta;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1PodSpec;
+import io.kubernetes.client.openapi.models.V1PodTemplateSpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CronJobFinderTest {
+
+    @Mock
+    private BatchV1Api batchV1Api;
+
+    @Mock
+    private CoreV1Api coreV1Api;
+
+    private CronJobFinder cronJobFinder;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        cronJobFinder = new CronJobFinder(batchV1Api, coreV1Api, Runnable::run, Throttler.forKubernetes(), MetricsScope.disabled());
+    }
+
+    @Test
+    void testVersionReadFromJobTemplate() throws Exception {
+        // Arrange
+        ResourceConfig config = new ResourceConfig();
+        config.setNamespace("batch");
+        config.setInclude(List.of("report", "missing"));
+
+        when(batchV1Api.readNamespacedCronJob(eq("report"), eq("batch"), any()))
+                .thenReturn(cronJob("report", "registry/report:3.1.0"));
+        when(batchV1Api.readNamespacedCronJob(eq("missing"), eq("batch"), any()))
+                .thenThrow(new ApiException(404, "Not Found"));
+
+        // Act
+        List<Resource> resources = cronJobFinder.findResources(config).get();
+
+        // Assert
+        assertEquals(1, resources.size());
+        assertEquals("CronJob", resources.get(0).getType());
+        assertEquals("report", resources.get(0).getName());
+        assertEquals("3.1.0", resources.get(0).getVersion());
+    }
+
+    @Test
+    void testTagsListedWithLabelSelectorAndExcludes() throws Exception {
+        // Arrange
+        ResourceConfig config = new ResourceConfig();
+        config.setNamespace("batch");
+        config.setTags(Map.of("team", List.of("data")));
+        config.setExclude(List.of(".*-canary"));
+
+        when(batchV1Api.listNamespacedCronJob(eq("batch"), any(), any(), isNull(), any(), eq("team=data"), any(), any(), any(), any(), any()))
+                .thenReturn(new V1CronJobList()
+                        .metadata(new V1ListMeta())
+                        .items(List.of(cronJob("report", "registry/report:3.1.0"), cronJob("report-canary", "registry/report:3.2.0"),
+                                new V1CronJob().metadata(new V1ObjectMeta().name("legacy")))));
+
+        // Act
+        List<Resource> resources = cronJobFinder.findResources(config).get();
+
+        // Assert
+        assertEquals(2, resources.size());
+        assertEquals("3.1.0", resources.get(0).getVersion());
+        assertEquals("legacy", resources.get(1).getName());
+        assertEquals("N/A", resources.get(1).getVersion());
+    }
+
+    private static V1CronJob cronJob(String name, String image) {
+        return new V1CronJob()
+                .metadata(new V1ObjectMeta().name(name))
+                .spec(new V1CronJobSpec()
+                        .schedule("0 * * * *")
+                        .jobTemplate(new V1JobTemplateSpec()
+                                .spec(new V1JobSpec()
+                                        .template(new V1PodTemplateSpec()
+                                                .spec(new V1PodSpec()
+                                                        .containers(List.of(new V1Container().name(name).image(image))))))));
+    }
+}
@@ -0,0 +1,274 @@
+package com.example.drifter.resource.k8s;
+
+import com.example.drifter.client.Throttler;
+import com.example.drifter.config.ResourceConfig;
+import com.example.drifter.metrics.MetricsScope;
+import com.example.drifter.resource.Resource;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.apis.AppsV1Api;
+import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.kubernetes.client.openapi.models.V1Container;
+import io.kubernetes.client.openapi.models.V1Deployment;
+import io.kubernetes.client.openapi.models.V1DeploymentList;
+import io.kubernetes.client.openapi.models.V1DeploymentSpec;
+import io.kubernetes.client.openapi.models.V1ListMeta;
+import io.kubernetes.client.openapi.models.V1Namespace;
+import io.kubernetes.client.openapi.models.V1NamespaceList;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1PodSpec;
+import io.kubernetes.client.openapi.models.V1PodTemplateSpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DeploymentFinderTest {
+
+    @Mock
+    private AppsV1Api appsV1Api;
+
+    @Mock
+    private CoreV1Api coreV1Api;
+
+    private DeploymentFinder deploymentFinder;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        deploymentFinder = new DeploymentFinder(appsV1Api, coreV1Api, Runnable::run, Throttler.forKubernetes(), MetricsScope.disabled());
+    }
+
+    @Test
+    void testManyNamesResolvedFromPaginatedList() throws Exception {
+        // Arrange
+        ResourceConfig config = new ResourceConfig();
+        config.setNamespace("app");
+        config.setInclude(List.of("api", "worker", "missing"));
+        config.setListThreshold(2);
+
+        when(appsV1Api.listNamespacedDeployment(eq("app"), any(), any(), isNull(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(list("page-2", deployment("api", "registry/api:1.2.3"), deployment("other", "registry/other:9.9.9")));
+        when(appsV1Api.listNamespacedDeployment(eq("app"), any(), any(), eq("page-2"), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(list(null, deployment("worker", "registry/worker:2.0.0")));
+
+        // Act
+        List<Resource> resources = deploymentFinder.findResources(config).get();
+
+        // Assert
+        assertEquals(2, resources.size());
+        assertEquals("api", resources.get(0).getName());
+        assertEquals("1.2.3", resources.get(0).getVersion());
+        assertEquals("worker", resources.get(1).getName());
+        assertEquals("2.0.0", resources.get(1).getVersion());
+        verify(appsV1Api, never()).readNamespacedDeployment(anyString(), anyString(), any());
+        verify(appsV1Api, times(2)).listNamespacedDeployment(anyString(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testFewNamesReadIndividually() throws Exception {
+        // Arrange
+        ResourceConfig config = new ResourceConfig();
+        config.setInclude(List.of("api"));
+
+        when(appsV1Api.readNamespacedDeployment(eq("api"), eq("default"), any()))
+                .thenReturn(deployment("api", "registry/api:1.2.3"));
+
+        // Act
+        List<Resource> resources = deploymentFinder.findResources(config).get();
+
+        // Assert
+        assertEquals(1, resources.size());
+        assertEquals("1.2.3", resources.get(0).getVersion());
+        verify(appsV1Api, never()).listNamespacedDeployment(anyString(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testFailedReadFailsTheScanButMissingDeploymentIsSkipped() throws Exception {
+        // Arrange
+        ResourceConfig config = new ResourceConfig();
+        config.setInclude(List.of("api", "missing"));
+        config.setListThreshold(5);
+
+        when(appsV1Api.readNamespacedDeployment(eq("missing"), eq("default"), any()))
+                .thenThrow(new ApiException(404, "Not Found"));
+        when(appsV1Api.readNamespacedDeployment(eq("api"), eq("default"), any()))
+                .thenReturn(deployment("api", "registry/api:1.2.3"))
+                .thenThrow(new ApiException(503, "Service Unavailable"));
+
+        // Act
+        List<Resource> resources = deploymentFinder.findResources(config).get();
+        ExecutionException e = assertThrows(ExecutionException.class, () -> deploymentFinder.findResources(config).get());
+
+        // Assert
+        assertEquals(1, resources.size());
+        assertEquals("api", resources.get(0).getName());
+        assertInstanceOf(ApiException.class, e.getCause());
+        assertEquals(503, ((ApiException) e.getCause()).getCode());
+    }
+
+    @Test
+    void testSidecarsAndInitContainersBecomeSubResources() throws Exception {
+        // Arrange
+        ResourceConfig config = new ResourceConfig();
+        config.setInclude(List.of("api"));
+
+        when(appsV1Api.readNamespacedDeployment(eq("api"), eq("default"), any()))
+                .thenReturn(deployment("api", "registry/api:1.2.3", "envoy", "envoyproxy/envoy:v1.28.0", "migrate", "registry/migrate:1.2.0"));
+
+        // Act
+        Resource resource = deploymentFinder.findResources(config).get().get(0);
+
+        // Assert
+        assertEquals("1.2.3", resource.getVersion());
+        assertEquals(2, resource.getContainerCount());
+        assertTrue(resource.isInitContainer(0));
+        assertEquals("api/migrate", resource.getContainerResourceName(0));
+        assertEquals("1.2.0", resource.getContainerVersion(0));
+        assertEquals("Deployment/" + Resource.CONTAINER_TYPE, resource.getContainerType(1));
+        assertEquals("envoy", resource.getContainerName(1));
+        assertEquals("1.28.0", resource.getContainerVersion(1));
+    }
+
+    @Test
+    void testInternTableStaysBounded() {
+        for (int i = 0; i < WorkloadFinder.MAX_INTERNED_STRINGS + 100; i++) {
+            Resource resource = deploymentFinder.toResource(deployment("api", "registry/api:1.0." + i), "api");
+            assertEquals("1.0." + i, resource.getVersion());
+        }
+
+        assertTrue(deploymentFinder.internedStrings() <= WorkloadFinder.MAX_INTERNED_STRINGS);
+    }
+
+    @Test
+    void testAllNamespacesListedOnceAndKeyedByNamespace() throws Exception {
+        // Arrange
+        ResourceConfig config = new ResourceConfig();
+        config.setAllNamespaces(true);
+        config.setTags(Map.of("team", List.of("payments")));
+
+        when(appsV1Api.listDeploymentForAllNamespaces(any(), isNull(), any(), eq("team=payments"), any(), any(), any(), any(), any(), any()))
+                .thenReturn(list("page-2", deployment("api", "registry/api:1.2.3").metadata(new V1ObjectMeta().name("api").namespace("blue"))));
+        when(appsV1Api.listDeploymentForAllNamespaces(any(), eq("page-2"), any(), eq("team=payments"), any(), any(), any(), any(), any(), any()))
+                .thenReturn(list(null, deployment("api", "registry/api:1.3.0").metadata(new V1ObjectMeta().name("api").namespace("green"))));
+
+        // Act
+        List<Resource> resources = deploymentFinder.findResources(config).get();
+
+        // Assert: same-named deployments in different namespaces stay apart
+        assertEquals(2, resources.size());
+        assertEquals("blue/api", resources.get(0).getName());
+        assertEquals("1.2.3", resources.get(0).getVersion());
+        assertEquals("green/api", resources.get(1).getName());
+        assertEquals("1.3.0", resources.get(1).getVersion());
+        verify(appsV1Api, never()).listNamespacedDeployment(anyString(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testNamespaceListAndSelectorScannedPerNamespace() throws Exception {
+        // Arrange
+        ResourceConfig config = new ResourceConfig();
+        config.setNamespaces(List.of("blue"));
+        config.setNamespaceSelector(Map.of("tier", List.of("services")));
+        config.setInclude(List.of("api"));
+
+        when(coreV1Api.listNamespace(any(), any(), any(), any(), eq("tier=services"), any(), any(), any(), any(), any()))
+                .thenReturn(new V1NamespaceList().items(List.of(
+                        new V1Namespace().metadata(new V1ObjectMeta().name("blue")),
+                        new V1Namespace().metadata(new V1ObjectMeta().name("green")))));
+        when(appsV1Api.readNamespacedDeployment(eq("api"), eq("blue"), any()))
+                .thenReturn(deployment("api", "registry/api:1.2.3"));
+        when(appsV1Api.readNamespacedDeployment(eq("api"), eq("green"), any()))
+                .thenReturn(deployment("api", "registry/api:1.1.0"));
+
+        // Act
+        List<Resource> resources = deploymentFinder.findResources(config).get();
+
+        // Assert
+        assertEquals(List.of("blue/api", "green/api"), resources.stream().map(Resource::getName).toList());
+        assertEquals("1.1.0", resources.get(1).getVersion());
+    }
+
+    @Test
+    void testSelectorFailureFailsTheScan() throws Exception {
+        // Arrange
+        ResourceConfig config = new ResourceConfig();
+        config.setNamespaceSelector(Map.of("tier", List.of("services")));
+        config.setInclude(List.of("api"));
+
+        when(coreV1Api.listNamespace(any(), any(), any(), any(), eq("tier=services"), any(), any(), any(), any(), any()))
+                .thenThrow(new ApiException(403, "Forbidden"));
+
+        // Act
+        ExecutionException e = assertThrows(ExecutionException.class, () -> deploymentFinder.findResources(config).get());
+
+        // Assert
+        assertInstanceOf(ApiException.class, e.getCause());
+        verify(appsV1Api, never()).readNamespacedDeployment(any(), any(), any());
+    }
+
+    @Test
+    void testWatchUsesOneNamespacedInformerPerNamespace() throws Exception {
+        // Arrange
+        ResourceConfig config = new ResourceConfig();
+        config.setNamespaces(List.of("blue", "green"));
+        config.setInclude(List.of("api"));
+        when(appsV1Api.getApiClient()).thenReturn(new ApiClient().setReadTimeout(0));
+
+        // Act
+        try (DeploymentWatch watch = deploymentFinder.watch(config, (type, name, version) -> { })) {
+            // Assert
+            verify(appsV1Api, timeout(5000).atLeastOnce()).listNamespacedDeploymentCall(eq("blue"),
+                    any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+            verify(appsV1Api, timeout(5000).atLeastOnce()).listNamespacedDeploymentCall(eq("green"),
+                    any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+            verify(appsV1Api, never()).listDeploymentForAllNamespacesCall(
+                    any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+        }
+    }
+
+    @Test
+    void testWatchRejectsClientWithReadTimeout() {
+        // Arrange
+        ResourceConfig config = new ResourceConfig();
+        config.setNamespace("blue");
+        when(appsV1Api.getApiClient()).thenReturn(new ApiClient().setReadTimeout(10_000));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> deploymentFinder.watch(config, (type, name, version) -> { }));
+        verify(appsV1Api, never()).listNamespacedDeploymentCall(any(), any(), any(), any(), any(), any(), any(),
+                any(), any(), any(), any(), any());
+    }
+
+    static V1Deployment deployment(String name, String image) {
+        return new V1Deployment()
+                .metadata(new V1ObjectMeta().name(name))
+                .spec(new V1DeploymentSpec().template(new V1PodTemplateSpec().spec(new V1PodSpec()
+                        .containers(List.of(new V1Container().name(name).image(image))))));
+    }
+
+    static V1Deployment deployment(String name, String image, String sidecar, String sidecarImage,
+                                   String initContainer, String initImage) {
+        return new V1Deployment()
+                .metadata(new V1ObjectMeta().name(name))
+                .spec(new V1DeploymentSpec().template(new V1PodTemplateSpec().spec(new V1PodSpec()
+                        .initContainers(List.of(new V1Container().name(initContainer).image(initImage)))
+                        .containers(List.of(
+                                new V1Container().name(sidecar).image(sidecarImage),
+                                new V1Container().name(name).image(image))))));
+    }
+
+    static V1DeploymentList list(String continueToken, V1Deployment... deployments) {
+        return new V1DeploymentList()
+                .metadata(new V1ListMeta()._continue(continueToken))
+                .items(List.of(deployments));
+    }
+}
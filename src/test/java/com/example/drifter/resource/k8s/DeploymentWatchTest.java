@@ -0,0 +1,92 @@
+package com.example.drifter.resource.k8s;
+
+import com.example.drifter.resource.Resource;
+import io.kubernetes.client.openapi.models.V1Container;
+import io.kubernetes.client.openapi.models.V1Deployment;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static com.example.drifter.resource.k8s.DeploymentFinderTest.deployment;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeploymentWatchTest {
+
+    private final List<String> changes = new ArrayList<>();
+
+    private final DeploymentWatch watch = new DeploymentWatch(
+            d -> Set.of("api", "worker").contains(d.getMetadata().getName()),
+            d -> new Resource("Deployment", d.getMetadata().getName(),
+                    d.getSpec().getTemplate().getSpec().getContainers().get(0).getImage(),
+                    sidecars(d), 0),
+            (type, name, version) -> changes.add(type + " " + name + " " + version));
+
+    @Test
+    void testOnlyVersionChangesReachTheListener() {
+        // Arrange
+        V1Deployment v1 = deployment("api", "1.0.0");
+        V1Deployment v1Rescaled = deployment("api", "1.0.0");
+        V1Deployment v2 = deployment("api", "1.1.0");
+
+        // Act: a mocked watch stream of add, no-op update, real update, filtered add, delete
+        watch.onAdd(v1);
+        watch.onUpdate(v1, v1Rescaled);
+        watch.onUpdate(v1Rescaled, v2);
+        watch.onAdd(deployment("unrelated", "9.9.9"));
+        watch.onDelete(v2, false);
+
+        // Assert
+        assertEquals(List.of(
+                "Deployment api 1.0.0",
+                "Deployment api 1.1.0",
+                "Deployment api null"), changes);
+        assertTrue(watch.getVersions().isEmpty());
+    }
+
+    @Test
+    void testSidecarChangesReachTheListener() {
+        // Arrange
+        V1Deployment v1 = deployment("api", "1.0.0");
+        v1.getSpec().getTemplate().getSpec().containers(List.of(
+                new V1Container().name("api").image("1.0.0"),
+                new V1Container().name("envoy").image("1.27.0")));
+        V1Deployment sidecarUpgraded = deployment("api", "1.0.0");
+        sidecarUpgraded.getSpec().getTemplate().getSpec().containers(List.of(
+                new V1Container().name("api").image("1.0.0"),
+                new V1Container().name("envoy").image("1.28.0")));
+
+        // Act
+        watch.onAdd(v1);
+        watch.onUpdate(v1, sidecarUpgraded);
+        watch.onDelete(sidecarUpgraded, false);
+
+        // Assert
+        assertEquals(List.of(
+                "Deployment api 1.0.0",
+                "Container api/envoy 1.27.0",
+                "Container api/envoy 1.28.0",
+                "Deployment api null",
+                "Container api/envoy null"), changes);
+    }
+
+    @Test
+    void testVersionTableTracksCurrentState() {
+        watch.onAdd(deployment("api", "1.0.0"));
+        watch.onAdd(deployment("worker", "2.0.0"));
+
+        assertEquals("1.0.0", watch.getVersions().get("api"));
+        assertEquals("2.0.0", watch.getVersions().get("worker"));
+    }
+
+    private static String[] sidecars(V1Deployment deployment) {
+        List<V1Container> containers = deployment.getSpec().getTemplate().getSpec().getContainers();
+        List<String> pairs = new ArrayList<>();
+        for (V1Container container : containers.subList(1, containers.size())) {
+            pairs.add(container.getName());
+            pairs.add(container.getImage());
+        }
+        return pairs.toArray(new String[0]);
+    }
+}
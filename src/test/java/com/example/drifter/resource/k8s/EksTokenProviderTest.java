@@ -0,0 +1,85 @@
+package com.example.drifter.resource.k8s;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EksTokenProviderTest {
+
+    private static final StaticCredentialsProvider CREDENTIALS =
+            StaticCredentialsProvider.create(AwsBasicCredentials.create("AKIDEXAMPLE", "secret"));
+
+    @Test
+    void testTokenIsPresignedGetCallerIdentityForCluster() {
+        // Arrange
+        EksTokenProvider provider = new EksTokenProvider("prod-cluster", CREDENTIALS, Region.US_EAST_1);
+
+        // Act
+        String token = provider.getToken();
+
+        // Assert
+        assertTrue(token.startsWith(EksTokenProvider.TOKEN_PREFIX));
+        String url = new String(Base64.getUrlDecoder().decode(token.substring(EksTokenProvider.TOKEN_PREFIX.length())),
+                StandardCharsets.UTF_8);
+        assertTrue(url.startsWith("https://sts.us-east-1.amazonaws.com/?"));
+        assertTrue(url.contains("Action=GetCallerIdentity"));
+        assertTrue(url.contains("X-Amz-SignedHeaders=host%3Bx-k8s-aws-id"));
+        assertTrue(url.contains("X-Amz-Signature="));
+    }
+
+    @Test
+    void testTokenIsCachedUntilCloseToExpiry() {
+        // Arrange
+        MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        EksTokenProvider provider = new EksTokenProvider("prod-cluster", CREDENTIALS, Region.US_EAST_1, clock);
+
+        // Act
+        String first = provider.getToken();
+        clock.advance(Duration.ofMinutes(10));
+        String cached = provider.getToken();
+        clock.advance(EksTokenProvider.TOKEN_LIFETIME);
+        String refreshed = provider.getToken();
+
+        // Assert
+        assertSame(first, cached);
+        assertNotEquals(first, refreshed);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -1,19 +1,42 @@
 package com.example.drifter.resource.lambda;
 
+import com.example.drifter.client.Throttler;
+import com.example.drifter.concurrent.ExecutionModel;
 import com.example.drifter.config.ResourceConfig;
+import com.example.drifter.metrics.MetricsScope;
 import com.example.drifter.resource.Resource;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.services.lambda.LambdaClient;
 import software.amazon.awssdk.services.lambda.model.GetFunctionRequest;
+import software.amazon.awssdk.services.lambda.model.FunctionConfiguration;
 import software.amazon.awssdk.services.lambda.model.GetFunctionResponse;
+import software.amazon.awssdk.services.lambda.model.LambdaException;
+import software.amazon.awssdk.services.lambda.model.ListFunctionsRequest;
+import software.amazon.awssdk.services.lambda.model.ListFunctionsResponse;
+import software.amazon.awssdk.services.lambda.model.ListTagsRequest;
+import software.amazon.awssdk.services.lambda.model.ListTagsResponse;
 import software.amazon.awssdk.services.lambda.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.lambda.model.TooManyRequestsException;
+import software.amazon.awssdk.services.resourcegroupstaggingapi.ResourceGroupsTaggingApiClient;
+import software.amazon.awssdk.services.resourcegroupstaggingapi.model.GetResourcesRequest;
+import software.amazon.awssdk.services.resourcegroupstaggingapi.model.GetResourcesResponse;
+import software.amazon.awssdk.services.resourcegroupstaggingapi.model.ResourceTagMapping;
+import software.amazon.awssdk.services.resourcegroupstaggingapi.model.Tag;
+import software.amazon.awssdk.services.resourcegroupstaggingapi.model.ThrottledException;
 
+import java.nio.file.Path;
+import java.time.Clock;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -24,12 +47,20 @@ class LambdaFinderTest {
     @Mock
     private LambdaClient lambdaClient;
 
+    @Mock
+    private ResourceGroupsTaggingApiClient taggingClient;
+
     private LambdaFinder lambdaFinder;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        lambdaFinder = new LambdaFinder(lambdaClient);
+        lambdaFinder = new LambdaFinder(lambdaClient, taggingClient, LambdaFinder.DEFAULT_CONCURRENCY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        lambdaFinder.close();
     }
 
     @Test
@@ -95,4 +126,344 @@ class LambdaFinderTest {
         // Assert
         assertEquals(0, resources.size());
     }
+
+    @Test
+    void testConcurrentLookupKeepsOrderAndSkipsMissing() throws Exception {
+        // Arrange
+        ResourceConfig config = new ResourceConfig();
+        config.setInclude(List.of("lambda-a", "lambda-missing", "lambda-b", "lambda-c"));
+
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        when(lambdaClient.getFunction(any(GetFunctionRequest.class))).thenAnswer(invocation -> {
+            GetFunctionRequest request = invocation.getArgument(0);
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(50);
+                if ("lambda-missing".equals(request.functionName())) {
+                    throw ResourceNotFoundException.builder().message("not found").build();
+                }
+                return GetFunctionResponse.builder()
+                        .tags(Map.of("version", request.functionName() + "-1.0.0"))
+                        .build();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+
+        lambdaFinder.close();
+        lambdaFinder = new LambdaFinder(lambdaClient, null, 2);
+
+        // Act
+        List<Resource> resources = lambdaFinder.findResources(config).get();
+
+        // Assert
+        assertEquals(3, resources.size());
+        assertEquals("lambda-a", resources.get(0).getName());
+        assertEquals("lambda-b", resources.get(1).getName());
+        assertEquals("lambda-c-1.0.0", resources.get(2).getVersion());
+        assertTrue(maxInFlight.get() <= 2, "at most 2 lookups should run concurrently");
+        verify(lambdaClient, times(4)).getFunction(any(GetFunctionRequest.class));
+    }
+
+    @Test
+    void testThrottledLookupIsRetriedInsteadOfDropped() throws Exception {
+        ResourceConfig config = new ResourceConfig();
+        config.setInclude(List.of("test-lambda"));
+
+        when(lambdaClient.getFunction(any(GetFunctionRequest.class)))
+                .thenThrow(TooManyRequestsException.builder().statusCode(429).message("Rate exceeded").build())
+                .thenReturn(GetFunctionResponse.builder().tags(Map.of("version", "1.0.0")).build());
+
+        List<Resource> resources = lambdaFinder.findResources(config).get();
+
+        assertEquals(1, resources.size());
+        assertEquals("1.0.0", resources.get(0).getVersion());
+        verify(lambdaClient, times(2)).getFunction(any(GetFunctionRequest.class));
+    }
+
+    @Test
+    void testLookupStillThrottledAfterRetriesFailsInsteadOfDropping() {
+        // Arrange
+        ResourceConfig config = new ResourceConfig();
+        config.setInclude(List.of("test-lambda"));
+        TooManyRequestsException throttled = TooManyRequestsException.builder().statusCode(429).message("Rate exceeded").build();
+        Throttler exhausted = mock(Throttler.class);
+        when(exhausted.call(any(), any())).thenThrow(throttled);
+        LambdaFinder finder = new LambdaFinder(lambdaClient, taggingClient, Runnable::run, null, exhausted,
+                MetricsScope.disabled());
+
+        // Act
+        ExecutionException e = assertThrows(ExecutionException.class, () -> finder.findResources(config).get());
+
+        // Assert
+        assertSame(throttled, e.getCause());
+    }
+
+    @Test
+    void testInvalidConcurrencyIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new LambdaFinder(lambdaClient, null, 0));
+    }
+
+    @Test
+    void testFindResourcesByTagsAcrossPages() throws Exception {
+        // Arrange
+        ResourceConfig config = new ResourceConfig();
+        config.setTags(Map.of("team", List.of("payments")));
+        config.setExclude(List.of("^.*-LogRetention.*$"));
+
+        GetResourcesResponse firstPage = GetResourcesResponse.builder()
+                .resourceTagMappingList(
+                        mapping("arn:aws:lambda:us-east-1:123456789012:function:billing", "2.1.0"),
+                        mapping("arn:aws:lambda:us-east-1:123456789012:function:stack-LogRetention-abc", "1.0.0"))
+                .paginationToken("page-2")
+                .build();
+        GetResourcesResponse secondPage = GetResourcesResponse.builder()
+                .resourceTagMappingList(ResourceTagMapping.builder()
+                        .resourceARN("arn:aws:lambda:us-east-1:123456789012:function:invoices")
+                        .tags(Tag.builder().key("team").value("payments").build())
+                        .build())
+                .build();
+
+        when(taggingClient.getResources(any(GetResourcesRequest.class)))
+                .thenReturn(firstPage, secondPage);
+
+        // Act
+        List<Resource> resources = lambdaFinder.findResources(config).get();
+
+        // Assert
+        assertEquals(2, resources.size());
+        assertEquals("billing", resources.get(0).getName());
+        assertEquals("2.1.0", resources.get(0).getVersion());
+        assertEquals("invoices", resources.get(1).getName());
+        assertEquals("N/A", resources.get(1).getVersion());
+        verify(taggingClient, times(2)).getResources(any(GetResourcesRequest.class));
+        verify(lambdaClient, never()).getFunction(any(GetFunctionRequest.class));
+    }
+
+    @Test
+    void testThrottledTagPageIsRetriedThroughTheThrottler() throws Exception {
+        // Arrange
+        ResourceConfig config = new ResourceConfig();
+        config.setTags(Map.of("team", List.of("payments")));
+
+        when(taggingClient.getResources(any(GetResourcesRequest.class)))
+                .thenThrow(ThrottledException.builder().statusCode(429).message("Rate exceeded").build())
+                .thenReturn(GetResourcesResponse.builder()
+                        .resourceTagMappingList(mapping("arn:aws:lambda:us-east-1:123456789012:function:billing", "2.1.0"))
+                        .build());
+
+        // Act
+        List<Resource> resources = lambdaFinder.findResources(config).get();
+
+        // Assert
+        assertEquals(1, resources.size());
+        assertEquals("2.1.0", resources.get(0).getVersion());
+        verify(taggingClient, times(2)).getResources(any(GetResourcesRequest.class));
+    }
+
+    @Test
+    void testFindResourcesByListingAboveThreshold() throws Exception {
+        // Arrange
+        ResourceConfig config = new ResourceConfig();
+        config.setInclude(List.of("orders", "payments-.*", "missing"));
+        config.setExclude(List.of("^.*-LogRetention.*$"));
+        config.setListThreshold(10);
+
+        when(lambdaClient.listFunctions(any(ListFunctionsRequest.class))).thenReturn(
+                ListFunctionsResponse.builder()
+                        .functions(function("orders"), function("payments-api"))
+                        .nextMarker("next")
+                        .build(),
+                ListFunctionsResponse.builder()
+                        .functions(function("payments-LogRetention-x"), function("payments-worker"), function("other"))
+                        .build());
+        when(lambdaClient.listTags(any(ListTagsRequest.class))).thenAnswer(invocation -> {
+            ListTagsRequest request = invocation.getArgument(0);
+            String name = LambdaFinder.extractFunctionName(request.resource());
+            return ListTagsResponse.builder().tags(Map.of("version", name + "-3.0.0")).build();
+        });
+
+        // Act
+        List<Resource> resources = lambdaFinder.findResources(config).get();
+
+        // Assert
+        assertEquals(List.of("orders", "payments-api", "payments-worker"),
+                resources.stream().map(Resource::getName).toList());
+        assertEquals("payments-api-3.0.0", resources.get(1).getVersion());
+        verify(lambdaClient, never()).getFunction(any(GetFunctionRequest.class));
+        verify(lambdaClient, times(3)).listTags(any(ListTagsRequest.class));
+
+        LookupStats stats = lambdaFinder.getLastLookupStats();
+        assertEquals(LookupStrategy.LIST_FUNCTIONS, stats.getStrategy());
+        assertEquals(5, stats.getApiCalls());
+        assertEquals(4, stats.getBaselineCalls());
+    }
+
+    @Test
+    void testFailedListingFailsTheLookup() {
+        // Arrange
+        ResourceConfig config = new ResourceConfig();
+        config.setInclude(List.of("payments-.*"));
+
+        when(lambdaClient.listFunctions(any(ListFunctionsRequest.class)))
+                .thenThrow(SdkClientException.create("Unable to execute HTTP request"));
+
+        // Act
+        ExecutionException e = assertThrows(ExecutionException.class, () -> lambdaFinder.findResources(config).get());
+
+        // Assert
+        assertInstanceOf(SdkClientException.class, e.getCause());
+        verify(lambdaClient, never()).listTags(any(ListTagsRequest.class));
+    }
+
+    @Test
+    void testFailedGetFunctionFailsTheLookupInsteadOfDroppingTheFunction() {
+        // Arrange
+        ResourceConfig config = new ResourceConfig();
+        config.setInclude(List.of("lambda-a", "lambda-b"));
+
+        when(lambdaClient.getFunction(any(GetFunctionRequest.class))).thenAnswer(invocation -> {
+            GetFunctionRequest request = invocation.getArgument(0);
+            if (request.functionName().equals("lambda-b")) {
+                throw LambdaException.builder().statusCode(500).message("Internal failure").build();
+            }
+            return GetFunctionResponse.builder().tags(Map.of("version", "1.0.0")).build();
+        });
+
+        // Act
+        ExecutionException e = assertThrows(ExecutionException.class, () -> lambdaFinder.findResources(config).get());
+
+        // Assert
+        assertInstanceOf(LambdaException.class, e.getCause());
+    }
+
+    @Test
+    void testShortIncludeListUsesGetFunction() throws Exception {
+        ResourceConfig config = new ResourceConfig();
+        config.setInclude(List.of("test-lambda"));
+
+        when(lambdaClient.getFunction(any(GetFunctionRequest.class)))
+                .thenReturn(GetFunctionResponse.builder().tags(Map.of("version", "1.0.0")).build());
+
+        lambdaFinder.findResources(config).get();
+
+        assertEquals(LookupStrategy.GET_FUNCTION, lambdaFinder.getLastLookupStats().getStrategy());
+        verify(lambdaClient, never()).listFunctions(any(ListFunctionsRequest.class));
+    }
+
+    @Test
+    void testArnIncludeIsReportedByFunctionNameInEitherStrategy() throws Exception {
+        // Arrange
+        ResourceConfig config = new ResourceConfig();
+        config.setInclude(List.of("arn:aws:lambda:us-east-1:123456789012:function:orders"));
+
+        when(lambdaClient.getFunction(any(GetFunctionRequest.class)))
+                .thenReturn(GetFunctionResponse.builder().tags(Map.of("version", "1.0.0")).build());
+        when(lambdaClient.listFunctions(any(ListFunctionsRequest.class)))
+                .thenReturn(ListFunctionsResponse.builder().functions(function("orders")).build());
+        when(lambdaClient.listTags(any(ListTagsRequest.class)))
+                .thenReturn(ListTagsResponse.builder().tags(Map.of("version", "1.0.0")).build());
+
+        // Act
+        List<Resource> fetched = lambdaFinder.findResources(config).get();
+        config.setListThreshold(0);
+        List<Resource> listed = lambdaFinder.findResources(config).get();
+
+        // Assert
+        assertEquals("orders", fetched.get(0).getName());
+        assertEquals(fetched, listed);
+        verify(lambdaClient).getFunction(GetFunctionRequest.builder().functionName("orders").build());
+    }
+
+    @Test
+    void testQualifiedNameIsNotTakenForAPattern() throws Exception {
+        ResourceConfig config = new ResourceConfig();
+        config.setInclude(List.of("orders:$LATEST"));
+
+        when(lambdaClient.getFunction(any(GetFunctionRequest.class)))
+                .thenReturn(GetFunctionResponse.builder().tags(Map.of("version", "1.0.0")).build());
+
+        List<Resource> resources = lambdaFinder.findResources(config).get();
+
+        assertEquals("orders", resources.get(0).getName());
+        assertEquals(LookupStrategy.GET_FUNCTION, lambdaFinder.getLastLookupStats().getStrategy());
+        assertEquals("orders", LambdaFinder.functionName("arn:aws:lambda:us-east-1:123456789012:function:orders:$LATEST"));
+        assertEquals("payments-.*", LambdaFinder.functionName("payments-.*"));
+    }
+
+    @Test
+    void testUnchangedRevisionsReuseCachedVersions(@TempDir Path directory) throws Exception {
+        // Arrange
+        ResourceConfig config = new ResourceConfig();
+        config.setInclude(List.of("orders", "payments"));
+        Path cacheFile = directory.resolve("cache.json");
+
+        when(lambdaClient.listFunctions(any(ListFunctionsRequest.class))).thenReturn(
+                ListFunctionsResponse.builder().functions(function("orders", "r1"), function("payments", "r1")).build(),
+                ListFunctionsResponse.builder().functions(function("orders", "r1"), function("payments", "r2")).build());
+        when(lambdaClient.listTags(any(ListTagsRequest.class))).thenReturn(
+                ListTagsResponse.builder().tags(Map.of("version", "1.0.0")).build(),
+                ListTagsResponse.builder().tags(Map.of("version", "1.0.0")).build(),
+                ListTagsResponse.builder().tags(Map.of("version", "1.1.0")).build());
+
+        // Act: the second run reloads the cache the first one saved
+        cachingFinder(cacheFile).findResources(config).get();
+        List<Resource> resources = cachingFinder(cacheFile).findResources(config).get();
+
+        // Assert
+        assertEquals(List.of("orders", "payments"), resources.stream().map(Resource::getName).toList());
+        assertEquals("1.0.0", resources.get(0).getVersion());
+        assertEquals("1.1.0", resources.get(1).getVersion());
+        verify(lambdaClient, times(3)).listTags(any(ListTagsRequest.class));
+        verify(lambdaClient, never()).getFunction(any(GetFunctionRequest.class));
+    }
+
+    @Test
+    void testCacheEvictsFunctionsNoLongerListed(@TempDir Path directory) throws Exception {
+        // Arrange
+        ResourceConfig config = new ResourceConfig();
+        config.setInclude(List.of("orders", "payments"));
+        Path cacheFile = directory.resolve("cache.json");
+
+        when(lambdaClient.listFunctions(any(ListFunctionsRequest.class))).thenReturn(
+                ListFunctionsResponse.builder().functions(function("orders", "r1"), function("payments", "r1")).build(),
+                ListFunctionsResponse.builder().functions(function("orders", "r1")).build());
+        when(lambdaClient.listTags(any(ListTagsRequest.class))).thenReturn(
+                ListTagsResponse.builder().tags(Map.of("version", "1.0.0")).build());
+
+        // Act: payments is deleted between the two runs
+        cachingFinder(cacheFile).findResources(config).get();
+        cachingFinder(cacheFile).findResources(config).get();
+
+        // Assert
+        FunctionRevisionCache cache = new FunctionRevisionCache(cacheFile, FunctionRevisionCache.DEFAULT_TTL, Clock.systemUTC());
+        assertEquals("1.0.0", cache.getVersion(function("orders", "r1")));
+        assertNull(cache.getVersion(function("payments", "r1")));
+    }
+
+    private LambdaFinder cachingFinder(Path cacheFile) {
+        FunctionRevisionCache cache = new FunctionRevisionCache(cacheFile, FunctionRevisionCache.DEFAULT_TTL, Clock.systemUTC());
+        return new LambdaFinder(lambdaClient, taggingClient, ExecutionModel.newPlatformPool("test", 2), cache,
+                Throttler.forLambda(), MetricsScope.disabled());
+    }
+
+    private static FunctionConfiguration function(String name, String revisionId) {
+        return function(name).toBuilder().revisionId(revisionId).build();
+    }
+
+    private static FunctionConfiguration function(String name) {
+        return FunctionConfiguration.builder()
+                .functionName(name)
+                .functionArn("arn:aws:lambda:us-east-1:123456789012:function:" + name)
+                .build();
+    }
+
+    private static ResourceTagMapping mapping(String arn, String version) {
+        return ResourceTagMapping.builder()
+                .resourceARN(arn)
+                .tags(Tag.builder().key("version").value(version).build())
+                .build();
+    }
 }